@@ -0,0 +1,139 @@
+package by.glebka.jpadmin.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that writes {@value #INDEX_LOCATION}, listing the JPA classes of the compiled module
+ * together with their kind and direct superclass. JPAdmin reads the index at startup instead of scanning
+ * the classpath.
+ * <p>
+ * Each line of the index has the form {@code <binary class name>\t<kind>\t<superclass binary name or ->},
+ * where kind is one of {@code entity}, {@code embeddable} or {@code mapped-superclass}.
+ */
+public class EntityIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_LOCATION = "META-INF/jpadmin/entities.idx";
+
+    private static final Map<String, String> KINDS = Map.of(
+            "jakarta.persistence.Entity", "entity",
+            "jakarta.persistence.Embeddable", "embeddable",
+            "jakarta.persistence.MappedSuperclass", "mapped-superclass"
+    );
+    private static final String NO_SUPERCLASS = "-";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return KINDS.keySet();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    addEntry((TypeElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void addEntry(TypeElement type) {
+        String kind = resolveKind(type);
+        if (kind == null) return;
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        entries.put(className, kind + "\t" + resolveSuperclass(type));
+    }
+
+    private String resolveKind(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            Element annotationType = mirror.getAnnotationType().asElement();
+            String kind = KINDS.get(((TypeElement) annotationType).getQualifiedName().toString());
+            if (kind != null) return kind;
+        }
+        return null;
+    }
+
+    private String resolveSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return NO_SUPERCLASS;
+        TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+        String name = processingEnv.getElementUtils().getBinaryName(superElement).toString();
+        return Object.class.getName().equals(name) ? NO_SUPERCLASS : name;
+    }
+
+    /**
+     * Writes the index, keeping entries of a previous compilation whose classes still exist so that
+     * incremental builds do not drop classes that were not recompiled.
+     */
+    private void writeIndex() {
+        Map<String, String> index = readExistingIndex();
+        index.putAll(entries);
+        if (index.isEmpty()) return;
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by " + EntityIndexProcessor.class.getName() + "\n");
+                for (Map.Entry<String, String> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, String> readExistingIndex() {
+        Map<String, String> index = new TreeMap<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    int separator = line.indexOf('\t');
+                    if (separator <= 0) continue;
+                    String className = line.substring(0, separator);
+                    if (processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                        index.put(className, line.substring(separator + 1));
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No index from a previous compilation
+        }
+        return index;
+    }
+}
@@ -0,0 +1,122 @@
+package by.glebka.jpadmin.processor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compiles annotated sources with the processor and checks the index it writes. The JPA annotations are
+ * compiled from stubs, as the processor matches them by name only.
+ */
+class EntityIndexProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    private Path sources;
+    private Path classes;
+
+    @BeforeEach
+    void writeAnnotationStubs() throws IOException {
+        sources = Files.createDirectories(directory.resolve("src"));
+        classes = Files.createDirectories(directory.resolve("classes"));
+        for (String annotation : List.of("Entity", "Embeddable", "MappedSuperclass")) {
+            write("jakarta.persistence." + annotation, "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                    + "public @interface " + annotation + " {}");
+        }
+        compile(List.of("jakarta.persistence.Entity", "jakarta.persistence.Embeddable",
+                "jakarta.persistence.MappedSuperclass"), false);
+    }
+
+    @Test
+    void indexesJpaClassesWithKindAndSuperclass() throws IOException {
+        write("model.Base", "@jakarta.persistence.MappedSuperclass public abstract class Base {}");
+        write("model.Book", "@jakarta.persistence.Entity public class Book extends Base {\n"
+                + "    @jakarta.persistence.Embeddable public static class Isbn {}\n"
+                + "}");
+        write("model.Author", "@jakarta.persistence.Entity public class Author {}");
+        write("model.Plain", "public class Plain {}");
+
+        compile(List.of("model.Base", "model.Book", "model.Author", "model.Plain"), true);
+
+        assertThat(readIndex()).containsExactly(
+                "model.Author\tentity\t-",
+                "model.Base\tmapped-superclass\t-",
+                "model.Book\tentity\tmodel.Base",
+                "model.Book$Isbn\tembeddable\t-");
+    }
+
+    @Test
+    void keepsEntriesOfClassesNotRecompiled() throws IOException {
+        write("model.Author", "@jakarta.persistence.Entity public class Author {}");
+        compile(List.of("model.Author"), true);
+        Path index = classes.resolve(EntityIndexProcessor.INDEX_LOCATION);
+        Files.writeString(index, "model.Deleted\tentity\t-\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        write("model.Book", "@jakarta.persistence.Entity public class Book {}");
+        compile(List.of("model.Book"), true);
+
+        assertThat(readIndex()).containsExactly(
+                "model.Author\tentity\t-",
+                "model.Book\tentity\t-");
+    }
+
+    @Test
+    void writesNoIndexWithoutJpaClasses() throws IOException {
+        write("model.Plain", "public class Plain {}");
+
+        compile(List.of("model.Plain"), true);
+
+        assertThat(classes.resolve(EntityIndexProcessor.INDEX_LOCATION)).doesNotExist();
+    }
+
+    private void write(String className, String body) throws IOException {
+        int separator = className.lastIndexOf('.');
+        Path file = sources.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + className.substring(0, separator) + ";\n" + body + "\n");
+    }
+
+    /**
+     * Compiles sources into the classes directory, which is also the class path, as in an incremental build.
+     */
+    private void compile(List<String> classNames, boolean withProcessor) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<Path> files = new ArrayList<>();
+            for (String className : classNames) {
+                files.add(sources.resolve(className.replace('.', '/') + ".java"));
+            }
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(files);
+            List<String> options = new ArrayList<>(List.of("-classpath", classes.toString(), "-d", classes.toString()));
+            if (!withProcessor) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            if (withProcessor) {
+                task.setProcessors(List.of(new EntityIndexProcessor()));
+            }
+            assertThat(task.call()).isTrue();
+        }
+    }
+
+    private List<String> readIndex() throws IOException {
+        return Files.readAllLines(classes.resolve(EntityIndexProcessor.INDEX_LOCATION)).stream()
+                .filter(line -> !line.startsWith("#"))
+                .toList();
+    }
+}
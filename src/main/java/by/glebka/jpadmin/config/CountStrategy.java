@@ -0,0 +1,29 @@
+package by.glebka.jpadmin.config;
+
+/**
+ * Strategies for computing the total number of records shown in the table list.
+ */
+public enum CountStrategy {
+    /**
+     * Exact {@code count(*)} with the current filters. Accurate, but slow on very large tables.
+     */
+    EXACT,
+
+    /**
+     * Planner estimate: {@code pg_class.reltuples} for unfiltered lists and the row estimate of
+     * {@code EXPLAIN} for filtered ones. Small results are counted exactly up to the count cap.
+     */
+    ESTIMATE,
+
+    /**
+     * Exact count up to the count cap; larger results are shown as "cap+".
+     */
+    CAPPED,
+
+    /**
+     * Exact count fetched with the page in a single statement through {@code count(*) OVER ()}, so the
+     * filters are evaluated once. Suited to selective filters on mid-sized tables, where counting every
+     * matching row while fetching the page is cheap. Keyset-paginated tables count separately, as with EXACT.
+     */
+    WINDOW
+}
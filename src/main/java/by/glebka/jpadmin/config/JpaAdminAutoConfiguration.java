@@ -1,21 +1,40 @@
 package by.glebka.jpadmin.config;
 
+import by.glebka.jpadmin.service.AdminMetrics;
 import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.ReplicaRouter;
+import by.glebka.jpadmin.service.TableModificationTracker;
 import by.glebka.jpadmin.service.TimeFormatService;
+import by.glebka.jpadmin.service.record.ActiveQueryRegistry;
+import by.glebka.jpadmin.service.record.EntityDescriptorCache;
 import by.glebka.jpadmin.service.record.FieldUtils;
 import by.glebka.jpadmin.service.record.FieldValueSetter;
+import by.glebka.jpadmin.service.record.FullTextSearch;
+import by.glebka.jpadmin.service.record.PgCopyExporter;
+import by.glebka.jpadmin.service.record.QueryBudget;
 import by.glebka.jpadmin.service.record.QueryBuilder;
+import by.glebka.jpadmin.service.record.QueryShapeCache;
+import by.glebka.jpadmin.service.record.RecordBulkProcessor;
+import by.glebka.jpadmin.service.record.RecordCountExecutor;
+import by.glebka.jpadmin.service.record.RecordCounter;
 import by.glebka.jpadmin.service.record.RecordDetailsFetcher;
 import by.glebka.jpadmin.service.record.RecordDetailsService;
+import by.glebka.jpadmin.service.record.RecordImporter;
 import by.glebka.jpadmin.service.record.RecordListService;
 import by.glebka.jpadmin.service.record.RecordPersister;
 import by.glebka.jpadmin.service.record.RecordValidator;
+import by.glebka.jpadmin.service.record.SqlFilterTranslator;
+import by.glebka.jpadmin.service.record.TrigramIndexRegistry;
+import by.glebka.jpadmin.exception.ApiExceptionHandler;
 import by.glebka.jpadmin.exception.GlobalExceptionHandler;
 import by.glebka.jpadmin.scanner.AnnotationCollector;
 import by.glebka.jpadmin.scanner.ClassScanner;
 import by.glebka.jpadmin.scanner.MetamodelAnalyzer;
+import by.glebka.jpadmin.controller.AdminApiController;
 import by.glebka.jpadmin.controller.AdminController;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -28,9 +47,55 @@ public class JpaAdminAutoConfiguration {
     @Value("${jpadmin.base-package}")
     private String basePackage;
 
+    @Value("${jpadmin.entity-index.enabled:true}")
+    private boolean entityIndexEnabled;
+
+    @Value("${jpadmin.count.pool-size:4}")
+    private int countPoolSize;
+
+    @Value("${jpadmin.count.queue-capacity:64}")
+    private int countQueueCapacity;
+
+    @Value("${jpadmin.count.timeout-ms:3000}")
+    private long countTimeoutMillis;
+
+    @Value("${jpadmin.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${jpadmin.query-cache.max-shapes:500}")
+    private int queryCacheMaxShapes;
+
+    @Value("${jpadmin.filter.text-match:auto}")
+    private String textMatchMode;
+
+    @Value("${jpadmin.query.timeout-ms:30000}")
+    private long queryTimeoutMillis;
+
+    @Value("${jpadmin.query.async-timeout-ms:60000}")
+    private long asyncTimeoutMillis;
+
+    @Value("${jpadmin.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${jpadmin.replica.sticky-ms:5000}")
+    private long replicaStickyMillis;
+
+    @Bean
+    @ConditionalOnProperty(name = "jpadmin.replica.url")
+    public static BeanPostProcessor replicaDataSourcePostProcessor(
+            ObjectProvider<ReplicaRouter> replicaRouter,
+            @Value("${jpadmin.replica.url}") String url,
+            @Value("${jpadmin.replica.username:}") String username,
+            @Value("${jpadmin.replica.password:}") String password,
+            @Value("${jpadmin.replica.max-lag-bytes:1048576}") long maxLagBytes,
+            @Value("${jpadmin.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis) {
+        return new ReplicaDataSourcePostProcessor(replicaRouter, url, username, password, maxLagBytes,
+                lagCheckIntervalMillis);
+    }
+
     @Bean
     public ClassScanner classScanner() {
-        return new ClassScanner(basePackage);
+        return new ClassScanner(basePackage, entityIndexEnabled);
     }
 
     @Bean
@@ -53,6 +118,21 @@ public class JpaAdminAutoConfiguration {
         return new FieldValueSetter();
     }
 
+    @Bean
+    public AdminMetrics adminMetrics() {
+        return new AdminMetrics();
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter() {
+        return new ReplicaRouter(!replicaUrl.isBlank(), replicaStickyMillis);
+    }
+
+    @Bean
+    public TableModificationTracker tableModificationTracker() {
+        return new TableModificationTracker();
+    }
+
     @Bean
     public TimeFormatService timeFormatService() {
         return new TimeFormatService();
@@ -69,11 +149,26 @@ public class JpaAdminAutoConfiguration {
         return new EntityTableService();
     }
 
+    @Bean
+    public EntityDescriptorCache entityDescriptorCache() {
+        return new EntityDescriptorCache();
+    }
+
     @Bean
     public QueryBuilder queryBuilder() {
         return new QueryBuilder();
     }
 
+    @Bean
+    public FullTextSearch fullTextSearch() {
+        return new FullTextSearch();
+    }
+
+    @Bean
+    public TrigramIndexRegistry trigramIndexRegistry() {
+        return new TrigramIndexRegistry(textMatchMode);
+    }
+
     @Bean
     public RecordPersister recordPersister() {
         return new RecordPersister();
@@ -89,6 +184,51 @@ public class JpaAdminAutoConfiguration {
         return new RecordValidator();
     }
 
+    @Bean
+    public SqlFilterTranslator sqlFilterTranslator() {
+        return new SqlFilterTranslator();
+    }
+
+    @Bean
+    public QueryShapeCache queryShapeCache() {
+        return new QueryShapeCache(queryCacheMaxShapes);
+    }
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget(queryTimeoutMillis);
+    }
+
+    @Bean
+    public ActiveQueryRegistry activeQueryRegistry() {
+        return new ActiveQueryRegistry(asyncTimeoutMillis);
+    }
+
+    @Bean
+    public RecordCountExecutor recordCountExecutor() {
+        return new RecordCountExecutor(countPoolSize, countQueueCapacity, countTimeoutMillis);
+    }
+
+    @Bean
+    public RecordCounter recordCounter() {
+        return new RecordCounter();
+    }
+
+    @Bean
+    public PgCopyExporter pgCopyExporter() {
+        return new PgCopyExporter();
+    }
+
+    @Bean
+    public RecordImporter recordImporter() {
+        return new RecordImporter();
+    }
+
+    @Bean
+    public RecordBulkProcessor recordBulkProcessor() {
+        return new RecordBulkProcessor(bulkChunkSize);
+    }
+
     @Bean
     public RecordListService recordListService() {
         return new RecordListService();
@@ -104,9 +244,20 @@ public class JpaAdminAutoConfiguration {
         return new AdminController();
     }
 
+    @Bean
+    public AdminApiController adminApiController() {
+        return new AdminApiController();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public GlobalExceptionHandler globalExceptionHandler() {
         return new GlobalExceptionHandler();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiExceptionHandler apiExceptionHandler() {
+        return new ApiExceptionHandler();
+    }
 }
\ No newline at end of file
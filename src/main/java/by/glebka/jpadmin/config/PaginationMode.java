@@ -0,0 +1,18 @@
+package by.glebka.jpadmin.config;
+
+/**
+ * Pagination modes of the table list.
+ */
+public enum PaginationMode {
+    /**
+     * Numbered pages loaded with {@code OFFSET}/{@code LIMIT}. Simple, but deep pages get slower
+     * because the database scans and discards every preceding row.
+     */
+    OFFSET,
+
+    /**
+     * Previous/next navigation that seeks from the last shown row using the sort column and the ID as a
+     * cursor. Every page costs the same regardless of its depth; suited for large tables.
+     */
+    KEYSET
+}
@@ -0,0 +1,62 @@
+package by.glebka.jpadmin.config;
+
+import by.glebka.jpadmin.service.ReplicaRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+
+/**
+ * Post-processor wrapping the application's {@code dataSource} bean into a {@link ReplicaRoutingDataSource},
+ * so that the shared entity manager can serve admin reads from the configured read replica. The replica pool
+ * is not a bean of its own, so that auto-configuration expecting a single data source is not affected.
+ */
+public class ReplicaDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long maxLagBytes;
+    private final long lagCheckIntervalMillis;
+
+    /**
+     * Constructs a new ReplicaDataSourcePostProcessor.
+     *
+     * @param replicaRouter          The router, resolved when the data source is wrapped.
+     * @param url                    The JDBC URL of the replica.
+     * @param username               The user name on the replica, or an empty string for none.
+     * @param password               The password on the replica, or an empty string for none.
+     * @param maxLagBytes            The replication lag above which reads go to the primary, in bytes of WAL.
+     * @param lagCheckIntervalMillis The interval between lag checks, in milliseconds.
+     */
+    public ReplicaDataSourcePostProcessor(ObjectProvider<ReplicaRouter> replicaRouter, String url, String username,
+                                          String password, long maxLagBytes, long lagCheckIntervalMillis) {
+        this.replicaRouter = replicaRouter;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxLagBytes = maxLagBytes;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (url.isBlank() || !DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource primary)
+                || bean instanceof ReplicaRoutingDataSource) {
+            return bean;
+        }
+        DataSourceBuilder<?> builder = DataSourceBuilder.create().url(url);
+        if (!username.isEmpty()) {
+            builder.username(username);
+        }
+        if (!password.isEmpty()) {
+            builder.password(password);
+        }
+        return new ReplicaRoutingDataSource(primary, builder.build(), replicaRouter.getObject(),
+                maxLagBytes, lagCheckIntervalMillis);
+    }
+}
@@ -0,0 +1,144 @@
+package by.glebka.jpadmin.config;
+
+import by.glebka.jpadmin.service.ReplicaRouter;
+import by.glebka.jpadmin.type.PgLsnStringType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data source sending the admin reads that requested the replica through {@link ReplicaRouter} to the read
+ * replica, and every other connection to the primary. Connections are acquired lazily, on their first statement,
+ * so that the choice is made once the transaction is known to be read-only.
+ * <p>
+ * The replication lag is checked in the background by comparing {@code pg_current_wal_lsn()} on the primary
+ * with {@code pg_last_wal_replay_lsn()} on the replica. While the replica lags behind by more than the threshold,
+ * or cannot be reached, all reads go to the primary. A replica that is not in recovery reports no replay position
+ * and is used without a lag check.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaRouter replicaRouter;
+    private final long maxLagBytes;
+    private final ScheduledExecutorService lagMonitor;
+
+    private volatile boolean replicaUsable;
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource and starts checking the replication lag.
+     *
+     * @param primary                The primary data source.
+     * @param replica                The replica data source.
+     * @param replicaRouter          The router telling which connections are requested from the replica.
+     * @param maxLagBytes            The replication lag above which reads go to the primary, in bytes of WAL.
+     * @param lagCheckIntervalMillis The interval between lag checks, in milliseconds.
+     * @throws IllegalArgumentException If the threshold is negative or the interval is not positive.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouter replicaRouter,
+                                    long maxLagBytes, long lagCheckIntervalMillis) {
+        if (maxLagBytes < 0) {
+            throw new IllegalArgumentException("Replica lag threshold must not be negative");
+        }
+        if (lagCheckIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Replica lag check interval must be positive");
+        }
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaRouter = replicaRouter;
+        this.maxLagBytes = maxLagBytes;
+
+        AbstractRoutingDataSource routingDataSource = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return replicaUsable && replicaRouter.isReplicaRequested() ? REPLICA : PRIMARY;
+            }
+        };
+        routingDataSource.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        setTargetDataSource(routingDataSource);
+        afterPropertiesSet();
+
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jpadmin-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indicates whether the replica currently serves the reads requesting it.
+     *
+     * @return True if the replica is reachable and within the lag threshold.
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Stops the lag checks and closes both data sources, which this data source replaces as a bean.
+     */
+    @Override
+    public void destroy() throws Exception {
+        lagMonitor.shutdownNow();
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void checkLag() {
+        try {
+            String replayLsn = queryLsn(replica, "SELECT pg_last_wal_replay_lsn()::text");
+            if (replayLsn == null) {
+                updateUsable(true, "the replica is not in recovery");
+                return;
+            }
+            String currentLsn = queryLsn(primary, "SELECT pg_current_wal_lsn()::text");
+            long lagBytes = Math.max(0, PgLsnStringType.toWalPosition(currentLsn) - PgLsnStringType.toWalPosition(replayLsn));
+            updateUsable(lagBytes <= maxLagBytes, "replication lag is " + lagBytes + " bytes");
+        } catch (SQLException | RuntimeException e) {
+            updateUsable(false, "the lag check failed: " + e.getMessage());
+        }
+    }
+
+    private String queryLsn(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private void updateUsable(boolean usable, String reason) {
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Admin reads use the read replica: {}", reason);
+            } else {
+                logger.warn("Admin reads fall back to the primary: {}", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
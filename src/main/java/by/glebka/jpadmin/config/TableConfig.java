@@ -1,25 +1,40 @@
 package by.glebka.jpadmin.config;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * Configuration class for defining table display settings and column configurations.
  */
 public class TableConfig {
+    private static final Pattern SEARCH_CONFIGURATION_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
     private final Class<?> entityClass;
     private String displayName;
     private Set<ColumnConfig> columns = null;
     private String defaultSortField;
     private String defaultSortOrder;
     private boolean defaultNullsFirst;
+    private PaginationMode paginationMode;
+    private CountStrategy countStrategy;
+    private int countCap;
+    private List<String> searchColumns = List.of();
+    private String searchVectorField;
+    private String searchConfiguration;
+    private long queryTimeoutMillis;
 
     public TableConfig(Class<?> entityClass) {
         this.entityClass = entityClass;
         this.displayName = entityClass.getSimpleName();
         this.defaultSortOrder = "DESC"; // Default value
         this.defaultNullsFirst = false; // Default value
+        this.paginationMode = PaginationMode.OFFSET; // Default value
+        this.countStrategy = CountStrategy.EXACT; // Default value
+        this.countCap = 10_000; // Default value
+        this.searchConfiguration = "simple"; // Default value
     }
 
     /**
@@ -67,6 +82,73 @@ public class TableConfig {
         return this;
     }
 
+    /**
+     * Sets how the table list is paginated. Keyset pagination suits large tables where deep offset pages are slow.
+     */
+    public TableConfig setPaginationMode(PaginationMode paginationMode) {
+        this.paginationMode = paginationMode != null ? paginationMode : PaginationMode.OFFSET;
+        return this;
+    }
+
+    /**
+     * Sets how the total number of records is computed. Estimated and capped totals are marked as such in the list.
+     */
+    public TableConfig setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = countStrategy != null ? countStrategy : CountStrategy.EXACT;
+        return this;
+    }
+
+    /**
+     * Sets the number of records up to which capped and estimated counts stay exact.
+     */
+    public TableConfig setCountCap(int countCap) {
+        if (countCap <= 0) {
+            throw new IllegalArgumentException("Count cap must be positive");
+        }
+        this.countCap = countCap;
+        return this;
+    }
+
+    /**
+     * Sets the text columns matched by the search box of the table list, as field names or embedded field paths.
+     */
+    public TableConfig setSearchColumns(String... fieldNames) {
+        this.searchColumns = List.of(fieldNames);
+        return this;
+    }
+
+    /**
+     * Sets a stored tsvector field, mapped with {@code TsvectorStringType}, that the search matches instead of
+     * computing the vector from the search columns on every query.
+     */
+    public TableConfig setSearchVectorField(String searchVectorField) {
+        this.searchVectorField = searchVectorField;
+        return this;
+    }
+
+    /**
+     * Sets the PostgreSQL text search configuration of the search, such as {@code english} (default {@code simple}).
+     */
+    public TableConfig setSearchConfiguration(String searchConfiguration) {
+        if (searchConfiguration == null || !SEARCH_CONFIGURATION_PATTERN.matcher(searchConfiguration).matches()) {
+            throw new IllegalArgumentException("Invalid text search configuration: " + searchConfiguration);
+        }
+        this.searchConfiguration = searchConfiguration;
+        return this;
+    }
+
+    /**
+     * Sets the time budget of the list, count and details queries of the table, overriding
+     * {@code jpadmin.query.timeout-ms}.
+     */
+    public TableConfig setQueryTimeoutMillis(long queryTimeoutMillis) {
+        if (queryTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Query timeout must be positive");
+        }
+        this.queryTimeoutMillis = queryTimeoutMillis;
+        return this;
+    }
+
     public Class<?> getEntityClass() {
         return entityClass;
     }
@@ -90,4 +172,36 @@ public class TableConfig {
     public boolean isDefaultNullsFirst() {
         return defaultNullsFirst;
     }
+
+    public PaginationMode getPaginationMode() {
+        return paginationMode;
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    public int getCountCap() {
+        return countCap;
+    }
+
+    public List<String> getSearchColumns() {
+        return searchColumns;
+    }
+
+    public String getSearchVectorField() {
+        return searchVectorField;
+    }
+
+    public String getSearchConfiguration() {
+        return searchConfiguration;
+    }
+
+    public long getQueryTimeoutMillis() {
+        return queryTimeoutMillis;
+    }
+
+    public boolean isSearchable() {
+        return !searchColumns.isEmpty() || searchVectorField != null;
+    }
 }
\ No newline at end of file
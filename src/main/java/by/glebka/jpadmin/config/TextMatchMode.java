@@ -0,0 +1,21 @@
+package by.glebka.jpadmin.config;
+
+/**
+ * Modes of the "contains", "starts with" and "ends with" filters on text fields.
+ */
+public enum TextMatchMode {
+    /**
+     * {@code lower(column) LIKE pattern}. Served only by a trigram index on {@code lower(column)}.
+     */
+    LOWER,
+
+    /**
+     * {@code column ILIKE pattern}. Served by a {@code pg_trgm} GIN or GiST index on the column itself.
+     */
+    ILIKE,
+
+    /**
+     * ILIKE for the columns found with a trigram index on the column at startup, LOWER for the others.
+     */
+    AUTO
+}
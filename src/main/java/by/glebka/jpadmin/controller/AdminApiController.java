@@ -0,0 +1,140 @@
+package by.glebka.jpadmin.controller;
+
+import by.glebka.jpadmin.service.record.ActiveQueryRegistry;
+import by.glebka.jpadmin.service.record.RecordDetailsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller exposing the table and record views of the admin interface as JSON, for tools polling the data.
+ * Responses are written with a streaming {@link JsonGenerator} directly to the response. They carry the same
+ * ETags as the HTML pages, so that pollers sending {@code If-None-Match} get 304 Not Modified while the data
+ * is unchanged.
+ */
+@RestController
+@RequestMapping("/admin/api")
+public class AdminApiController {
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ActiveQueryRegistry activeQueryRegistry;
+
+    /**
+     * Returns a page of records of a table with the same filtering, sorting and pagination parameters as the
+     * table list, including the keyset cursors of tables using keyset pagination. The page is read
+     * asynchronously as a tracked admin read, cancelled if the request completes before it.
+     */
+    @GetMapping("/table/{tableName}")
+    public WebAsyncTask<Void> getTableRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "filterField", required = false) List<String> filterFields,
+            @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
+            @RequestParam(value = "filterValue", required = false) List<String> filterValues,
+            @RequestParam(value = "filterTimeFormat", required = false) List<String> filterTimeFormats,
+            @RequestParam(value = "allowNull", required = false) List<String> allowNulls,
+            @RequestParam(value = "treatEmptyAsEmptyString", required = false) List<String> treatEmptyAsEmptyStrings,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sortField", required = false) String sortField,
+            @RequestParam(value = "sortOrder", required = false) String sortOrder,
+            @RequestParam(value = "nullsFirst", required = false) Boolean nullsFirst,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "search", required = false) String search,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(recordDetailsService.getTableETag(tableName))) {
+            return null;
+        }
+        return activeQueryRegistry.track(request, () -> {
+            List<Map<String, String>> filters = recordDetailsService.addSearch(recordDetailsService.buildFilters(
+                    filterFields, filterOperations, filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings,
+                    tableName), search);
+            try (JsonGenerator json = openGenerator(response)) {
+                recordDetailsService.writeTableRecords(tableName, filters, page, size, sortField, sortOrder,
+                        nullsFirst != null ? nullsFirst : false, after, before, json);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns a single record with the same fields and links as the record details view.
+     */
+    @GetMapping("/table/{tableName}/{id}")
+    public void getRecordDetails(
+            @PathVariable("tableName") String tableName,
+            @PathVariable("id") Long id,
+            HttpServletResponse response,
+            WebRequest webRequest) throws IOException {
+        String eTag = recordDetailsService.getRecordETag(tableName, id);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        Map<String, Object> recordData = recordDetailsService.getRecordDetailsForView(tableName, id);
+        if (recordData == null || recordData.get("record") == null) {
+            throw new IllegalArgumentException("Record not found for table " + tableName + " with id " + id);
+        }
+        try (JsonGenerator json = openGenerator(response)) {
+            writeRecordDetails(recordData, json);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeRecordDetails(Map<String, Object> recordData, JsonGenerator json) throws IOException {
+        Map<String, Object> record = (Map<String, Object>) recordData.get("record");
+        Map<String, Boolean> isCollectionField = (Map<String, Boolean>) recordData.get("isCollectionField");
+        Map<String, Map<String, String>> childTables = (Map<String, Map<String, String>>) recordData.get("childTables");
+
+        json.writeStartObject();
+        json.writeStringField("table", (String) recordData.get("tableName"));
+        json.writeStringField("entityClass", (String) recordData.get("entityClass"));
+        json.writeObjectFieldStart("record");
+        for (String field : (Collection<String>) recordData.get("fields")) {
+            if (!isCollectionField.getOrDefault(field, false)) {
+                json.writeObjectField(field, record.get(field));
+            }
+        }
+        json.writeEndObject();
+        json.writeObjectFieldStart("links");
+        for (String field : (Collection<String>) recordData.get("fields")) {
+            Object link = record.get(field + "_link");
+            if (link != null) {
+                json.writeObjectField(field, link);
+            } else if (childTables.containsKey(field)) {
+                json.writeStringField(field, childTables.get(field).get("link"));
+            }
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private JsonGenerator openGenerator(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return objectMapper.getFactory().createGenerator(response.getOutputStream());
+    }
+}
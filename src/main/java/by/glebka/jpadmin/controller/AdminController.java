@@ -1,21 +1,43 @@
 package by.glebka.jpadmin.controller;
 
+import by.glebka.jpadmin.service.AdminMetrics;
 import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.record.ActiveQueryRegistry;
+import by.glebka.jpadmin.service.record.BulkJob;
+import by.glebka.jpadmin.service.record.ImportResult;
+import by.glebka.jpadmin.service.record.PgCopyExporter;
 import by.glebka.jpadmin.service.record.RecordDetailsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Controller for handling admin-related web requests, such as displaying tables, records, and editing data.
@@ -25,6 +47,8 @@ import java.util.Map;
 public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+    private static final String COPY_EXPORT_MODE = "copy";
+    private static final String UPSERT_IMPORT_MODE = "upsert";
 
     @Autowired
     private EntityTableService entityTableService;
@@ -32,6 +56,12 @@ public class AdminController {
     @Autowired
     private RecordDetailsService recordDetailsService;
 
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    @Autowired
+    private ActiveQueryRegistry activeQueryRegistry;
+
     /**
      * Displays the list of available entity tables.
      */
@@ -41,11 +71,23 @@ public class AdminController {
         return "admin";
     }
 
+    /**
+     * Returns runtime metrics of the admin interface, such as computed column timings, as JSON.
+     */
+    @GetMapping("/metrics")
+    @ResponseBody
+    public Map<String, Object> showMetrics() {
+        return adminMetrics.snapshot();
+    }
+
     /**
      * Displays records of a specific table with optional filtering, sorting, and pagination.
+     * Answers 304 Not Modified without querying the database if the table has not been written since the
+     * page was cached. The list is read asynchronously as a tracked admin read, cancelled if a newer request
+     * of the session for the same table replaces it.
      */
     @GetMapping("/table/{tableName}")
-    public String showTableRecords(
+    public WebAsyncTask<String> showTableRecords(
             @PathVariable("tableName") String tableName,
             @RequestParam(value = "filterField", required = false) List<String> filterFields,
             @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
@@ -58,29 +100,311 @@ public class AdminController {
             @RequestParam(value = "sortField", required = false) String sortField,
             @RequestParam(value = "sortOrder", required = false) String sortOrder,
             @RequestParam(value = "nullsFirst", required = false) Boolean nullsFirst,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "search", required = false) String search,
+            ServletWebRequest webRequest,
+            Model model) {
+        if (isNotModified(webRequest, () -> recordDetailsService.getTableETag(tableName))) {
+            return null;
+        }
+        return activeQueryRegistry.track(webRequest.getRequest(), () -> {
+            List<Map<String, String>> filters = recordDetailsService.buildFilters(filterFields, filterOperations,
+                    filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName);
+            Map<String, Object> tableData = recordDetailsService.getTableRecords(tableName,
+                    recordDetailsService.addSearch(filters, search), page, size, sortField, sortOrder,
+                    nullsFirst != null ? nullsFirst : false, after, before);
+            addKeysetLinks(tableData, model);
+
+            model.addAttribute("fieldTypesJson", recordDetailsService.getFieldTypesJson(tableName));
+            model.addAttribute("fullScanFilterFields", recordDetailsService.getFullScanFilterFields(tableName));
+            model.addAllAttributes(tableData);
+            model.addAttribute("filters", filters);
+            model.addAttribute("search", search);
+            model.addAttribute("currentPage", page);
+            model.addAttribute("pageSize", size);
+            model.addAttribute("exportUrl", filteredActionUrl("/export.csv"));
+            model.addAttribute("bulkUpdateUrl", filteredActionUrl("/bulk-update"));
+            model.addAttribute("bulkDeleteUrl", filteredActionUrl("/delete"));
+            model.addAttribute("bulkUpdateFields", recordDetailsService.getBulkUpdatableFields(tableName));
+            return "table-records";
+        });
+    }
+
+    /**
+     * Exports the records of a table matching the current filters and sorting as a CSV file. All matching
+     * records are exported, regardless of pagination, and streamed to the client as they are read.
+     * With {@code mode=copy}, the export is produced by PostgreSQL COPY when the list can be expressed in SQL.
+     */
+    @GetMapping("/table/{tableName}/export.csv")
+    public void exportTableRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "filterField", required = false) List<String> filterFields,
+            @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
+            @RequestParam(value = "filterValue", required = false) List<String> filterValues,
+            @RequestParam(value = "filterTimeFormat", required = false) List<String> filterTimeFormats,
+            @RequestParam(value = "allowNull", required = false) List<String> allowNulls,
+            @RequestParam(value = "treatEmptyAsEmptyString", required = false) List<String> treatEmptyAsEmptyStrings,
+            @RequestParam(value = "sortField", required = false) String sortField,
+            @RequestParam(value = "sortOrder", required = false) String sortOrder,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "search", required = false) String search,
+            HttpServletResponse response) throws IOException {
+        List<Map<String, String>> filters = recordDetailsService.addSearch(recordDetailsService.buildFilters(filterFields,
+                filterOperations, filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName), search);
+        if (COPY_EXPORT_MODE.equalsIgnoreCase(mode)) {
+            PgCopyExporter.CopyQuery copyQuery = recordDetailsService.prepareCopyExport(tableName, filters, sortField, sortOrder);
+            if (copyQuery != null) {
+                prepareCsvResponse(response, tableName);
+                recordDetailsService.exportCsvWithCopy(tableName, copyQuery, response.getOutputStream());
+                return;
+            }
+            logger.info("Table {} cannot be exported with COPY, falling back to the JPA export", tableName);
+        }
+        prepareCsvResponse(response, tableName);
+        recordDetailsService.exportCsv(tableName, filters, sortField, sortOrder, response.getWriter());
+    }
+
+    private void prepareCsvResponse(HttpServletResponse response, String tableName) {
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(tableName + ".csv", StandardCharsets.UTF_8).build().toString());
+    }
+
+    /**
+     * Returns the DDL of the recommended full-text search index of a table as plain text, for review by a DBA.
+     */
+    @GetMapping(value = "/table/{tableName}/search-index.sql", produces = "text/plain")
+    @ResponseBody
+    public String showSearchIndexDdl(@PathVariable("tableName") String tableName) {
+        return recordDetailsService.getSearchIndexDdl(tableName);
+    }
+
+    /**
+     * Displays the form for importing records into a table from a CSV file.
+     */
+    @GetMapping("/table/{tableName}/import")
+    public String showImportForm(
+            @PathVariable("tableName") String tableName,
             Model model) {
-        List<Map<String, String>> filters = recordDetailsService.buildFilters(filterFields, filterOperations, filterValues,
-                filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName);
-        Map<String, Object> tableData = recordDetailsService.getTableRecords(tableName, filters, page, size, sortField,
-                sortOrder, nullsFirst != null ? nullsFirst : false);
+        model.addAttribute("tableName", tableName);
+        model.addAttribute("columns", recordDetailsService.getImportColumns(tableName));
+        return "record-import";
+    }
 
-        model.addAttribute("fieldTypesJson", recordDetailsService.getFieldTypesJson(tableName));
-        model.addAllAttributes(tableData);
+    /**
+     * Imports records into a table from an uploaded CSV file and displays the result, including the rows
+     * that were rejected. With {@code mode=upsert}, rows whose ID exists update that record.
+     */
+    @PostMapping("/table/{tableName}/import")
+    public String importRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", required = false) String mode,
+            Model model) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("No CSV file uploaded");
+        }
+        boolean upsert = UPSERT_IMPORT_MODE.equalsIgnoreCase(mode);
+        ImportResult result;
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            result = recordDetailsService.importCsv(tableName, reader, upsert);
+        }
+        model.addAttribute("tableName", tableName);
+        model.addAttribute("columns", recordDetailsService.getImportColumns(tableName));
+        model.addAttribute("upsert", upsert);
+        model.addAttribute("result", result);
+        return "record-import";
+    }
+
+    /**
+     * Starts setting a field to the same value on all records matching the current filters and redirects to
+     * the progress page of the bulk job.
+     */
+    @PostMapping("/table/{tableName}/bulk-update")
+    public String bulkUpdateRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "filterField", required = false) List<String> filterFields,
+            @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
+            @RequestParam(value = "filterValue", required = false) List<String> filterValues,
+            @RequestParam(value = "filterTimeFormat", required = false) List<String> filterTimeFormats,
+            @RequestParam(value = "allowNull", required = false) List<String> allowNulls,
+            @RequestParam(value = "treatEmptyAsEmptyString", required = false) List<String> treatEmptyAsEmptyStrings,
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam("field") String field,
+            @RequestParam(value = "value", required = false) String value) {
+        List<Map<String, String>> filters = recordDetailsService.addSearch(recordDetailsService.buildFilters(filterFields,
+                filterOperations, filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName), search);
+        BulkJob job = recordDetailsService.startBulkUpdate(tableName, filters, field, value);
+        return "redirect:/admin/bulk/" + job.getId();
+    }
+
+    /**
+     * Displays how many records match the current filters and asks to confirm deleting them.
+     */
+    @GetMapping("/table/{tableName}/delete")
+    public String showBulkDeleteConfirmation(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "filterField", required = false) List<String> filterFields,
+            @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
+            @RequestParam(value = "filterValue", required = false) List<String> filterValues,
+            @RequestParam(value = "filterTimeFormat", required = false) List<String> filterTimeFormats,
+            @RequestParam(value = "allowNull", required = false) List<String> allowNulls,
+            @RequestParam(value = "treatEmptyAsEmptyString", required = false) List<String> treatEmptyAsEmptyStrings,
+            @RequestParam(value = "search", required = false) String search,
+            Model model) {
+        List<Map<String, String>> filters = recordDetailsService.addSearch(recordDetailsService.buildFilters(filterFields,
+                filterOperations, filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName), search);
+        model.addAttribute("tableName", tableName);
         model.addAttribute("filters", filters);
-        model.addAttribute("currentPage", page);
-        model.addAttribute("pageSize", size);
-        return "table-records";
+        model.addAttribute("matchingCount", recordDetailsService.countMatchingRecords(tableName, filters));
+        model.addAttribute("deleteUrl", ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString());
+        return "bulk-delete";
+    }
+
+    /**
+     * Starts deleting all records matching the current filters and redirects to the progress page of the bulk job.
+     */
+    @PostMapping("/table/{tableName}/delete")
+    public String bulkDeleteRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "filterField", required = false) List<String> filterFields,
+            @RequestParam(value = "filterOperation", required = false) List<String> filterOperations,
+            @RequestParam(value = "filterValue", required = false) List<String> filterValues,
+            @RequestParam(value = "filterTimeFormat", required = false) List<String> filterTimeFormats,
+            @RequestParam(value = "allowNull", required = false) List<String> allowNulls,
+            @RequestParam(value = "treatEmptyAsEmptyString", required = false) List<String> treatEmptyAsEmptyStrings,
+            @RequestParam(value = "search", required = false) String search) {
+        List<Map<String, String>> filters = recordDetailsService.addSearch(recordDetailsService.buildFilters(filterFields,
+                filterOperations, filterValues, filterTimeFormats, allowNulls, treatEmptyAsEmptyStrings, tableName), search);
+        BulkJob job = recordDetailsService.startBulkDelete(tableName, filters);
+        return "redirect:/admin/bulk/" + job.getId();
+    }
+
+    /**
+     * Starts deleting the records selected in the list and redirects to the progress page of the bulk job.
+     */
+    @PostMapping("/table/{tableName}/delete-selected")
+    public String deleteSelectedRecords(
+            @PathVariable("tableName") String tableName,
+            @RequestParam(value = "ids", required = false) List<String> ids) {
+        BulkJob job = recordDetailsService.startDeleteSelected(tableName, ids);
+        return "redirect:/admin/bulk/" + job.getId();
+    }
+
+    /**
+     * Displays the progress of a bulk job, refreshing until the job has finished.
+     */
+    @GetMapping("/bulk/{jobId}")
+    public String showBulkJob(@PathVariable("jobId") String jobId, Model model) {
+        model.addAttribute("job", findBulkJob(jobId));
+        return "bulk-job";
+    }
+
+    /**
+     * Returns the progress of a bulk job as JSON.
+     */
+    @GetMapping("/bulk/{jobId}/status")
+    @ResponseBody
+    public Map<String, Object> showBulkJobStatus(@PathVariable("jobId") String jobId) {
+        BulkJob job = findBulkJob(jobId);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", job.getId());
+        status.put("table", job.getTableName());
+        status.put("description", job.getDescription());
+        status.put("status", job.getStatus().name());
+        status.put("total", job.getTotal());
+        status.put("processed", job.getProcessed());
+        status.put("percent", job.getPercent());
+        status.put("elapsedMillis", job.getElapsedMillis());
+        status.put("error", job.getError());
+        return status;
+    }
+
+    private BulkJob findBulkJob(String jobId) {
+        BulkJob job = recordDetailsService.getBulkJob(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Bulk job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Checks a conditional GET against the ETag of a page, making browsers revalidate the page on every visit.
+     * Pages showing flash attributes, such as the message after saving a record, are rendered without an ETag
+     * so that the message is not replayed from the cache.
+     *
+     * @return True if the response has been completed with 304 Not Modified.
+     */
+    private boolean isNotModified(ServletWebRequest webRequest, Supplier<String> eTag) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(webRequest.getRequest()))) {
+            return false;
+        }
+        String tag = eTag.get();
+        return tag != null && webRequest.checkNotModified(tag);
+    }
+
+    /**
+     * Adds the first/previous/next page links of a keyset-paginated list, keeping the current filters and sorting.
+     */
+    private void addKeysetLinks(Map<String, Object> tableData, Model model) {
+        if (!"KEYSET".equals(tableData.get("paginationMode"))) {
+            return;
+        }
+        model.addAttribute("firstPageUrl", keysetPageUrl(null, null));
+        Object previousCursor = tableData.get("previousCursor");
+        if (Boolean.TRUE.equals(tableData.get("hasPrevious")) && previousCursor != null) {
+            model.addAttribute("previousPageUrl", keysetPageUrl(null, previousCursor));
+        }
+        Object nextCursor = tableData.get("nextCursor");
+        if (Boolean.TRUE.equals(tableData.get("hasNext")) && nextCursor != null) {
+            model.addAttribute("nextPageUrl", keysetPageUrl(nextCursor, null));
+        }
+    }
+
+    /**
+     * Builds the URL of an action applying to all records of the current list, keeping its filters and sorting
+     * but not its pagination.
+     */
+    private String filteredActionUrl(String path) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .path(path)
+                .replaceQueryParam("page")
+                .replaceQueryParam("size")
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam(ActiveQueryRegistry.PAGE_TOKEN_PARAMETER)
+                .build().toUriString();
+    }
+
+    private String keysetPageUrl(Object after, Object before) {
+        UriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page")
+                .replaceQueryParam("after")
+                .replaceQueryParam("before");
+        if (after != null) builder.queryParam("after", after);
+        if (before != null) builder.queryParam("before", before);
+        return builder.build().toUriString();
     }
 
     /**
      * Displays details of a specific record in a table.
+     * Answers 304 Not Modified if the version of the record has not changed since the page was cached.
      */
     @GetMapping("/table/{tableName}/{id}")
     public String showRecordDetails(
             @PathVariable("tableName") String tableName,
             @PathVariable("id") Long id,
+            ServletWebRequest webRequest,
             Model model) {
-        Map<String, Object> recordData = recordDetailsService.getRecordDetails(tableName, id);
+        if (isNotModified(webRequest, () -> recordDetailsService.getRecordETag(tableName, id))) {
+            return null;
+        }
+        Map<String, Object> recordData = recordDetailsService.getRecordDetailsForView(tableName, id);
         if (recordData == null || recordData.get("record") == null) {
             logger.warn("Record not found for table {} with id {}", tableName, id);
             throw new IllegalArgumentException("Record not found for table " + tableName + " with id " + id);
@@ -0,0 +1,63 @@
+package by.glebka.jpadmin.exception;
+
+import by.glebka.jpadmin.controller.AdminApiController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Exception handler for the JSON API, reporting errors as JSON objects instead of rendering error pages.
+ * Takes precedence over {@link GlobalExceptionHandler} for API requests.
+ */
+@RestControllerAdvice(assignableTypes = AdminApiController.class)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    /**
+     * Handles invalid arguments, such as unknown tables, records or malformed cursors.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        logger.warn("Invalid API request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", String.valueOf(ex.getMessage())));
+    }
+
+    /**
+     * Handles queries cancelled for exceeding their time budget.
+     */
+    @ExceptionHandler({jakarta.persistence.QueryTimeoutException.class, org.hibernate.QueryTimeoutException.class,
+            org.springframework.dao.QueryTimeoutException.class})
+    public ResponseEntity<Map<String, String>> handleQueryTimeoutException(RuntimeException ex) {
+        logger.warn("API query exceeded its time budget: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", GlobalExceptionHandler.QUERY_TIMEOUT_MESSAGE));
+    }
+
+    /**
+     * Handles reads cancelled because a newer request replaced them or their client went away.
+     */
+    @ExceptionHandler(QueryCancelledException.class)
+    public ResponseEntity<Map<String, String>> handleQueryCancelledException(QueryCancelledException ex) {
+        logger.debug("API read cancelled: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", GlobalExceptionHandler.QUERY_CANCELLED_MESSAGE));
+    }
+
+    /**
+     * Catch-all handler for unexpected exceptions.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
+        logger.error("API request failed: {}", ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Unexpected error: " + ex.getMessage()));
+    }
+}
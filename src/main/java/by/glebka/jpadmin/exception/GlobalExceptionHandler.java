@@ -16,6 +16,18 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * Message shown when a query exceeds its time budget.
+     */
+    public static final String QUERY_TIMEOUT_MESSAGE = "The query took longer than its time budget allows. "
+            + "Narrow your filters, or sort by an indexed column, and try again.";
+
+    /**
+     * Message shown when a read is cancelled before completing.
+     */
+    public static final String QUERY_CANCELLED_MESSAGE = "The request was cancelled because a newer request "
+            + "for the same page replaced it.";
+
     /**
      * Handles cases where a record already exists during creation.
      */
@@ -57,6 +69,27 @@ public class GlobalExceptionHandler {
         return "error";
     }
 
+    /**
+     * Handles queries cancelled for exceeding their time budget, asking the user to narrow the query.
+     */
+    @ExceptionHandler({jakarta.persistence.QueryTimeoutException.class, org.hibernate.QueryTimeoutException.class,
+            org.springframework.dao.QueryTimeoutException.class})
+    public String handleQueryTimeoutException(RuntimeException ex, Model model) {
+        logger.warn("Query exceeded its time budget: {}", ex.getMessage());
+        model.addAttribute("errorMessage", QUERY_TIMEOUT_MESSAGE);
+        return "error";
+    }
+
+    /**
+     * Handles reads cancelled because a newer request replaced them or their client went away.
+     */
+    @ExceptionHandler(QueryCancelledException.class)
+    public String handleQueryCancelledException(QueryCancelledException ex, Model model) {
+        logger.debug("Admin read cancelled: {}", ex.getMessage());
+        model.addAttribute("errorMessage", QUERY_CANCELLED_MESSAGE);
+        return "error";
+    }
+
     /**
      * Catch-all handler for unexpected exceptions.
      */
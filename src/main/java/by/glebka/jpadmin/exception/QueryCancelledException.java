@@ -0,0 +1,17 @@
+package by.glebka.jpadmin.exception;
+
+/**
+ * Exception thrown when an admin read is cancelled before completing, because a newer request replaced it
+ * or its request ended first.
+ */
+public class QueryCancelledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QueryCancelledException(String message) {
+        super(message);
+    }
+
+    public QueryCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -9,18 +9,30 @@ import org.springframework.context.annotation.ClassPathScanningCandidateComponen
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Component responsible for scanning the classpath to find JPA-annotated classes.
+ * Component responsible for finding JPA-annotated classes.
+ * <p>
+ * Classes are read from the build-time index ({@value #INDEX_LOCATION}) generated by the
+ * {@code jpadmin-index-processor} module when it is present on the classpath and lists classes of the base
+ * package, and found by scanning the classpath otherwise.
  */
 @Component
 public class ClassScanner {
 
     private static final Logger logger = LoggerFactory.getLogger(ClassScanner.class);
+    public static final String INDEX_LOCATION = "META-INF/jpadmin/entities.idx";
 
     private final String basePackage;
+    private final boolean indexEnabled;
 
     /**
      * Constructs a ClassScanner with the specified base package.
@@ -28,15 +40,84 @@ public class ClassScanner {
      * @param basePackage The base package to scan, injected from properties.
      */
     public ClassScanner(@Value("${jpadmin.base-package}") String basePackage) {
+        this(basePackage, true);
+    }
+
+    /**
+     * Constructs a ClassScanner with the specified base package and index usage.
+     *
+     * @param basePackage  The base package to scan.
+     * @param indexEnabled Whether the build-time entity index is used when present.
+     */
+    public ClassScanner(String basePackage, boolean indexEnabled) {
         this.basePackage = basePackage;
+        this.indexEnabled = indexEnabled;
     }
 
     /**
-     * Scans the classpath for classes annotated with JPA annotations (e.g., @Entity, @MappedSuperclass).
+     * Finds classes annotated with JPA annotations (e.g., @Entity, @MappedSuperclass), using the
+     * build-time index when available.
      *
      * @return A set of classes found with JPA annotations.
      */
     public Set<Class<?>> scanJpaClasses() {
+        long start = System.nanoTime();
+        Set<Class<?>> classes = indexEnabled ? readIndex() : null;
+        String source = "index";
+        if (classes == null) {
+            classes = scanClasspath();
+            source = "classpath scan";
+        }
+        logger.info("Found {} JPA classes via {} in {} ms", classes.size(), source, (System.nanoTime() - start) / 1_000_000);
+        return classes;
+    }
+
+    /**
+     * Reads the JPA classes of the base package from all index files on the classpath. An index listing no class
+     * of the base package is ignored, as it was generated for other modules, such as a library shipping its own
+     * index, and the application's entities were not indexed.
+     *
+     * @return A set of indexed classes, or null if no index of the base package is present.
+     */
+    private Set<Class<?>> readIndex() {
+        ClassLoader classLoader = getClassLoader();
+        Enumeration<URL> resources;
+        try {
+            resources = classLoader.getResources(INDEX_LOCATION);
+        } catch (IOException e) {
+            logger.warn("Failed to look up entity index, falling back to classpath scan: {}", e.getMessage());
+            return null;
+        }
+        if (!resources.hasMoreElements()) {
+            logger.debug("No entity index found at {}", INDEX_LOCATION);
+            return null;
+        }
+
+        Set<Class<?>> classes = new HashSet<>();
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    String className = line.split("\t", 2)[0].trim();
+                    if (isInBasePackage(className)) {
+                        loadClass(className, classLoader, classes);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to read entity index {}, falling back to classpath scan: {}", url, e.getMessage());
+                return null;
+            }
+        }
+        if (classes.isEmpty()) {
+            logger.warn("Entity index lists no classes of package {}, falling back to classpath scan", basePackage);
+            return null;
+        }
+        return classes;
+    }
+
+    private Set<Class<?>> scanClasspath() {
         ClassPathScanningCandidateComponentProvider scanner =
                 new ClassPathScanningCandidateComponentProvider(false);
         scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
@@ -47,14 +128,28 @@ public class ClassScanner {
         scanner.addIncludeFilter(new AnnotationTypeFilter(Inheritance.class));
 
         Set<BeanDefinition> beanDefinitions = scanner.findCandidateComponents(basePackage);
+        ClassLoader classLoader = getClassLoader();
         Set<Class<?>> classes = new HashSet<>();
         for (BeanDefinition beanDef : beanDefinitions) {
-            try {
-                classes.add(Class.forName(beanDef.getBeanClassName()));
-            } catch (ClassNotFoundException e) {
-                logger.error("Failed to load class: {}", beanDef.getBeanClassName(), e);
-            }
+            loadClass(beanDef.getBeanClassName(), classLoader, classes);
         }
         return classes;
     }
-}
\ No newline at end of file
+
+    private boolean isInBasePackage(String className) {
+        return basePackage == null || basePackage.isEmpty() || className.startsWith(basePackage + ".");
+    }
+
+    private void loadClass(String className, ClassLoader classLoader, Set<Class<?>> classes) {
+        try {
+            classes.add(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to load class: {}", className, e);
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ClassScanner.class.getClassLoader();
+    }
+}
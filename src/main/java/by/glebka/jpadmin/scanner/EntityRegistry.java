@@ -0,0 +1,73 @@
+package by.glebka.jpadmin.scanner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the admin tables, built once from the scanned JPA classes.
+ * Provides constant-time lookup of entity metadata and entity classes by table name.
+ */
+public class EntityRegistry {
+    private final List<EntityInfo> tables;
+    private final Map<String, EntityInfo> tablesByName;
+    private final Map<String, Class<?>> classesByName;
+
+    /**
+     * Constructs a registry over the given tables.
+     *
+     * @param tables The entity tables in display order.
+     */
+    public EntityRegistry(List<EntityInfo> tables) {
+        Map<String, EntityInfo> byName = new LinkedHashMap<>();
+        Map<String, Class<?>> classes = new HashMap<>();
+        for (EntityInfo table : tables) {
+            String tableName = table.getTableName();
+            if (byName.putIfAbsent(tableName, table) == null) {
+                classes.put(tableName, table.getMetamodelInfo().getJavaType());
+            }
+        }
+        this.tables = List.copyOf(tables);
+        this.tablesByName = Collections.unmodifiableMap(byName);
+        this.classesByName = Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * Returns all registered tables in display order.
+     *
+     * @return An unmodifiable list of entity information objects.
+     */
+    public List<EntityInfo> getTables() { return tables; }
+
+    /**
+     * Finds the entity information for the given table name.
+     *
+     * @param tableName The name of the table.
+     * @return The entity information, or null if the table is not registered.
+     */
+    public EntityInfo findByTableName(String tableName) {
+        return tableName != null ? tablesByName.get(tableName) : null;
+    }
+
+    /**
+     * Finds the entity class mapped to the given table name.
+     *
+     * @param tableName The name of the table.
+     * @return The entity class, or null if the table is not registered.
+     */
+    public Class<?> findEntityClass(String tableName) {
+        return tableName != null ? classesByName.get(tableName) : null;
+    }
+
+    /**
+     * Indicates whether a table with the given name is registered.
+     *
+     * @param tableName The name of the table.
+     * @return True if the table is registered, false otherwise.
+     */
+    public boolean containsTable(String tableName) {
+        return tableName != null && tablesByName.containsKey(tableName);
+    }
+}
@@ -0,0 +1,147 @@
+package by.glebka.jpadmin.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Component collecting runtime metrics of the admin interface, exposed at {@code /admin/metrics}.
+ */
+@Component
+public class AdminMetrics {
+
+    private final Map<String, InvocationStats> computedColumns = new ConcurrentHashMap<>();
+    private final Map<String, InvocationStats> listPages = new ConcurrentHashMap<>();
+    private final Map<String, InvocationStats> exports = new ConcurrentHashMap<>();
+    private final Map<String, InvocationStats> imports = new ConcurrentHashMap<>();
+    private final InvocationStats recordCounts = new InvocationStats();
+    private final LongAdder recordCountTimeouts = new LongAdder();
+    private final LongAdder recordCountRejections = new LongAdder();
+    private final LongAdder queryShapeHits = new LongAdder();
+    private final LongAdder queryShapeMisses = new LongAdder();
+    private final LongAdder queryCancellationsSuperseded = new LongAdder();
+    private final LongAdder queryCancellationsAbandoned = new LongAdder();
+
+    /**
+     * Retrieves the timing statistics of a computed column, creating them on first access.
+     *
+     * @param entityName The simple name of the entity class.
+     * @param columnName The name of the computed column.
+     * @return The invocation statistics of the column.
+     */
+    public InvocationStats computedColumn(String entityName, String columnName) {
+        return computedColumns.computeIfAbsent(entityName + "." + columnName, key -> new InvocationStats());
+    }
+
+    /**
+     * Retrieves the timing statistics of loading a table list page together with its total, per count strategy,
+     * creating them on first access.
+     *
+     * @param entityName    The simple name of the entity class.
+     * @param countStrategy The count strategy used for the page.
+     * @return The invocation statistics of the page loads.
+     */
+    public InvocationStats listPage(String entityName, String countStrategy) {
+        return listPages.computeIfAbsent(entityName + "." + countStrategy, key -> new InvocationStats());
+    }
+
+    /**
+     * Retrieves the timing statistics of CSV exports of a table per export mode, creating them on first access.
+     *
+     * @param tableName  The name of the table.
+     * @param exportMode The export mode, such as {@code jpa} or {@code copy}.
+     * @return The invocation statistics of the exports.
+     */
+    public InvocationStats export(String tableName, String exportMode) {
+        return exports.computeIfAbsent(tableName + "." + exportMode, key -> new InvocationStats());
+    }
+
+    /**
+     * Retrieves the timing statistics of CSV imports of a table per import mode, creating them on first access.
+     *
+     * @param tableName  The name of the table.
+     * @param importMode The import mode, such as {@code insert} or {@code upsert}.
+     * @return The invocation statistics of the imports.
+     */
+    public InvocationStats importCsv(String tableName, String importMode) {
+        return imports.computeIfAbsent(tableName + "." + importMode, key -> new InvocationStats());
+    }
+
+    /**
+     * Retrieves the timing statistics of record counts run concurrently with the page query.
+     *
+     * @return The invocation statistics of concurrent record counts.
+     */
+    public InvocationStats recordCounts() {
+        return recordCounts;
+    }
+
+    public void recordCountTimedOut() {
+        recordCountTimeouts.increment();
+    }
+
+    public void recordCountRejected() {
+        recordCountRejections.increment();
+    }
+
+    public void queryShapeHit() {
+        queryShapeHits.increment();
+    }
+
+    public void queryShapeMiss() {
+        queryShapeMisses.increment();
+    }
+
+    public void queryCancelledSuperseded() {
+        queryCancellationsSuperseded.increment();
+    }
+
+    public void queryCancelledAbandoned() {
+        queryCancellationsAbandoned.increment();
+    }
+
+    /**
+     * Returns a snapshot of all metrics.
+     *
+     * @return A map of metric groups to their values.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> computed = new TreeMap<>();
+        computedColumns.forEach((name, stats) -> computed.put(name, stats.toMap()));
+
+        Map<String, Object> pages = new TreeMap<>();
+        listPages.forEach((name, stats) -> pages.put(name, stats.toMap()));
+
+        Map<String, Object> exported = new TreeMap<>();
+        exports.forEach((name, stats) -> exported.put(name, stats.toMap()));
+
+        Map<String, Object> imported = new TreeMap<>();
+        imports.forEach((name, stats) -> imported.put(name, stats.toMap()));
+
+        Map<String, Object> counts = new LinkedHashMap<>(recordCounts.toMap());
+        counts.put("timeouts", recordCountTimeouts.sum());
+        counts.put("rejections", recordCountRejections.sum());
+
+        Map<String, Object> queryShapes = new LinkedHashMap<>();
+        queryShapes.put("hits", queryShapeHits.sum());
+        queryShapes.put("misses", queryShapeMisses.sum());
+
+        Map<String, Object> queryCancellations = new LinkedHashMap<>();
+        queryCancellations.put("superseded", queryCancellationsSuperseded.sum());
+        queryCancellations.put("abandoned", queryCancellationsAbandoned.sum());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("computedColumns", computed);
+        snapshot.put("listPages", pages);
+        snapshot.put("recordCounts", counts);
+        snapshot.put("exports", exported);
+        snapshot.put("imports", imported);
+        snapshot.put("queryShapes", queryShapes);
+        snapshot.put("queryCancellations", queryCancellations);
+        return snapshot;
+    }
+}
@@ -7,19 +7,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.util.*;
 
 /**
  * Service for scanning and retrieving entity table information.
+ * The classpath is scanned once at startup and the result is kept in an immutable {@link EntityRegistry}.
  */
 @Service
-public class EntityTableService {
+public class EntityTableService implements SmartInitializingSingleton {
 
     private static final Logger logger = LoggerFactory.getLogger(EntityTableService.class);
     private static final String DEFAULT_TABLE_NAME_SUFFIX = ".toLowerCase()";
@@ -33,12 +37,111 @@ public class EntityTableService {
     @Autowired(required = false)
     private AdminConfig adminConfig;
 
+    private volatile EntityRegistry registry;
+
+    /**
+     * Builds the entity registry once all singletons, including the persistence unit, are available.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        getRegistry();
+    }
+
     /**
      * Retrieves a list of entity tables based on scanned JPA classes and configuration.
      *
-     * @return List of entity information objects.
+     * @return Unmodifiable list of entity information objects.
      */
     public List<EntityInfo> getEntityTables() {
+        return getRegistry().getTables();
+    }
+
+    /**
+     * Finds the entity information for the given table name.
+     *
+     * @param tableName The name of the table.
+     * @return The entity information, or null if the table is not registered.
+     */
+    public EntityInfo findEntityInfo(String tableName) {
+        return getRegistry().findByTableName(tableName);
+    }
+
+    /**
+     * Finds the entity class mapped to the given table name.
+     *
+     * @param tableName The name of the table.
+     * @return The entity class, or null if the table is not registered.
+     */
+    public Class<?> findEntityClass(String tableName) {
+        return getRegistry().findEntityClass(tableName);
+    }
+
+    /**
+     * Retrieves the entity class mapped to the given table name.
+     *
+     * @param tableName The name of the table.
+     * @return The entity class.
+     * @throws IllegalArgumentException If the table is not registered.
+     */
+    public Class<?> getEntityClass(String tableName) {
+        Class<?> entityClass = findEntityClass(tableName);
+        if (entityClass == null) {
+            throw new IllegalArgumentException("Table not found: " + tableName);
+        }
+        return entityClass;
+    }
+
+    /**
+     * Finds the version attribute used for optimistic locking of the entity mapped to the given table.
+     *
+     * @param tableName The name of the table.
+     * @return The name of the version attribute, or null if the table is not registered or has none.
+     */
+    public String findVersionAttribute(String tableName) {
+        EntityInfo entityInfo = findEntityInfo(tableName);
+        if (entityInfo == null || !entityInfo.getMetamodelInfo().isHasVersion()) {
+            return null;
+        }
+        for (Class<?> current = entityInfo.getMetamodelInfo().getJavaType(); current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Version.class)) {
+                    return field.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indicates whether a table with the given name is available in the admin interface.
+     *
+     * @param tableName The name of the table.
+     * @return True if the table is registered, false otherwise.
+     */
+    public boolean isTableRegistered(String tableName) {
+        return getRegistry().containsTable(tableName);
+    }
+
+    /**
+     * Returns the entity registry, building it on first access.
+     *
+     * @return The immutable entity registry.
+     */
+    public EntityRegistry getRegistry() {
+        EntityRegistry current = registry;
+        if (current == null) {
+            synchronized (this) {
+                current = registry;
+                if (current == null) {
+                    current = new EntityRegistry(scanEntityTables());
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<EntityInfo> scanEntityTables() {
         Set<Class<?>> allClasses = classScanner.scanJpaClasses();
         Map<String, EntityInfo> entityMap = buildEntityMap(allClasses);
         List<EntityInfo> tables = new ArrayList<>();
@@ -0,0 +1,55 @@
+package by.glebka.jpadmin.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe timing statistics of a repeatedly invoked operation.
+ */
+public class InvocationStats {
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a single invocation.
+     *
+     * @param nanos  The duration of the invocation in nanoseconds.
+     * @param failed Whether the invocation failed.
+     */
+    public void record(long nanos, boolean failed) {
+        invocations.increment();
+        totalNanos.add(nanos);
+        if (failed) {
+            failures.increment();
+        }
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public long getInvocations() { return invocations.sum(); }
+    public long getFailures() { return failures.sum(); }
+    public long getTotalNanos() { return totalNanos.sum(); }
+    public long getMaxNanos() { return maxNanos.get(); }
+
+    /**
+     * Returns a snapshot of the statistics with durations in microseconds.
+     *
+     * @return A map of statistic names to values.
+     */
+    public Map<String, Object> toMap() {
+        long count = getInvocations();
+        long total = getTotalNanos();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("invocations", count);
+        snapshot.put("failures", getFailures());
+        snapshot.put("totalMicros", total / 1_000);
+        snapshot.put("avgMicros", count > 0 ? total / count / 1_000.0 : 0.0);
+        snapshot.put("maxMicros", getMaxNanos() / 1_000);
+        return snapshot;
+    }
+}
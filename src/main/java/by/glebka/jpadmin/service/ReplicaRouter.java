@@ -0,0 +1,119 @@
+package by.glebka.jpadmin.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Router deciding which admin reads may be served by the read replica, when one is configured. List pages,
+ * their counts, the record details view and the JSON API request the replica for their read-only transaction;
+ * everything else, including the edit form and all writes, stays on the primary. The routing data source then
+ * sends the requested reads to the replica as long as it is not lagging behind.
+ * <p>
+ * After a write through the admin interface, the HTTP session reads from the primary for a while, so that the
+ * page the user is redirected to shows the change even if the replica has not replayed it yet.
+ */
+public class ReplicaRouter {
+
+    private static final String PRIMARY_UNTIL_ATTRIBUTE = ReplicaRouter.class.getName() + ".PRIMARY_UNTIL";
+
+    private final boolean enabled;
+    private final long stickyMillis;
+    private final ThreadLocal<Boolean> replicaRequested = new ThreadLocal<>();
+
+    /**
+     * Constructs a new ReplicaRouter.
+     *
+     * @param enabled      Whether a read replica is configured.
+     * @param stickyMillis How long a session reads from the primary after a write, in milliseconds.
+     * @throws IllegalArgumentException If the duration is negative.
+     */
+    public ReplicaRouter(boolean enabled, long stickyMillis) {
+        if (stickyMillis < 0) {
+            throw new IllegalArgumentException("Replica stickiness must not be negative");
+        }
+        this.enabled = enabled;
+        this.stickyMillis = stickyMillis;
+    }
+
+    /**
+     * Requests the replica for the current transaction. Must be called before the first statement of the
+     * transaction, as its connection is chosen then. Does nothing unless the transaction is read-only, the
+     * request is a GET or HEAD request and the session has not written recently.
+     *
+     * @return True if the replica was requested.
+     */
+    public boolean useReplicaForTransaction() {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !isReplicaAllowed()) {
+            return false;
+        }
+        replicaRequested.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                replicaRequested.remove();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Runs work outside a transaction, such as a concurrent count, on the replica if its read requested it.
+     *
+     * @param replica Whether the read the work belongs to requested the replica.
+     * @param work    The work, acquiring its connection while it runs.
+     * @return The result of the work.
+     */
+    public <V> V runOnReplica(boolean replica, Supplier<V> work) {
+        if (!replica) {
+            return work.get();
+        }
+        replicaRequested.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            replicaRequested.remove();
+        }
+    }
+
+    /**
+     * Indicates whether the connections acquired by the current thread are requested from the replica.
+     *
+     * @return True if the replica is requested.
+     */
+    public boolean isReplicaRequested() {
+        return replicaRequested.get() != null;
+    }
+
+    /**
+     * Makes the current session read from the primary for the configured duration. Does nothing outside
+     * a request, such as in background bulk jobs.
+     */
+    public void stickToPrimary() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (enabled && stickyMillis > 0 && requestAttributes != null) {
+            requestAttributes.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, System.currentTimeMillis() + stickyMillis,
+                    RequestAttributes.SCOPE_SESSION);
+        }
+    }
+
+    private boolean isReplicaAllowed() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return true;
+        }
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            String method = servletRequestAttributes.getRequest().getMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                return false;
+            }
+        }
+        Object primaryUntil = requestAttributes.getAttribute(PRIMARY_UNTIL_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
+        return !(primaryUntil instanceof Long until) || until < System.currentTimeMillis();
+    }
+}
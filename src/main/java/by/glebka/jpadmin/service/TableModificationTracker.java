@@ -0,0 +1,98 @@
+package by.glebka.jpadmin.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Component counting the writes made through the admin interface per table, so that pages can be revalidated
+ * with ETags without querying the database. Counters start over on every application start; the start time
+ * is part of every tag so that tags issued before a restart never match.
+ * <p>
+ * Only writes made through JPAdmin are counted. Pages of tables also written by other applications may be
+ * served from the client cache until the next write through JPAdmin.
+ * <p>
+ * A write also makes the session of the current request read from the primary database for a while, if a read
+ * replica is configured.
+ */
+@Component
+public class TableModificationTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> modifications = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    /**
+     * Records a write to a table. Inside a transaction, the counter is also bumped once the transaction has
+     * completed, so that a page read before the commit is not cached under the new tag.
+     *
+     * @param tableName The name of the table.
+     */
+    public void markModified(String tableName) {
+        bump(tableName);
+        replicaRouter.stickToPrimary();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(tableName);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the number of writes recorded for a table since the application started.
+     *
+     * @param tableName The name of the table.
+     * @return The modification count.
+     */
+    public long getModificationCount(String tableName) {
+        AtomicLong counter = modifications.get(tableName);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Builds a weak ETag for pages showing a table, changing with every write to the table or to a related table.
+     * The count of every related table is part of the tag, in table name order, so that two different write
+     * histories never share a tag.
+     *
+     * @param tableName     The name of the table.
+     * @param relatedTables The tables whose data the page also shows, such as collection sizes.
+     * @return The ETag, including quotes.
+     */
+    public String getTableETag(String tableName, Collection<String> relatedTables) {
+        StringBuilder tag = new StringBuilder("W/\"t-").append(epoch).append('-').append(getModificationCount(tableName));
+        for (String relatedTable : new TreeSet<>(relatedTables)) {
+            if (!relatedTable.equals(tableName)) {
+                tag.append('.').append(getModificationCount(relatedTable));
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Builds a weak ETag for a page showing a single record.
+     *
+     * @param tableName The name of the table.
+     * @param id        The ID of the record.
+     * @param version   The value of the version attribute of the record.
+     * @return The ETag, including quotes.
+     */
+    public String getRecordETag(String tableName, Object id, Object version) {
+        return "W/\"r-" + epoch + "-" + Integer.toHexString((tableName + "/" + id).hashCode()) + "-" + version + "\"";
+    }
+
+    private void bump(String tableName) {
+        modifications.computeIfAbsent(tableName, key -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,347 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.exception.QueryCancelledException;
+import by.glebka.jpadmin.service.AdminMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the admin reads in flight, so that their running statements can be cancelled when a newer
+ * request from the same browser tab replaces them or their request ends first. A read runs under an
+ * {@link ActiveQuery}; the connections it queries on are attached to it while they are held, and cancelling
+ * the read sends a PostgreSQL cancel request for each, as {@code Statement.cancel()} does.
+ * <p>
+ * Requests are tracked with {@link #track}, which runs them asynchronously. A request replaces the running
+ * request with the same {@value #PAGE_TOKEN_PARAMETER} parameter for the same path. The token is generated per
+ * browser tab by the list page, rather than taken from the HTTP session: admin pages create no session, and
+ * two tabs of one session showing the same table must not cancel each other. Requests without a token are
+ * never replaced. Connections are detached before they are released, so that a cancellation never reaches
+ * a connection that has gone back to the pool. Cancellations are reported to {@link AdminMetrics}.
+ * <p>
+ * A request ends before its read when the servlet container reports an error on it, as it does for a client
+ * whose connection it has found closed, or when its asynchronous timeout expires. The read is then cancelled
+ * at once. Containers notice a closed connection only when reading from or writing to it, and nothing is
+ * written before the read completes, so the timeout bounds how long the read of a client that disconnected
+ * silently keeps running.
+ */
+public class ActiveQueryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveQueryRegistry.class);
+    public static final String PAGE_TOKEN_PARAMETER = "pageToken";
+    private static final int MAX_PAGE_TOKEN_LENGTH = 64;
+
+    private final long asyncTimeoutMillis;
+    private final Map<String, ActiveQuery> activeQueries = new ConcurrentHashMap<>();
+    private final ThreadLocal<ActiveQuery> currentQuery = new ThreadLocal<>();
+
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    /**
+     * Reasons for cancelling a read.
+     */
+    public enum CancelReason {
+        /**
+         * A newer request from the same browser tab for the same page replaced the read.
+         */
+        SUPERSEDED,
+
+        /**
+         * The request ended before the read, because the container reported an error on it or its
+         * asynchronous timeout expired.
+         */
+        ABANDONED,
+
+        /**
+         * The caller stopped waiting for the read, as a page does for a count exceeding its timeout.
+         */
+        TIMED_OUT
+    }
+
+    /**
+     * Constructs a new ActiveQueryRegistry.
+     *
+     * @param asyncTimeoutMillis The asynchronous timeout of tracked requests, in milliseconds.
+     * @throws IllegalArgumentException If the timeout is not positive.
+     */
+    public ActiveQueryRegistry(long asyncTimeoutMillis) {
+        if (asyncTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Async timeout must be positive");
+        }
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    /**
+     * Wraps the work of a request into an asynchronous task tracked as an admin read. The read is abandoned as
+     * soon as the container reports an error or a timeout of the request, and otherwise when the request
+     * completes; the container's own handling of the error or timeout then answers the request. The task keeps
+     * the request attributes of the request, so that the work can still build URLs from the current request.
+     *
+     * @param request The request, replacing the running request with the same page token and path.
+     * @param work    The work of the request.
+     * @return The task to return from the handler method.
+     */
+    public <V> WebAsyncTask<V> track(HttpServletRequest request, Callable<V> work) {
+        ActiveQuery query = start(getOwnerKey(request));
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        WebAsyncTask<V> task = new WebAsyncTask<>(asyncTimeoutMillis, () -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return run(query, work);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        task.onTimeout(abandoning(query));
+        task.onError(abandoning(query));
+        task.onCompletion(() -> abandon(query));
+        return task;
+    }
+
+    /**
+     * Registers a new read, cancelling the read it replaces.
+     *
+     * @param ownerKey The key of the tab and page the read belongs to, or null if it replaces no read.
+     * @return The read.
+     */
+    public ActiveQuery start(String ownerKey) {
+        ActiveQuery query = new ActiveQuery(ownerKey);
+        ActiveQuery replaced = ownerKey != null ? activeQueries.put(ownerKey, query) : null;
+        if (replaced != null) {
+            cancel(replaced, CancelReason.SUPERSEDED);
+        }
+        return query;
+    }
+
+    /**
+     * Runs the work of a read on the current thread, making it the current read.
+     *
+     * @param query The read.
+     * @param work  The work.
+     * @return The result of the work.
+     * @throws QueryCancelledException If the read is cancelled before or while it runs.
+     * @throws Exception               If the work fails.
+     */
+    public <V> V run(ActiveQuery query, Callable<V> work) throws Exception {
+        currentQuery.set(query);
+        try {
+            query.checkNotCancelled();
+            return work.call();
+        } catch (RuntimeException e) {
+            if (query.getCancelReason() != null && !(e instanceof QueryCancelledException)) {
+                throw new QueryCancelledException("Request cancelled: " + query.getCancelReason(), e);
+            }
+            throw e;
+        } finally {
+            currentQuery.remove();
+            query.finish();
+            unregister(query);
+        }
+    }
+
+    /**
+     * Cancels a read that is still running when its request completes.
+     *
+     * @param query The read.
+     */
+    public void abandon(ActiveQuery query) {
+        unregister(query);
+        cancel(query, CancelReason.ABANDONED);
+    }
+
+    /**
+     * Cancels a read that its caller stopped waiting for. Timeouts are reported to {@link AdminMetrics}
+     * by the caller rather than as cancellations.
+     *
+     * @param query The read.
+     */
+    public void timeOut(ActiveQuery query) {
+        unregister(query);
+        cancel(query, CancelReason.TIMED_OUT);
+    }
+
+    /**
+     * Returns the read running on the current thread.
+     *
+     * @return The read, or null if the thread is not running a tracked read.
+     */
+    public ActiveQuery current() {
+        return currentQuery.get();
+    }
+
+    /**
+     * Attaches the connection of the current transaction to the current read until the transaction completes.
+     * Does nothing if the thread is not running a tracked read or no transaction is active, as the connection
+     * might then be released while attached.
+     *
+     * @param em The entity manager taking part in the transaction.
+     * @throws QueryCancelledException If the read has been cancelled.
+     */
+    public void attach(EntityManager em) {
+        ActiveQuery query = currentQuery.get();
+        if (query == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Connection connection = getPhysicalConnection(em);
+        query.attach(connection);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                query.detach(connection);
+            }
+        });
+    }
+
+    /**
+     * Runs work of a read on an entity manager of another thread, such as a concurrent count, with its
+     * connection attached to the read. The entity manager must hold its connection until it is closed, as
+     * with Spring's default connection handling.
+     *
+     * @param query The read, or null if the work is not tracked.
+     * @param em    The entity manager the work queries with.
+     * @param work  The work.
+     * @return The result of the work.
+     * @throws QueryCancelledException If the read has been cancelled.
+     */
+    public <V> V runAttached(ActiveQuery query, EntityManager em, Supplier<V> work) {
+        if (query == null) {
+            return work.get();
+        }
+        Connection connection = getPhysicalConnection(em);
+        query.attach(connection);
+        try {
+            return work.get();
+        } finally {
+            query.detach(connection);
+        }
+    }
+
+    /**
+     * Builds a timeout or error callback of a tracked request, which abandons its read and leaves the request
+     * to the default handling.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> Callable<V> abandoning(ActiveQuery query) {
+        return () -> {
+            abandon(query);
+            return (V) CallableProcessingInterceptor.RESULT_NONE;
+        };
+    }
+
+    /**
+     * Builds the key of the tab and page of a request from its page token, ignoring tokens too long to be
+     * generated by the list page.
+     */
+    private String getOwnerKey(HttpServletRequest request) {
+        String pageToken = request.getParameter(PAGE_TOKEN_PARAMETER);
+        if (pageToken == null || pageToken.isBlank() || pageToken.length() > MAX_PAGE_TOKEN_LENGTH) {
+            return null;
+        }
+        return pageToken + " " + request.getRequestURI();
+    }
+
+    /**
+     * Retrieves the connection of an entity manager, resolving lazy connection proxies so that a cancellation
+     * never has to acquire a connection.
+     */
+    private Connection getPhysicalConnection(EntityManager em) {
+        Connection connection = em.unwrap(Session.class).doReturningWork(c -> c);
+        return connection instanceof ConnectionProxy proxy ? proxy.getTargetConnection() : connection;
+    }
+
+    private void unregister(ActiveQuery query) {
+        if (query.ownerKey != null) {
+            activeQueries.remove(query.ownerKey, query);
+        }
+    }
+
+    private void cancel(ActiveQuery query, CancelReason reason) {
+        if (query.cancel(reason)) {
+            logger.debug("Cancelled admin read of {}: {}", query.ownerKey, reason);
+            if (reason == CancelReason.SUPERSEDED) {
+                adminMetrics.queryCancelledSuperseded();
+            } else if (reason == CancelReason.ABANDONED) {
+                adminMetrics.queryCancelledAbandoned();
+            }
+        }
+    }
+
+    /**
+     * An admin read in flight and the connections it currently queries on.
+     */
+    public static final class ActiveQuery {
+        private final String ownerKey;
+        private final List<Connection> connections = new ArrayList<>();
+        private CancelReason cancelReason;
+        private boolean finished;
+
+        private ActiveQuery(String ownerKey) {
+            this.ownerKey = ownerKey;
+        }
+
+        public synchronized CancelReason getCancelReason() {
+            return cancelReason;
+        }
+
+        private synchronized void checkNotCancelled() {
+            if (cancelReason != null) {
+                throw new QueryCancelledException("Request cancelled: " + cancelReason);
+            }
+        }
+
+        private synchronized void attach(Connection connection) {
+            checkNotCancelled();
+            connections.add(connection);
+        }
+
+        private synchronized void detach(Connection connection) {
+            connections.remove(connection);
+        }
+
+        private synchronized void finish() {
+            finished = true;
+            connections.clear();
+        }
+
+        /**
+         * Cancels the read and the statements running on its connections.
+         *
+         * @return True if the read was still running.
+         */
+        private synchronized boolean cancel(CancelReason reason) {
+            if (finished || cancelReason != null) {
+                return false;
+            }
+            cancelReason = reason;
+            for (Connection connection : connections) {
+                try {
+                    connection.unwrap(PGConnection.class).cancelQuery();
+                } catch (SQLException e) {
+                    logger.warn("Failed to cancel admin read of {}: {}", ownerKey, e.getMessage());
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package by.glebka.jpadmin.service.record;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk operation running in the background over the records of a table that match a filter.
+ * The job is updated by the worker thread after each chunk and read by status requests.
+ */
+public class BulkJob {
+
+    /**
+     * State of a bulk job.
+     */
+    public enum Status {
+        /** Waiting for the worker thread. */
+        QUEUED,
+        /** Processing chunks. */
+        RUNNING,
+        /** All matching records were processed. */
+        COMPLETED,
+        /** A chunk failed; the chunks before it remain committed. */
+        FAILED
+    }
+
+    private final String id;
+    private final String tableName;
+    private final String description;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong processed = new AtomicLong();
+    private volatile long total = -1;
+    private volatile Status status = Status.QUEUED;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    BulkJob(String id, String tableName, String description) {
+        this.id = id;
+        this.tableName = tableName;
+        this.description = description;
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.status = Status.RUNNING;
+    }
+
+    void addProcessed(long count) {
+        processed.addAndGet(count);
+    }
+
+    void complete() {
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    public String getId() { return id; }
+    public String getTableName() { return tableName; }
+    public String getDescription() { return description; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public long getProcessed() { return processed.get(); }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+
+    /**
+     * Returns the number of records matching the filter when the job started.
+     *
+     * @return The total, or -1 while it is not yet known.
+     */
+    public long getTotal() { return total; }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * Returns the progress as a percentage of the total. Records that started matching the filter after the
+     * job started are processed as well, so the processed count may exceed the total.
+     *
+     * @return The percentage between 0 and 100.
+     */
+    public int getPercent() {
+        if (status == Status.COMPLETED) return 100;
+        if (total <= 0) return 0;
+        return (int) Math.min(100, processed.get() * 100 / total);
+    }
+
+    /**
+     * Returns the time the job has been running, or ran until it finished.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(createdAt, end).toMillis();
+    }
+}
@@ -0,0 +1,81 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.InvocationStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Timed invoker of a computed column. Wraps either a {@link by.glebka.jpadmin.annotation.ComputedColumn}
+ * method, bound once as a {@link MethodHandle}, or the value function of a configured computed column.
+ * Failures are logged and produce a null value, as for any unreadable column.
+ */
+public final class ComputedColumnInvoker implements Function<Object, Object> {
+    private static final Logger logger = LoggerFactory.getLogger(ComputedColumnInvoker.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String name;
+    private final MethodHandle handle;
+    private final Function<Object, Object> function;
+    private final InvocationStats stats;
+
+    private ComputedColumnInvoker(String name, MethodHandle handle, Function<Object, Object> function, InvocationStats stats) {
+        this.name = name;
+        this.handle = handle;
+        this.function = function;
+        this.stats = stats;
+    }
+
+    /**
+     * Binds a no-argument instance method of the entity.
+     *
+     * @param name   The column name.
+     * @param method The computed column method.
+     * @param stats  The statistics to record invocations in.
+     * @return The invoker.
+     * @throws IllegalArgumentException If the method is not an accessible no-argument instance method.
+     */
+    static ComputedColumnInvoker forMethod(String name, Method method, InvocationStats stats) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(INVOKER_TYPE);
+            return new ComputedColumnInvoker(name, handle, null, stats);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot bind computed column " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wraps the value function of a configured computed column.
+     *
+     * @param name     The column name.
+     * @param function The value function.
+     * @param stats    The statistics to record invocations in.
+     * @return The invoker.
+     */
+    static ComputedColumnInvoker forFunction(String name, Function<Object, Object> function, InvocationStats stats) {
+        return new ComputedColumnInvoker(name, null, function, stats);
+    }
+
+    public InvocationStats getStats() { return stats; }
+
+    @Override
+    public Object apply(Object entity) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return handle != null ? (Object) handle.invokeExact(entity) : function.apply(entity);
+        } catch (Throwable e) {
+            failed = true;
+            logger.warn("Failed to compute column {}: {}", name, e.getMessage());
+            return null;
+        } finally {
+            stats.record(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package by.glebka.jpadmin.service.record;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV reader, the counterpart of {@link CsvWriter}. Quoted fields may contain separators,
+ * doubled quotes and line breaks. Blank lines are skipped and a leading byte order mark is ignored.
+ */
+public class CsvReader {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private int line = 1;
+    private int rowLine;
+    private int pending = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return The fields of the row, or null at the end of the input.
+     * @throws IllegalArgumentException If a quoted field is not terminated.
+     * @throws UncheckedIOException     If reading fails.
+     */
+    public List<String> readRow() {
+        try {
+            int c = next();
+            if (c == BYTE_ORDER_MARK && line == 1) {
+                c = next();
+            }
+            while (c == '\r' || c == '\n') {
+                c = skipLineBreak(c);
+            }
+            if (c == -1) {
+                return null;
+            }
+            rowLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting on line " + rowLine);
+                    }
+                    if (c == QUOTE) {
+                        int following = next();
+                        if (following == QUOTE) {
+                            field.append(QUOTE);
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == SEPARATOR) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    if (c != -1) {
+                        pending = skipLineBreak(c);
+                    }
+                    return fields;
+                } else if (c == QUOTE && field.length() == 0) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV input", e);
+        }
+    }
+
+    /**
+     * Returns the line on which the row last returned by {@link #readRow()} starts.
+     *
+     * @return The one-based line number.
+     */
+    public int getRowLine() {
+        return rowLine;
+    }
+
+    private int next() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int skipLineBreak(int c) throws IOException {
+        line++;
+        int following = next();
+        return c == '\r' && following == '\n' ? next() : following;
+    }
+}
@@ -0,0 +1,69 @@
+package by.glebka.jpadmin.service.record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV writer. Values containing separators, quotes or line breaks are quoted,
+ * quotes are doubled and null values are written as empty fields.
+ */
+public class CsvWriter {
+    private static final char SEPARATOR = ',';
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a single row.
+     *
+     * @param values The values of the row, converted with {@link String#valueOf(Object)}.
+     * @throws UncheckedIOException If writing fails, for example because the client disconnected.
+     */
+    public void writeRow(List<?> values) {
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(SEPARATOR);
+                }
+                Object value = values.get(i);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV row", e);
+        }
+    }
+
+    /**
+     * Flushes the rows written so far to the underlying writer.
+     *
+     * @throws UncheckedIOException If flushing fails.
+     */
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush CSV output", e);
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,200 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.TableConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, precompiled metadata of a single entity shared by the record services.
+ * Holds both the record (form) view collected from field annotations and the list view resolved
+ * against the {@link TableConfig} of the entity.
+ */
+public class EntityDescriptor {
+    private final Class<?> entityClass;
+    private final TableConfig tableConfig;
+    private final FieldAccessor idAccessor;
+
+    private final Set<String> fields;
+    private final List<String> simpleFields;
+    private final Map<String, Boolean> isCollectionField;
+    private final Map<String, String> embeddedFieldPaths;
+    private final Map<String, String> fieldTypes;
+    private final Map<String, Boolean> nullableFields;
+    private final Map<String, String> foreignKeyFields;
+    private final Map<String, String> foreignKeyColumnNames;
+    private final Map<String, String> oneToManyFields;
+    private final Map<String, String> manyToManyFields;
+    private final Map<String, FieldWriter> fieldWriters;
+
+    private final Set<String> displayFields;
+    private final Map<String, String> displayNames;
+    private final Map<String, String> listFieldTypes;
+    private final Map<String, String> listEmbeddedFieldPaths;
+    private final Map<String, Function<Object, Object>> computedColumns;
+    private final List<ListColumn> listColumns;
+    private final Map<String, ListColumn> listColumnsByName;
+    private final boolean projectable;
+    private final Set<String> filterableFields;
+    private final Map<String, String> filterFields;
+    private final Map<String, String> inverseFilterFields;
+    private final Map<String, String> relationFilterFields;
+
+    /**
+     * Constructs a new EntityDescriptor. All collections are wrapped as unmodifiable views and must not be
+     * modified by the caller afterwards.
+     *
+     * @param entityClass           The entity class.
+     * @param tableConfig           The table configuration, or null if the table is not customized.
+     * @param idAccessor            The accessor of the ID field, or null if the entity has no "id" field.
+     * @param fields                All persistent fields in declaration order, ID first.
+     * @param simpleFields          Fields that are neither the ID nor relationships.
+     * @param isCollectionField     Map indicating whether a field is a collection.
+     * @param embeddedFieldPaths    Map of embedded field names to their paths.
+     * @param fieldTypes            Map of field names to their Java type names.
+     * @param nullableFields        Map of field names to their nullable status.
+     * @param foreignKeyFields      Map of foreign key fields to their target table names.
+     * @param foreignKeyColumnNames Map of foreign key fields to their column names.
+     * @param oneToManyFields       Map of OneToMany fields to their target table names.
+     * @param manyToManyFields      Map of ManyToMany fields to their target table names.
+     * @param fieldWriters          Map of writable form fields to their precompiled write plans.
+     * @param displayFields         Fields shown in the table list, in display order.
+     * @param displayNames          Map of list fields to their display names.
+     * @param listFieldTypes        Map of list fields to their Java type names.
+     * @param listEmbeddedFieldPaths Map of embedded list fields to their paths.
+     * @param computedColumns       Map of computed list columns to their value functions.
+     * @param listColumns           Precompiled value readers of the list fields, in display order.
+     * @param filterableFields      Fields that can be filtered and sorted on.
+     * @param filterFields          Map of filter display names to field names.
+     * @param inverseFilterFields   Map of field names to filter display names.
+     * @param relationFilterFields  Map of relationship fields to the column used to filter the related table.
+     */
+    EntityDescriptor(Class<?> entityClass, TableConfig tableConfig, FieldAccessor idAccessor,
+                     Set<String> fields, List<String> simpleFields, Map<String, Boolean> isCollectionField,
+                     Map<String, String> embeddedFieldPaths, Map<String, String> fieldTypes,
+                     Map<String, Boolean> nullableFields, Map<String, String> foreignKeyFields,
+                     Map<String, String> foreignKeyColumnNames, Map<String, String> oneToManyFields,
+                     Map<String, String> manyToManyFields, Map<String, FieldWriter> fieldWriters,
+                     Set<String> displayFields,
+                     Map<String, String> displayNames, Map<String, String> listFieldTypes,
+                     Map<String, String> listEmbeddedFieldPaths, Map<String, Function<Object, Object>> computedColumns,
+                     List<ListColumn> listColumns, Set<String> filterableFields, Map<String, String> filterFields,
+                     Map<String, String> inverseFilterFields, Map<String, String> relationFilterFields) {
+        this.entityClass = entityClass;
+        this.tableConfig = tableConfig;
+        this.idAccessor = idAccessor;
+        this.fields = Collections.unmodifiableSet(fields);
+        this.simpleFields = Collections.unmodifiableList(simpleFields);
+        this.isCollectionField = Collections.unmodifiableMap(isCollectionField);
+        this.embeddedFieldPaths = Collections.unmodifiableMap(embeddedFieldPaths);
+        this.fieldTypes = Collections.unmodifiableMap(fieldTypes);
+        this.nullableFields = Collections.unmodifiableMap(nullableFields);
+        this.foreignKeyFields = Collections.unmodifiableMap(foreignKeyFields);
+        this.foreignKeyColumnNames = Collections.unmodifiableMap(foreignKeyColumnNames);
+        this.oneToManyFields = Collections.unmodifiableMap(oneToManyFields);
+        this.manyToManyFields = Collections.unmodifiableMap(manyToManyFields);
+        this.fieldWriters = Collections.unmodifiableMap(fieldWriters);
+        this.displayFields = Collections.unmodifiableSet(displayFields);
+        this.displayNames = Collections.unmodifiableMap(displayNames);
+        this.listFieldTypes = Collections.unmodifiableMap(listFieldTypes);
+        this.listEmbeddedFieldPaths = Collections.unmodifiableMap(listEmbeddedFieldPaths);
+        this.computedColumns = Collections.unmodifiableMap(computedColumns);
+        this.listColumns = List.copyOf(listColumns);
+        Map<String, ListColumn> columnsByName = new HashMap<>();
+        for (ListColumn column : listColumns) {
+            columnsByName.put(column.getName(), column);
+        }
+        this.listColumnsByName = Collections.unmodifiableMap(columnsByName);
+        this.projectable = listColumns.stream().allMatch(column ->
+                column.isSelectable() || column.isCollectionSize() || column.getKind() == ListColumn.Kind.UNRESOLVED);
+        this.filterableFields = Collections.unmodifiableSet(filterableFields);
+        this.filterFields = Collections.unmodifiableMap(filterFields);
+        this.inverseFilterFields = Collections.unmodifiableMap(inverseFilterFields);
+        this.relationFilterFields = Collections.unmodifiableMap(relationFilterFields);
+    }
+
+    public Class<?> getEntityClass() { return entityClass; }
+    public TableConfig getTableConfig() { return tableConfig; }
+    public FieldAccessor getIdAccessor() { return idAccessor; }
+
+    public Set<String> getFields() { return fields; }
+    public List<String> getSimpleFields() { return simpleFields; }
+    public Map<String, Boolean> getIsCollectionField() { return isCollectionField; }
+    public Map<String, String> getEmbeddedFieldPaths() { return embeddedFieldPaths; }
+    public Map<String, String> getFieldTypes() { return fieldTypes; }
+    public Map<String, Boolean> getNullableFields() { return nullableFields; }
+    public Map<String, String> getForeignKeyFields() { return foreignKeyFields; }
+    public Map<String, String> getForeignKeyColumnNames() { return foreignKeyColumnNames; }
+    public Map<String, String> getOneToManyFields() { return oneToManyFields; }
+    public Map<String, String> getManyToManyFields() { return manyToManyFields; }
+    public Map<String, FieldWriter> getFieldWriters() { return fieldWriters; }
+
+    public Set<String> getDisplayFields() { return displayFields; }
+    public Map<String, String> getDisplayNames() { return displayNames; }
+    public Map<String, String> getListFieldTypes() { return listFieldTypes; }
+    public Map<String, String> getListEmbeddedFieldPaths() { return listEmbeddedFieldPaths; }
+    public Map<String, Function<Object, Object>> getComputedColumns() { return computedColumns; }
+    public List<ListColumn> getListColumns() { return listColumns; }
+
+    /**
+     * Retrieves the list column with the given name.
+     *
+     * @param name The field name of the column.
+     * @return The list column, or null if the field is not displayed in the list.
+     */
+    public ListColumn getListColumn(String name) {
+        return name != null ? listColumnsByName.get(name) : null;
+    }
+
+    /**
+     * Indicates whether the table list can be loaded with a projection query over the displayed columns
+     * instead of full entities. This is the case unless a list column needs the entity instance, such as
+     * a computed column. Collection sizes are counted separately and do not prevent projection.
+     *
+     * @return True if the list can be projected, false otherwise.
+     */
+    public boolean isProjectable() { return projectable; }
+    public Set<String> getFilterableFields() { return filterableFields; }
+    public Map<String, String> getFilterFields() { return filterFields; }
+    public Map<String, String> getInverseFilterFields() { return inverseFilterFields; }
+    public Map<String, String> getRelationFilterFields() { return relationFilterFields; }
+
+    /**
+     * Indicates whether the list can be sorted by the given field.
+     *
+     * @param field The field name.
+     * @return True if the field is sortable, false otherwise.
+     */
+    public boolean isSortable(String field) {
+        return field != null && filterableFields.contains(field);
+    }
+
+    /**
+     * Retrieves the precompiled write plan of a form field.
+     *
+     * @param field The field name or embedded field path.
+     * @return The field writer.
+     * @throws NoSuchFieldException If the field is not a writable field of the entity.
+     */
+    public FieldWriter getFieldWriter(String field) throws NoSuchFieldException {
+        FieldWriter writer = fieldWriters.get(field);
+        if (writer == null) {
+            throw new NoSuchFieldException(field);
+        }
+        return writer;
+    }
+
+    /**
+     * Indicates whether the given field is a OneToMany or ManyToMany collection.
+     *
+     * @param field The field name.
+     * @return True if the field is a collection relationship, false otherwise.
+     */
+    public boolean isCollectionRelation(String field) {
+        return oneToManyFields.containsKey(field) || manyToManyFields.containsKey(field);
+    }
+}
@@ -0,0 +1,354 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.annotation.ComputedColumn;
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.ColumnConfig;
+import by.glebka.jpadmin.config.TableConfig;
+import by.glebka.jpadmin.scanner.AttributeInfo;
+import by.glebka.jpadmin.scanner.EntityInfo;
+import by.glebka.jpadmin.scanner.MetamodelAnalyzer;
+import by.glebka.jpadmin.service.AdminMetrics;
+import by.glebka.jpadmin.service.EntityTableService;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Component that builds an {@link EntityDescriptor} once per entity class and shares it between requests.
+ */
+@Component
+public class EntityDescriptorCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityDescriptorCache.class);
+    private static final Set<Class<?>> ALLOWED_JAVA_TYPES = initializeAllowedJavaTypes();
+
+    private final Map<Class<?>, EntityDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EntityTableService entityTableService;
+
+    @Autowired
+    private MetamodelAnalyzer metamodelAnalyzer;
+
+    @Autowired
+    private FieldUtils fieldUtils;
+
+    @Autowired
+    private FieldValueSetter fieldValueSetter;
+
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    @Autowired(required = false)
+    private AdminConfig adminConfig;
+
+    /**
+     * Retrieves the descriptor of the entity mapped to the given table.
+     *
+     * @param tableName The name of the table.
+     * @return The entity descriptor.
+     * @throws IllegalArgumentException If the table is not registered.
+     */
+    public EntityDescriptor getDescriptor(String tableName) {
+        return getDescriptor(entityTableService.getEntityClass(tableName));
+    }
+
+    /**
+     * Retrieves the descriptor of the given entity class, building it on first access.
+     *
+     * @param entityClass The entity class.
+     * @return The entity descriptor.
+     */
+    public EntityDescriptor getDescriptor(Class<?> entityClass) {
+        return descriptors.computeIfAbsent(entityClass, this::buildDescriptor);
+    }
+
+    private static Set<Class<?>> initializeAllowedJavaTypes() {
+        return Set.of(
+                Short.class, short.class, Integer.class, int.class, Long.class, long.class,
+                Float.class, float.class, Double.class, double.class, BigDecimal.class,
+                String.class, Boolean.class, boolean.class,
+                LocalDate.class, LocalTime.class, LocalDateTime.class,
+                ZonedDateTime.class, Instant.class, UUID.class
+        );
+    }
+
+    private EntityDescriptor buildDescriptor(Class<?> entityClass) {
+        logger.debug("Building descriptor for entity {}", entityClass.getSimpleName());
+
+        Set<String> fields = new LinkedHashSet<>();
+        Map<String, Boolean> isCollectionField = new HashMap<>();
+        Map<String, String> embeddedFieldPaths = new HashMap<>();
+        Map<String, String> fieldTypes = new HashMap<>();
+        Map<String, Boolean> nullableFields = new HashMap<>();
+        Map<String, String> foreignKeyFields = new HashMap<>();
+        Map<String, String> foreignKeyColumnNames = new HashMap<>();
+        Map<String, String> oneToManyFields = new HashMap<>();
+        Map<String, String> manyToManyFields = new HashMap<>();
+        fieldUtils.collectFieldTypes(entityClass, fields, isCollectionField, embeddedFieldPaths, fieldTypes,
+                nullableFields, foreignKeyFields, foreignKeyColumnNames, oneToManyFields, manyToManyFields);
+
+        List<String> simpleFields = new ArrayList<>();
+        for (String field : fields) {
+            if (!"id".equals(field) && !oneToManyFields.containsKey(field) && !manyToManyFields.containsKey(field)
+                    && !foreignKeyFields.containsKey(field)) {
+                simpleFields.add(field);
+            }
+        }
+
+        Map<String, FieldWriter> fieldWriters = new HashMap<>();
+        for (String field : fields) {
+            if (!oneToManyFields.containsKey(field) && !manyToManyFields.containsKey(field)) {
+                buildWriter(entityClass, field, embeddedFieldPaths.getOrDefault(field, field), fieldWriters);
+            }
+        }
+
+        TableConfig tableConfig = adminConfig != null ? adminConfig.getTableConfig(entityClass) : null;
+        Set<String> displayFields = new LinkedHashSet<>();
+        Map<String, String> displayNames = new HashMap<>();
+        Map<String, String> listFieldTypes = new HashMap<>(fieldTypes);
+        Map<String, String> listEmbeddedFieldPaths = new HashMap<>(embeddedFieldPaths);
+        Map<String, Function<Object, Object>> computedColumns = new HashMap<>();
+        if (tableConfig != null && tableConfig.getColumns() != null) {
+            for (ColumnConfig column : tableConfig.getColumns()) {
+                String fieldName = column.getFieldName();
+                if (!isRelationField(entityClass, fieldName)) {
+                    displayFields.add(fieldName);
+                    displayNames.put(fieldName, column.getDisplayName() != null ? column.getDisplayName() : fieldName);
+                    updateFieldType(entityClass, fieldName, listFieldTypes);
+                }
+                if (column.isComputed()) {
+                    computedColumns.put(fieldName, ComputedColumnInvoker.forFunction(fieldName, column.getComputedValue(),
+                            adminMetrics.computedColumn(entityClass.getSimpleName(), fieldName)));
+                }
+            }
+        } else {
+            processFieldsAndMethods(entityClass, displayFields, displayNames, computedColumns, listEmbeddedFieldPaths, listFieldTypes);
+        }
+
+        List<ListColumn> listColumns = new ArrayList<>();
+        for (String fieldName : displayFields) {
+            listColumns.add(buildListColumn(entityClass, fieldName, listEmbeddedFieldPaths, computedColumns,
+                    oneToManyFields, manyToManyFields));
+        }
+
+        Set<String> filterableFields = collectFilterableFields(entityClass, tableConfig, computedColumns);
+        Map<String, String> filterFields = new LinkedHashMap<>();
+        Map<String, String> inverseFilterFields = new HashMap<>();
+        for (String fieldName : filterableFields) {
+            String displayName = displayNames.getOrDefault(fieldName, fieldName);
+            filterFields.put(displayName, fieldName);
+            inverseFilterFields.put(fieldName, displayName);
+        }
+
+        return new EntityDescriptor(entityClass, tableConfig, buildIdAccessor(entityClass), fields, simpleFields, isCollectionField,
+                embeddedFieldPaths, fieldTypes, nullableFields, foreignKeyFields, foreignKeyColumnNames,
+                oneToManyFields, manyToManyFields, fieldWriters, displayFields, displayNames, listFieldTypes,
+                listEmbeddedFieldPaths, computedColumns, listColumns, filterableFields, filterFields, inverseFilterFields,
+                metamodelAnalyzer.getFilterFields(entityClass));
+    }
+
+    private FieldAccessor buildIdAccessor(Class<?> entityClass) {
+        try {
+            return buildAccessor(entityClass, "id");
+        } catch (NoSuchFieldException | IllegalArgumentException e) {
+            logger.debug("No readable id field in entity {}", entityClass.getSimpleName());
+            return null;
+        }
+    }
+
+    private ListColumn buildListColumn(Class<?> entityClass, String fieldName, Map<String, String> embeddedFieldPaths,
+                                       Map<String, Function<Object, Object>> computedColumns,
+                                       Map<String, String> oneToManyFields, Map<String, String> manyToManyFields) {
+        try {
+            if (embeddedFieldPaths.containsKey(fieldName)) {
+                return ListColumn.value(fieldName, buildAccessor(entityClass, embeddedFieldPaths.get(fieldName)));
+            } else if (computedColumns.containsKey(fieldName)) {
+                return ListColumn.computed(fieldName, computedColumns.get(fieldName));
+            } else if (oneToManyFields.containsKey(fieldName) || manyToManyFields.containsKey(fieldName)) {
+                fieldUtils.getFieldFromHierarchy(entityClass, fieldName);
+                return ListColumn.collectionSize(fieldName);
+            }
+            return ListColumn.value(fieldName, buildAccessor(entityClass, fieldName));
+        } catch (NoSuchFieldException | IllegalArgumentException e) {
+            logger.warn("Column {} of entity {} cannot be read: {}", fieldName, entityClass.getSimpleName(), e.getMessage());
+            return ListColumn.unresolved(fieldName);
+        }
+    }
+
+    /**
+     * Builds an accessor for a field or a dot-separated embedded field path of the given class.
+     *
+     * @param type The class declaring the first field of the path.
+     * @param path The field name or embedded field path.
+     * @return The field accessor.
+     * @throws NoSuchFieldException If a field of the path does not exist.
+     */
+    FieldAccessor buildAccessor(Class<?> type, String path) throws NoSuchFieldException {
+        return new FieldAccessor(path, resolveChain(type, path));
+    }
+
+    private void buildWriter(Class<?> entityClass, String field, String path, Map<String, FieldWriter> fieldWriters) {
+        try {
+            Field[] chain = resolveChain(entityClass, path);
+            Function<String, Object> converter = fieldValueSetter.compileConverter(chain[chain.length - 1]);
+            fieldWriters.put(field, new FieldWriter(path, converter, chain));
+        } catch (NoSuchFieldException | IllegalArgumentException e) {
+            logger.warn("Field {} of entity {} cannot be written: {}", field, entityClass.getSimpleName(), e.getMessage());
+        }
+    }
+
+    private Field[] resolveChain(Class<?> type, String path) throws NoSuchFieldException {
+        String[] parts = path.split("\\.");
+        Field[] chain = new Field[parts.length];
+        Class<?> current = type;
+        for (int i = 0; i < parts.length; i++) {
+            chain[i] = fieldUtils.getFieldFromHierarchy(current, parts[i]);
+            current = chain[i].getType();
+        }
+        return chain;
+    }
+
+    private void updateFieldType(Class<?> entityClass, String fieldName, Map<String, String> fieldTypes) {
+        try {
+            Field field = entityClass.getDeclaredField(fieldName);
+            fieldTypes.putIfAbsent(fieldName, field.getType().getSimpleName());
+        } catch (NoSuchFieldException e) {
+            logger.warn("Field {} not found in entity {}", fieldName, entityClass.getSimpleName());
+        }
+    }
+
+    private void processFieldsAndMethods(Class<?> entityClass, Set<String> displayFields, Map<String, String> displayNames,
+                                         Map<String, Function<Object, Object>> computedColumns, Map<String, String> embeddedFieldPaths,
+                                         Map<String, String> fieldTypes) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Embedded.class)) {
+                processEmbeddedFields(field, displayFields, displayNames, embeddedFieldPaths, fieldTypes);
+            } else if (!isRelationField(entityClass, field.getName())) {
+                String fieldName = field.getName();
+                displayFields.add(fieldName);
+                displayNames.put(fieldName, fieldName);
+                fieldTypes.putIfAbsent(fieldName, field.getType().getSimpleName());
+            }
+        }
+        for (Method method : entityClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(ComputedColumn.class)) {
+                ComputedColumn annotation = method.getAnnotation(ComputedColumn.class);
+                String fieldName = method.getName();
+                try {
+                    computedColumns.put(fieldName, ComputedColumnInvoker.forMethod(fieldName, method,
+                            adminMetrics.computedColumn(entityClass.getSimpleName(), fieldName)));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping computed column {} of entity {}: {}", fieldName, entityClass.getSimpleName(), e.getMessage());
+                    continue;
+                }
+                displayFields.add(fieldName);
+                displayNames.put(fieldName, annotation.displayName());
+            }
+        }
+    }
+
+    private void processEmbeddedFields(Field field, Set<String> displayFields, Map<String, String> displayNames,
+                                       Map<String, String> embeddedFieldPaths, Map<String, String> fieldTypes) {
+        Class<?> embeddedType = field.getType();
+        for (Field embeddedField : embeddedType.getDeclaredFields()) {
+            String embeddedFieldName = field.getName() + "." + embeddedField.getName();
+            displayFields.add(embeddedFieldName);
+            embeddedFieldPaths.put(embeddedFieldName, embeddedFieldName);
+            fieldTypes.putIfAbsent(embeddedFieldName, embeddedField.getType().getSimpleName());
+            displayNames.put(embeddedFieldName, embeddedField.getName());
+        }
+    }
+
+    private boolean isRelationField(Class<?> entityClass, String fieldName) {
+        try {
+            Field field = entityClass.getDeclaredField(fieldName);
+            return field.isAnnotationPresent(OneToMany.class) ||
+                    field.isAnnotationPresent(ManyToOne.class) ||
+                    field.isAnnotationPresent(ManyToMany.class) ||
+                    field.isAnnotationPresent(OneToOne.class);
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    private Set<String> collectFilterableFields(Class<?> entityClass, TableConfig tableConfig,
+                                                Map<String, Function<Object, Object>> computedColumns) {
+        Set<String> displayedFields = new LinkedHashSet<>();
+        if (tableConfig != null && tableConfig.getColumns() != null) {
+            for (ColumnConfig column : tableConfig.getColumns()) {
+                if (!column.isComputed()) {
+                    displayedFields.add(column.getFieldName());
+                }
+            }
+        } else {
+            for (Field field : entityClass.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Embedded.class)) {
+                    for (Field embeddedField : field.getType().getDeclaredFields()) {
+                        displayedFields.add(field.getName() + "." + embeddedField.getName());
+                    }
+                } else {
+                    displayedFields.add(field.getName());
+                }
+            }
+        }
+
+        EntityInfo entityInfo = metamodelAnalyzer.analyze(entityClass);
+        Map<String, AttributeInfo> attributes = entityInfo.getMetamodelInfo().getAttributes();
+        Set<String> filterableFields = new LinkedHashSet<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            String fieldName = field.getName();
+            if (field.isAnnotationPresent(Embedded.class)) {
+                for (Field embeddedField : field.getType().getDeclaredFields()) {
+                    String embeddedFieldName = fieldName + "." + embeddedField.getName();
+                    if (displayedFields.contains(embeddedFieldName) && !computedColumns.containsKey(embeddedFieldName) &&
+                            ALLOWED_JAVA_TYPES.contains(embeddedField.getType())) {
+                        filterableFields.add(embeddedFieldName);
+                    }
+                }
+            } else if (displayedFields.contains(fieldName) && !computedColumns.containsKey(fieldName)) {
+                AttributeInfo attrInfo = attributes.get(fieldName);
+                if (attrInfo != null && ALLOWED_JAVA_TYPES.contains(getJavaTypeFromString(attrInfo.getJavaTypeSimpleName()))) {
+                    filterableFields.add(fieldName);
+                }
+            }
+        }
+        return filterableFields;
+    }
+
+    private Class<?> getJavaTypeFromString(String typeName) {
+        return switch (typeName) {
+            case "String" -> String.class;
+            case "Integer" -> Integer.class;
+            case "Long" -> Long.class;
+            case "Short" -> Short.class;
+            case "Float" -> Float.class;
+            case "Double" -> Double.class;
+            case "BigDecimal" -> BigDecimal.class;
+            case "Boolean" -> Boolean.class;
+            case "LocalTime" -> LocalTime.class;
+            case "OffsetTime" -> OffsetTime.class;
+            case "LocalDateTime" -> LocalDateTime.class;
+            case "OffsetDateTime" -> OffsetDateTime.class;
+            case "Instant" -> Instant.class;
+            case "ZonedDateTime" -> ZonedDateTime.class;
+            case "UUID" -> UUID.class;
+            case "byte[]" -> byte[].class;
+            default -> Object.class;
+        };
+    }
+}
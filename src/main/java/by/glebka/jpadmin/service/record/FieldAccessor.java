@@ -0,0 +1,63 @@
+package by.glebka.jpadmin.service.record;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Precompiled getter for a field or an embedded field path (e.g. {@code address.city}).
+ * Each step of the path is resolved once into a {@link MethodHandle}; reading a value walks the chain
+ * and returns null as soon as an intermediate object is null.
+ */
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String path;
+    private final Class<?> type;
+    private final MethodHandle[] getters;
+
+    /**
+     * Constructs an accessor over the given chain of fields.
+     *
+     * @param path  The field path, used in error messages.
+     * @param chain The fields to read, starting from the root object.
+     * @throws IllegalArgumentException If a field cannot be made accessible.
+     */
+    FieldAccessor(String path, Field... chain) {
+        this.path = path;
+        this.type = chain[chain.length - 1].getType();
+        this.getters = new MethodHandle[chain.length];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (int i = 0; i < chain.length; i++) {
+            try {
+                chain[i].setAccessible(true);
+                getters[i] = lookup.unreflectGetter(chain[i]).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalArgumentException("Cannot access field " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    public String getPath() { return path; }
+    public Class<?> getType() { return type; }
+
+    /**
+     * Reads the value of the field path from the given object.
+     *
+     * @param target The root object.
+     * @return The field value, or null if the target or an intermediate object is null.
+     */
+    public Object get(Object target) {
+        Object value = target;
+        try {
+            for (MethodHandle getter : getters) {
+                if (value == null) return null;
+                value = (Object) getter.invokeExact(value);
+            }
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read field " + path + ": " + e.getMessage(), e);
+        }
+        return value;
+    }
+}
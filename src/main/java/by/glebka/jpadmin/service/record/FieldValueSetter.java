@@ -15,6 +15,7 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,81 +40,104 @@ public class FieldValueSetter {
      * @throws IllegalArgumentException If the value is invalid for the field type.
      */
     public void setFieldValue(Field field, Object target, String value, Class<?> fieldType) throws IllegalAccessException {
-        if (isNullOrEmpty(value)) {
-            field.set(target, null);
-            return;
-        }
-
-        try {
-            if (field.isAnnotationPresent(Type.class)) {
-                field.set(target, value); // Delegate to Hibernate UserType
-                return;
-            }
+        field.set(target, compileConverter(field, fieldType).apply(value));
+    }
 
-            Column column = field.getAnnotation(Column.class);
-            String columnDefinition = column != null ? column.columnDefinition().toUpperCase() : "";
+    /**
+     * Compiles the conversion of form values for a field. Annotations, the BIT length constraint and the
+     * parser of the field type are resolved once; the returned function only parses the value.
+     * Null, empty and {@code "null"} values convert to null.
+     *
+     * @param field The field the values are written to.
+     * @return A function converting a string value to the field value.
+     * @throws IllegalArgumentException When applied, if the value is invalid for the field type.
+     */
+    public Function<String, Object> compileConverter(Field field) {
+        return compileConverter(field, field.getType());
+    }
 
-            if (columnDefinition.contains("BIT")) {
-                handleBitField(field, target, value, columnDefinition);
-            } else {
-                setTypedFieldValue(field, target, value, fieldType);
+    private Function<String, Object> compileConverter(Field field, Class<?> fieldType) {
+        String fieldName = field.getName();
+        Function<String, Object> parser = resolveParser(field, fieldType);
+        return value -> {
+            if (isNullOrEmpty(value)) {
+                return null;
             }
-        } catch (IllegalArgumentException e) {
-            logger.warn("Invalid value '{}' for field {}: {}", value, field.getName(), e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Failed to set field {} with value {}: {}", field.getName(), value, e.getMessage());
-            throw new IllegalArgumentException("Failed to set field " + field.getName() + ": " + e.getMessage(), e);
-        }
+            try {
+                return parser.apply(value);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid value '{}' for field {}: {}", value, fieldName, e.getMessage());
+                throw e;
+            } catch (Exception e) {
+                logger.error("Failed to set field {} with value {}: {}", fieldName, value, e.getMessage());
+                throw new IllegalArgumentException("Failed to set field " + fieldName + ": " + e.getMessage(), e);
+            }
+        };
     }
 
     private boolean isNullOrEmpty(String value) {
         return value == null || value.trim().isEmpty() || NULL_VALUE.equalsIgnoreCase(value);
     }
 
-    private void handleBitField(Field field, Object target, String value, String columnDefinition) throws IllegalAccessException {
+    private Function<String, Object> resolveParser(Field field, Class<?> fieldType) {
+        if (field.isAnnotationPresent(Type.class)) {
+            return value -> value; // Delegate to Hibernate UserType
+        }
+
+        Column column = field.getAnnotation(Column.class);
+        String columnDefinition = column != null ? column.columnDefinition().toUpperCase() : "";
+
+        if (columnDefinition.contains("BIT")) {
+            return resolveBitParser(columnDefinition);
+        }
+        return resolveTypedParser(field.getName(), fieldType);
+    }
+
+    private Function<String, Object> resolveBitParser(String columnDefinition) {
         Matcher bitMatcher = BIT_PATTERN.matcher(columnDefinition);
         if (bitMatcher.find()) {
             int bitLength = Integer.parseInt(bitMatcher.group(1));
-            if (value.length() > bitLength) {
-                throw new IllegalArgumentException("Value '" + value + "' exceeds maximum length of " + bitLength + " bits");
-            }
-            field.set(target, value);
+            return value -> {
+                if (value.length() > bitLength) {
+                    throw new IllegalArgumentException("Value '" + value + "' exceeds maximum length of " + bitLength + " bits");
+                }
+                return value;
+            };
         } else if (columnDefinition.contains("VARYING") || columnDefinition.contains("VARBIT")) {
-            field.set(target, value);
-        } else {
+            return value -> value;
+        }
+        return value -> {
             if ("0".equals(value) || "1".equals(value)) {
-                field.set(target, value);
+                return value;
             } else if ("true".equalsIgnoreCase(value)) {
-                field.set(target, "1");
+                return "1";
             } else if ("false".equalsIgnoreCase(value)) {
-                field.set(target, "0");
-            } else {
-                throw new IllegalArgumentException("Value for BIT must be '0', '1', 'true', or 'false'");
+                return "0";
             }
-        }
+            throw new IllegalArgumentException("Value for BIT must be '0', '1', 'true', or 'false'");
+        };
     }
 
-    private void setTypedFieldValue(Field field, Object target, String value, Class<?> fieldType) throws IllegalAccessException {
-        if (fieldType == String.class) field.set(target, value);
-        else if (fieldType == Long.class || fieldType == long.class) field.set(target, Long.parseLong(value));
-        else if (fieldType == Integer.class || fieldType == int.class) field.set(target, Integer.parseInt(value));
-        else if (fieldType == Short.class || fieldType == short.class) field.set(target, Short.parseShort(value));
-        else if (fieldType == Boolean.class || fieldType == boolean.class) field.set(target, "true".equalsIgnoreCase(value));
-        else if (fieldType == byte[].class) field.set(target, hexStringToByteArray(value));
-        else if (fieldType == LocalDate.class) field.set(target, LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE));
-        else if (fieldType == LocalDateTime.class) field.set(target, LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        else if (fieldType == LocalTime.class) field.set(target, LocalTime.parse(value, DateTimeFormatter.ISO_LOCAL_TIME));
-        else if (fieldType == OffsetTime.class) field.set(target, OffsetTime.parse(value, DateTimeFormatter.ISO_OFFSET_TIME));
-        else if (fieldType == OffsetDateTime.class) field.set(target, OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
-        else if (fieldType == Double.class || fieldType == double.class) field.set(target, Double.parseDouble(value));
-        else if (fieldType == Float.class || fieldType == float.class) field.set(target, Float.parseFloat(value));
-        else if (fieldType == BigDecimal.class) field.set(target, new BigDecimal(value));
-        else if (fieldType == UUID.class) field.set(target, UUID.fromString(value));
-        else {
-            logger.warn("Unsupported field type {} for field {}", fieldType.getSimpleName(), field.getName());
+    private Function<String, Object> resolveTypedParser(String fieldName, Class<?> fieldType) {
+        if (fieldType == String.class) return value -> value;
+        else if (fieldType == Long.class || fieldType == long.class) return Long::parseLong;
+        else if (fieldType == Integer.class || fieldType == int.class) return Integer::parseInt;
+        else if (fieldType == Short.class || fieldType == short.class) return Short::parseShort;
+        else if (fieldType == Boolean.class || fieldType == boolean.class) return "true"::equalsIgnoreCase;
+        else if (fieldType == byte[].class) return this::hexStringToByteArray;
+        else if (fieldType == LocalDate.class) return value -> LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+        else if (fieldType == LocalDateTime.class) return value -> LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        else if (fieldType == LocalTime.class) return value -> LocalTime.parse(value, DateTimeFormatter.ISO_LOCAL_TIME);
+        else if (fieldType == OffsetTime.class) return value -> OffsetTime.parse(value, DateTimeFormatter.ISO_OFFSET_TIME);
+        else if (fieldType == OffsetDateTime.class) return value -> OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        else if (fieldType == Double.class || fieldType == double.class) return Double::parseDouble;
+        else if (fieldType == Float.class || fieldType == float.class) return Float::parseFloat;
+        else if (fieldType == BigDecimal.class) return BigDecimal::new;
+        else if (fieldType == UUID.class) return UUID::fromString;
+        return value -> {
+            logger.warn("Unsupported field type {} for field {}", fieldType.getSimpleName(), fieldName);
             throw new IllegalArgumentException("Unsupported field type: " + fieldType.getName());
-        }
+        };
     }
 
     private byte[] hexStringToByteArray(String hex) {
@@ -0,0 +1,137 @@
+package by.glebka.jpadmin.service.record;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * Precompiled write plan for a form field or an embedded field path: the value converter, the setter
+ * handle of the target field and, for embedded paths, the handles that read or create the intermediate
+ * embedded objects. Everything is resolved once per entity field.
+ */
+public final class FieldWriter {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final String path;
+    private final Class<?> fieldType;
+    private final Function<String, Object> converter;
+    private final MethodHandle[] embeddedGetters;
+    private final MethodHandle[] embeddedSetters;
+    private final MethodHandle[] embeddedConstructors;
+    private final MethodHandle setter;
+
+    /**
+     * Constructs a writer over the given chain of fields.
+     *
+     * @param path      The field path, used in error messages.
+     * @param converter The converter of string values to values of the last field.
+     * @param chain     The fields from the root object to the written field.
+     * @throws IllegalArgumentException If a field cannot be made accessible.
+     */
+    FieldWriter(String path, Function<String, Object> converter, Field... chain) {
+        this.path = path;
+        this.converter = converter;
+        int depth = chain.length - 1;
+        this.embeddedGetters = new MethodHandle[depth];
+        this.embeddedSetters = new MethodHandle[depth];
+        this.embeddedConstructors = new MethodHandle[depth];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (int i = 0; i < depth; i++) {
+                chain[i].setAccessible(true);
+                embeddedGetters[i] = lookup.unreflectGetter(chain[i]).asType(GETTER_TYPE);
+                embeddedSetters[i] = lookup.unreflectSetter(chain[i]).asType(SETTER_TYPE);
+                embeddedConstructors[i] = findConstructor(lookup, chain[i].getType());
+            }
+            Field target = chain[depth];
+            target.setAccessible(true);
+            this.fieldType = target.getType();
+            this.setter = lookup.unreflectSetter(target).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access field " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    public String getPath() { return path; }
+    public Class<?> getFieldType() { return fieldType; }
+
+    /**
+     * Converts the given string value and writes it to the field, creating missing embedded objects
+     * along the path.
+     *
+     * @param entity The entity to modify.
+     * @param value  The string value to set.
+     * @throws IllegalArgumentException If the value is invalid for the field type.
+     * @throws IllegalStateException    If the field cannot be written.
+     */
+    public void write(Object entity, String value) {
+        set(entity, convert(value));
+    }
+
+    /**
+     * Converts the given string value to the type of the field without writing it.
+     *
+     * @param value The string value.
+     * @return The converted value.
+     * @throws IllegalArgumentException If the value is invalid for the field type.
+     */
+    public Object convert(String value) {
+        return converter.apply(value);
+    }
+
+    /**
+     * Writes an already converted value to the field, creating missing embedded objects along the path.
+     *
+     * @param entity    The entity to modify.
+     * @param converted The value as returned by {@link #convert}.
+     * @throws IllegalArgumentException If the value is null and the field is primitive.
+     * @throws IllegalStateException    If the field cannot be written.
+     */
+    public void set(Object entity, Object converted) {
+        Object target = resolveTarget(entity);
+        try {
+            setter.invokeExact(target, converted);
+        } catch (NullPointerException e) {
+            throw new IllegalArgumentException("Field " + path + " cannot be null");
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to write field " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Object resolveTarget(Object entity) {
+        Object current = entity;
+        try {
+            for (int i = 0; i < embeddedGetters.length; i++) {
+                Object next = (Object) embeddedGetters[i].invokeExact(current);
+                if (next == null) {
+                    if (embeddedConstructors[i] == null) {
+                        throw new IllegalStateException("Embedded type of " + path + " has no default constructor");
+                    }
+                    next = (Object) embeddedConstructors[i].invokeExact();
+                    embeddedSetters[i].invokeExact(current, next);
+                }
+                current = next;
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to resolve embedded object of " + path + ": " + e.getMessage(), e);
+        }
+        return current;
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type) throws IllegalAccessException {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package by.glebka.jpadmin.service.record;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List filter resolved against the type of the filtered field: the operation and the values bound to the query,
+ * with the patterns of the LIKE operations already built. Terms with the same field, operation, null handling,
+ * LIKE rendering, value type and number of values produce the same predicate, whatever their values.
+ */
+public final class FilterTerm {
+    private final String field;
+    private final String operation;
+    private final boolean orNull;
+    private final Class<?> valueType;
+    private final List<Object> values;
+    private final boolean ilike;
+
+    /**
+     * Constructs a new FilterTerm.
+     *
+     * @param field     The filtered field or embedded field name.
+     * @param operation The lower-case filter operation.
+     * @param orNull    Whether rows with a null value match as well.
+     * @param valueType The Java type the values are bound as.
+     * @param values    The values bound to the query.
+     */
+    FilterTerm(String field, String operation, boolean orNull, Class<?> valueType, List<Object> values) {
+        this(field, operation, orNull, valueType, values, false);
+    }
+
+    /**
+     * Constructs a new FilterTerm.
+     *
+     * @param field     The filtered field or embedded field name.
+     * @param operation The lower-case filter operation.
+     * @param orNull    Whether rows with a null value match as well.
+     * @param valueType The Java type the values are bound as.
+     * @param values    The values bound to the query.
+     * @param ilike     Whether a LIKE operation is rendered as {@code ILIKE} rather than on the lower-cased field.
+     */
+    FilterTerm(String field, String operation, boolean orNull, Class<?> valueType, List<Object> values, boolean ilike) {
+        this.field = field;
+        this.operation = operation;
+        this.orNull = orNull;
+        this.valueType = valueType;
+        this.values = values;
+        this.ilike = ilike;
+    }
+
+    public String getField() { return field; }
+    public String getOperation() { return operation; }
+    public boolean isOrNull() { return orNull; }
+    public Class<?> getValueType() { return valueType; }
+    public List<Object> getValues() { return values; }
+    public boolean isIlike() { return ilike; }
+
+    /**
+     * Describes the predicates built from the terms, without their values.
+     *
+     * @param terms The filter terms.
+     * @return The shape of the terms, usable as a cache key.
+     */
+    public static String describeShape(List<FilterTerm> terms) {
+        StringBuilder shape = new StringBuilder();
+        for (FilterTerm term : terms) {
+            shape.append(term.field).append(':').append(term.operation).append(':')
+                    .append(term.orNull ? "or-null" : "").append(':').append(term.ilike ? "ilike" : "")
+                    .append(':').append(term.valueType != null ? term.valueType.getName() : "")
+                    .append(':').append(term.values.size()).append(';');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Collects the values of the terms in the order their parameters are created.
+     *
+     * @param terms The filter terms.
+     * @return The values to bind.
+     */
+    public static List<Object> collectValues(List<FilterTerm> terms) {
+        List<Object> values = new ArrayList<>();
+        for (FilterTerm term : terms) {
+            values.addAll(term.values);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,200 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.TableConfig;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Component building the PostgreSQL full-text search of table lists: the search columns configured in
+ * {@link TableConfig} are matched with {@code to_tsvector(...) @@ plainto_tsquery(...)} and ranked with
+ * {@code ts_rank}. A stored tsvector field, when configured, is matched instead, so that a GIN index on it
+ * can be used.
+ * <p>
+ * The vector is rendered exactly as in the generated column suggested by {@link #buildIndexDdl}, so that an
+ * expression index on it matches the query as well.
+ */
+@Component
+public class FullTextSearch {
+
+    /**
+     * Name of the filter field carrying the search text through the list filters.
+     */
+    public static final String SEARCH_FIELD = "_search";
+
+    /**
+     * Sort field ordering a searched list by rank.
+     */
+    public static final String RANK_SORT_FIELD = "_rank";
+
+    private static final String SEARCH_OPERATION = "search";
+    private static final String VECTOR_COLUMN = "search_vector";
+
+    @Autowired(required = false)
+    private AdminConfig adminConfig;
+
+    /**
+     * Adds the search text to the list filters.
+     *
+     * @param filters The list filters.
+     * @param search  The search text, or null.
+     * @return The filters, with a search filter if the text is not blank.
+     */
+    public static List<Map<String, String>> withSearch(List<Map<String, String>> filters, String search) {
+        if (search == null || search.isBlank()) {
+            return filters;
+        }
+        List<Map<String, String>> searchFilters = filters != null ? new ArrayList<>(filters) : new ArrayList<>();
+        searchFilters.add(Map.of("field", SEARCH_FIELD, "operation", SEARCH_OPERATION, "value", search.trim(),
+                "allowNull", "false"));
+        return searchFilters;
+    }
+
+    /**
+     * Indicates whether the filters contain a search.
+     *
+     * @param filters The list filters.
+     * @return True if a search filter is present.
+     */
+    public static boolean hasSearch(List<Map<String, String>> filters) {
+        return filters != null && filters.stream().anyMatch(filter -> SEARCH_FIELD.equals(filter.get("field")));
+    }
+
+    /**
+     * Finds the search configuration of an entity.
+     *
+     * @param entityClass The entity class.
+     * @return The table configuration, or null if the table has no search columns.
+     */
+    public TableConfig findSearchConfig(Class<?> entityClass) {
+        TableConfig tableConfig = adminConfig != null ? adminConfig.getTableConfig(entityClass) : null;
+        return tableConfig != null && tableConfig.isSearchable() ? tableConfig : null;
+    }
+
+    /**
+     * Builds the predicate matching rows against the search text.
+     *
+     * @param cb          The CriteriaBuilder instance.
+     * @param root        The root entity for the query.
+     * @param entityClass The entity class.
+     * @param text        The search text expression.
+     * @return The predicate.
+     * @throws IllegalArgumentException If the table has no search columns.
+     */
+    public Predicate buildMatch(CriteriaBuilder cb, Root<?> root, Class<?> entityClass, Expression<String> text) {
+        TableConfig config = getSearchConfig(entityClass);
+        List<Expression<?>> arguments = buildVectorArguments(root, config);
+        arguments.add(text);
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        return cb.isTrue(hcb.sql(buildVectorSql(config) + " @@ " + buildQuerySql(config), Boolean.class,
+                arguments.toArray(new Expression<?>[0])));
+    }
+
+    /**
+     * Builds the rank of rows against the search text.
+     *
+     * @param cb          The CriteriaBuilder instance.
+     * @param root        The root entity for the query.
+     * @param entityClass The entity class.
+     * @param text        The search text expression.
+     * @return The {@code ts_rank} expression, higher for better matches.
+     * @throws IllegalArgumentException If the table has no search columns.
+     */
+    public Expression<Float> buildRank(CriteriaBuilder cb, Root<?> root, Class<?> entityClass, Expression<String> text) {
+        TableConfig config = getSearchConfig(entityClass);
+        List<Expression<?>> arguments = buildVectorArguments(root, config);
+        arguments.add(text);
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        return hcb.sql("ts_rank(" + buildVectorSql(config) + ", " + buildQuerySql(config) + ")", Float.class,
+                arguments.toArray(new Expression<?>[0]));
+    }
+
+    /**
+     * Builds the DDL of the recommended search index: a generated tsvector column over the search columns with
+     * a GIN index, or only the GIN index if a stored tsvector field is already configured.
+     *
+     * @param tableName    The physical table name.
+     * @param columnNames  The physical columns of the search columns, in configuration order.
+     * @param vectorColumn The physical column of the stored tsvector field, or null.
+     * @param config       The table configuration.
+     * @return The DDL statements.
+     */
+    public String buildIndexDdl(String tableName, List<String> columnNames, String vectorColumn, TableConfig config) {
+        StringBuilder ddl = new StringBuilder();
+        String indexedColumn = vectorColumn;
+        if (indexedColumn == null) {
+            indexedColumn = VECTOR_COLUMN;
+            String document = columnNames.stream()
+                    .map(column -> "coalesce(" + column + ", '')")
+                    .collect(Collectors.joining(" || ' ' || "));
+            ddl.append("ALTER TABLE ").append(tableName).append(" ADD COLUMN ").append(VECTOR_COLUMN).append(" tsvector\n")
+                    .append("    GENERATED ALWAYS AS (to_tsvector(").append(buildConfigurationSql(config)).append(", ")
+                    .append(document).append(")) STORED;\n");
+        }
+        ddl.append("CREATE INDEX ").append(tableName).append('_').append(indexedColumn).append("_idx ON ")
+                .append(tableName).append(" USING GIN (").append(indexedColumn).append(");\n");
+        if (vectorColumn == null) {
+            ddl.append("-- Map ").append(VECTOR_COLUMN).append(" as a String field with TsvectorStringType")
+                    .append(" and register it with TableConfig.setSearchVectorField\n");
+        }
+        return ddl.toString();
+    }
+
+    private TableConfig getSearchConfig(Class<?> entityClass) {
+        TableConfig config = findSearchConfig(entityClass);
+        if (config == null) {
+            throw new IllegalArgumentException("Table of " + entityClass.getSimpleName() + " has no search columns");
+        }
+        return config;
+    }
+
+    private List<Expression<?>> buildVectorArguments(Root<?> root, TableConfig config) {
+        List<Expression<?>> arguments = new ArrayList<>();
+        if (config.getSearchVectorField() != null) {
+            arguments.add(buildPath(root, config.getSearchVectorField()));
+        } else {
+            for (String column : config.getSearchColumns()) {
+                arguments.add(buildPath(root, column));
+            }
+        }
+        return arguments;
+    }
+
+    private String buildVectorSql(TableConfig config) {
+        if (config.getSearchVectorField() != null) {
+            return "?";
+        }
+        String document = config.getSearchColumns().stream()
+                .map(column -> "coalesce(?, '')")
+                .collect(Collectors.joining(" || ' ' || "));
+        return "to_tsvector(" + buildConfigurationSql(config) + ", " + document + ")";
+    }
+
+    private String buildQuerySql(TableConfig config) {
+        return "plainto_tsquery(" + buildConfigurationSql(config) + ", ?)";
+    }
+
+    private String buildConfigurationSql(TableConfig config) {
+        // The configuration is validated as an identifier by TableConfig and inlined so that indexes can match
+        return "'" + config.getSearchConfiguration() + "'::regconfig";
+    }
+
+    private Path<?> buildPath(Root<?> root, String field) {
+        Path<?> path = root;
+        for (String part : field.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,53 @@
+package by.glebka.jpadmin.service.record;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import: the number of inserted, updated and rejected rows, and the errors of
+ * rejected rows. Only the first {@value #MAX_REPORTED_ERRORS} errors are kept.
+ */
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long inserted;
+    private long updated;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    void addInserted() { inserted++; }
+    void addUpdated() { updated++; }
+
+    void addError(int line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public long getInserted() { return inserted; }
+    public long getUpdated() { return updated; }
+    public long getFailed() { return failed; }
+    public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+
+    public boolean isErrorListTruncated() {
+        return failed > errors.size();
+    }
+
+    /**
+     * Error of a single rejected row.
+     */
+    public static final class RowError {
+        private final int line;
+        private final String message;
+
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,121 @@
+package by.glebka.jpadmin.service.record;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a row in a keyset-paginated table list: the value of the sort column and the ID of the row.
+ * Cursors travel in the URL as opaque URL-safe tokens.
+ */
+public final class KeysetCursor {
+    private static final char NULL_MARKER = '-';
+    private static final char VALUE_MARKER = '+';
+    private static final char SEPARATOR = '|';
+
+    private final String id;
+    private final String sortValue;
+    private final boolean backward;
+
+    private KeysetCursor(String id, String sortValue, boolean backward) {
+        this.id = id;
+        this.sortValue = sortValue;
+        this.backward = backward;
+    }
+
+    /**
+     * Encodes the position of a row as a cursor token.
+     *
+     * @param id        The ID of the row.
+     * @param sortValue The value of the sort column of the row, or null.
+     * @return The URL-safe token.
+     */
+    public static String encode(Object id, Object sortValue) {
+        String raw = id + String.valueOf(SEPARATOR) + (sortValue == null ? String.valueOf(NULL_MARKER) : VALUE_MARKER + sortValue.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token    The token from the URL.
+     * @param backward Whether the page before the cursor is requested rather than the page after it.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public static KeysetCursor decode(String token, boolean backward) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token, e);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        String id = raw.substring(0, separator);
+        char marker = raw.charAt(separator + 1);
+        if (marker != NULL_MARKER && marker != VALUE_MARKER) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        return new KeysetCursor(id, marker == NULL_MARKER ? null : raw.substring(separator + 2), backward);
+    }
+
+    public boolean isBackward() { return backward; }
+    public boolean isSortValueNull() { return sortValue == null; }
+
+    /**
+     * Parses the ID of the cursor row.
+     *
+     * @param type The Java type of the ID field.
+     * @return The typed ID.
+     * @throws IllegalArgumentException If the value does not match the type.
+     */
+    public Object getId(Class<?> type) {
+        return parse(id, type);
+    }
+
+    /**
+     * Parses the sort value of the cursor row.
+     *
+     * @param type The Java type of the sort field.
+     * @return The typed sort value, or null.
+     * @throws IllegalArgumentException If the value does not match the type.
+     */
+    public Object getSortValue(Class<?> type) {
+        return sortValue != null ? parse(sortValue, type) : null;
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) return value;
+            if (type == Long.class || type == long.class) return Long.valueOf(value);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(value);
+            if (type == Short.class || type == short.class) return Short.valueOf(value);
+            if (type == Double.class || type == double.class) return Double.valueOf(value);
+            if (type == Float.class || type == float.class) return Float.valueOf(value);
+            if (type == BigDecimal.class) return new BigDecimal(value);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(value);
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalTime.class) return LocalTime.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type == OffsetTime.class) return OffsetTime.parse(value);
+            if (type == OffsetDateTime.class) return OffsetDateTime.parse(value);
+            if (type == ZonedDateTime.class) return ZonedDateTime.parse(value);
+            if (type == Instant.class) return Instant.parse(value);
+            if (type == UUID.class) return UUID.fromString(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor value '" + value + "' for type " + type.getSimpleName(), e);
+        }
+        throw new IllegalArgumentException("Unsupported cursor type: " + type.getName());
+    }
+}
@@ -0,0 +1,112 @@
+package by.glebka.jpadmin.service.record;
+
+import java.util.function.Function;
+
+/**
+ * A column of the table list with its value reader resolved up front, so that building a row
+ * needs no per-cell lookups.
+ */
+public final class ListColumn {
+
+    /**
+     * How the cell value of a column is produced.
+     */
+    public enum Kind {
+        /** Plain or embedded field value; byte arrays are rendered as hex. */
+        VALUE,
+        /** Size of a OneToMany or ManyToMany collection, counted for a whole page by one grouped query. */
+        COLLECTION_SIZE,
+        /** Value of a computed column. */
+        COMPUTED,
+        /** Column that could not be resolved against the entity; always null. */
+        UNRESOLVED
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final FieldAccessor accessor;
+    private final Function<Object, Object> computedValue;
+
+    private ListColumn(String name, Kind kind, FieldAccessor accessor, Function<Object, Object> computedValue) {
+        this.name = name;
+        this.kind = kind;
+        this.accessor = accessor;
+        this.computedValue = computedValue;
+    }
+
+    static ListColumn value(String name, FieldAccessor accessor) {
+        return new ListColumn(name, Kind.VALUE, accessor, null);
+    }
+
+    static ListColumn collectionSize(String name) {
+        return new ListColumn(name, Kind.COLLECTION_SIZE, null, null);
+    }
+
+    static ListColumn computed(String name, Function<Object, Object> computedValue) {
+        return new ListColumn(name, Kind.COMPUTED, null, computedValue);
+    }
+
+    static ListColumn unresolved(String name) {
+        return new ListColumn(name, Kind.UNRESOLVED, null, null);
+    }
+
+    public String getName() { return name; }
+    public Kind getKind() { return kind; }
+    public FieldAccessor getAccessor() { return accessor; }
+
+    /**
+     * Reads the cell value of this column from the given entity. Collection sizes are not read from
+     * the entity, since that would initialize the collection; they are counted per page instead.
+     *
+     * @param entity The entity instance.
+     * @return The value to display, or null for collection sizes.
+     */
+    public Object read(Object entity) {
+        switch (kind) {
+            case VALUE:
+                return present(accessor.get(entity));
+            case COMPUTED:
+                return computedValue.apply(entity);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Converts a raw value of this column, read from an entity or selected by a projection query,
+     * to the value to display.
+     *
+     * @param value The raw value.
+     * @return The value to display.
+     */
+    public Object present(Object value) {
+        return value instanceof byte[] ? bytesToHex((byte[]) value) : value;
+    }
+
+    /**
+     * Indicates whether the value of this column can be selected directly by a projection query.
+     *
+     * @return True for plain and embedded field values, false otherwise.
+     */
+    public boolean isSelectable() {
+        return kind == Kind.VALUE;
+    }
+
+    /**
+     * Indicates whether this column is filled after the rows are loaded, by a grouped count query over the page.
+     *
+     * @return True for collection sizes, false otherwise.
+     */
+    public boolean isCollectionSize() {
+        return kind == Kind.COLLECTION_SIZE;
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+        }
+        return sb.toString();
+    }
+}
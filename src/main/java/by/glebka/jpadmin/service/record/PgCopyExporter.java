@@ -0,0 +1,179 @@
+package by.glebka.jpadmin.service.record;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component exporting table lists as CSV with PostgreSQL {@code COPY ... TO STDOUT}, bypassing entity
+ * mapping entirely. The list filters are translated to SQL by {@link SqlFilterTranslator}; lists whose
+ * columns, filters or sorting cannot be expressed over the main table of the entity are not exportable
+ * this way and must fall back to the JPA export.
+ */
+@Component
+public class PgCopyExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgCopyExporter.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private RecordListService recordListService;
+
+    @Autowired
+    private SqlFilterTranslator sqlFilterTranslator;
+
+    /**
+     * Builds the query exporting a table list, with the list columns in display order and their display
+     * names as the header row.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters as built for the list.
+     * @param sortField The field to sort by, or null for the table default.
+     * @param sortOrder The sort order, or null for the table default.
+     * @return The export query, or null if the list cannot be exported with COPY.
+     */
+    public CopyQuery prepare(String tableName, List<Map<String, String>> filters, String sortField, String sortOrder) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Class<?> entityClass = descriptor.getEntityClass();
+        String table = sqlFilterTranslator.getTableName(entityClass);
+        if (table == null) {
+            return null;
+        }
+
+        List<String> selections = new ArrayList<>();
+        for (ListColumn column : descriptor.getListColumns()) {
+            String expression;
+            if (column.isSelectable()) {
+                expression = sqlFilterTranslator.getColumnName(entityClass, column.getAccessor().getPath());
+            } else if (column.getKind() == ListColumn.Kind.UNRESOLVED) {
+                expression = "NULL";
+            } else {
+                expression = null;
+            }
+            if (expression == null) {
+                logger.debug("Column {} of table {} cannot be exported with COPY", column.getName(), tableName);
+                return null;
+            }
+            String displayName = descriptor.getDisplayNames().getOrDefault(column.getName(), column.getName());
+            selections.add(expression + " AS " + quoteIdentifier(displayName));
+        }
+        if (selections.isEmpty()) {
+            return null;
+        }
+
+        SqlWhereClause where = sqlFilterTranslator.translate(
+                recordListService.adjustFilters(filters, descriptor.getFilterFields()), descriptor);
+        if (where == null) {
+            return null;
+        }
+        StringBuilder select = new StringBuilder(where.appendTo("SELECT " + String.join(", ", selections) + " FROM " + table));
+
+        String effectiveSortField = recordListService.determineSortField(sortField, descriptor);
+        if (descriptor.isSortable(effectiveSortField)) {
+            String sortColumn = sqlFilterTranslator.getColumnName(entityClass,
+                    descriptor.getListEmbeddedFieldPaths().getOrDefault(effectiveSortField, effectiveSortField));
+            if (sortColumn == null) {
+                return null;
+            }
+            boolean ascending = "ASC".equalsIgnoreCase(recordListService.determineSortOrder(sortOrder, descriptor));
+            select.append(" ORDER BY ").append(sortColumn).append(ascending ? " ASC" : " DESC");
+        }
+        return new CopyQuery(select.toString(), where.getParameters());
+    }
+
+    /**
+     * Runs an export query and streams its CSV output, including the header row, to the given stream.
+     *
+     * @param query The export query.
+     * @param out   The stream receiving the CSV output.
+     * @return The number of exported rows.
+     * @throws UncheckedIOException If writing to the stream fails.
+     */
+    public long copyOut(CopyQuery query, OutputStream out) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> copyOut(connection, query, out));
+    }
+
+    static long copyOut(Connection connection, CopyQuery query, OutputStream out) throws SQLException {
+        BaseConnection pgConnection = connection.unwrap(BaseConnection.class);
+        String select = inlineParameters(query, pgConnection.getStandardConformingStrings());
+        try {
+            return new CopyManager(pgConnection).copyOut("COPY (" + select + ") TO STDOUT WITH (FORMAT csv, HEADER)", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write COPY output", e);
+        }
+    }
+
+    /**
+     * Replaces the placeholders of the query with escaped literals, since COPY accepts no parameters.
+     * Every value is rendered as a string literal and coerced to the column type by PostgreSQL. Question
+     * marks inside quoted identifiers, such as column display names, are not placeholders.
+     */
+    static String inlineParameters(CopyQuery query, boolean standardConformingStrings) throws SQLException {
+        String sql = query.getSql();
+        List<Object> parameters = query.getParameters();
+        StringBuilder inlined = new StringBuilder(sql.length() + parameters.size() * 16);
+        int parameterIndex = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            if (c != '?' || quoted) {
+                inlined.append(c);
+                continue;
+            }
+            if (parameterIndex >= parameters.size()) {
+                throw new IllegalStateException("More placeholders than parameters in export query");
+            }
+            inlined.append('\'');
+            Utils.escapeLiteral(inlined, String.valueOf(parameters.get(parameterIndex++)), standardConformingStrings);
+            inlined.append('\'');
+        }
+        if (parameterIndex != parameters.size()) {
+            throw new IllegalStateException("Fewer placeholders than parameters in export query");
+        }
+        return inlined.toString();
+    }
+
+    private String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * SELECT statement of a COPY export, with positional parameters.
+     */
+    public static final class CopyQuery {
+        private final String sql;
+        private final List<Object> parameters;
+
+        CopyQuery(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = List.copyOf(parameters);
+        }
+
+        public String getSql() { return sql; }
+        public List<Object> getParameters() { return parameters; }
+    }
+}
@@ -0,0 +1,96 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.TableConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Statement;
+
+/**
+ * Time budget of the interactive queries of the admin interface: list pages, their counts and record details.
+ * The budget of a table is its {@link TableConfig#setQueryTimeoutMillis configured timeout}, or the global
+ * timeout otherwise. It is applied to single queries as the {@code jakarta.persistence.query.timeout} hint,
+ * which the JDBC driver enforces in whole seconds, and to every statement of a read-only transaction with
+ * {@code SET LOCAL statement_timeout}, which PostgreSQL enforces to the millisecond and which also bounds the
+ * lazy loading of associations.
+ * <p>
+ * A query exceeding the budget fails with a {@link jakarta.persistence.QueryTimeoutException}.
+ */
+public class QueryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudget.class);
+
+    private final long defaultTimeoutMillis;
+
+    @Autowired(required = false)
+    private AdminConfig adminConfig;
+
+    /**
+     * Constructs a new QueryBudget.
+     *
+     * @param defaultTimeoutMillis The timeout of tables without their own, in milliseconds, or 0 for none.
+     * @throws IllegalArgumentException If the timeout is negative.
+     */
+    public QueryBudget(long defaultTimeoutMillis) {
+        if (defaultTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Query timeout must not be negative");
+        }
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    /**
+     * Determines the query timeout of an entity.
+     *
+     * @param entityClass The entity class.
+     * @return The timeout in milliseconds, or 0 if its queries are not bounded.
+     */
+    public long getTimeoutMillis(Class<?> entityClass) {
+        TableConfig tableConfig = adminConfig != null ? adminConfig.getTableConfig(entityClass) : null;
+        return tableConfig != null && tableConfig.getQueryTimeoutMillis() > 0
+                ? tableConfig.getQueryTimeoutMillis() : defaultTimeoutMillis;
+    }
+
+    /**
+     * Applies the timeout of an entity to a query.
+     *
+     * @param query       The query.
+     * @param entityClass The queried entity class.
+     * @return The query.
+     */
+    public <R> TypedQuery<R> apply(TypedQuery<R> query, Class<?> entityClass) {
+        long timeoutMillis = getTimeoutMillis(entityClass);
+        return timeoutMillis > 0
+                ? query.setHint(AvailableHints.HINT_SPEC_QUERY_TIMEOUT, (int) Math.min(timeoutMillis, Integer.MAX_VALUE))
+                : query;
+    }
+
+    /**
+     * Applies the timeout of an entity to the remaining statements of the current transaction. Does nothing
+     * outside a transaction, where the setting would outlive the request on the pooled connection.
+     *
+     * @param em          The entity manager taking part in the transaction.
+     * @param entityClass The queried entity class.
+     */
+    public void applyToTransaction(EntityManager em, Class<?> entityClass) {
+        long timeoutMillis = getTimeoutMillis(entityClass);
+        if (timeoutMillis <= 0 || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.debug("Statement timeout not applied: {}", e.getMessage());
+        }
+    }
+}
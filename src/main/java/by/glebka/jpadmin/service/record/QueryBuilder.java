@@ -5,12 +5,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
 import java.math.BigDecimal;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
@@ -18,9 +20,11 @@ import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * Component for building JPA Criteria API predicates based on filter conditions.
+ * Component for building JPA Criteria API predicates based on filter conditions. Filters are first resolved
+ * into {@link FilterTerm}s, whose values are then bound either as query parameters or inline.
  */
 @Component
 public class QueryBuilder {
@@ -28,16 +32,28 @@ public class QueryBuilder {
     private static final Logger logger = LoggerFactory.getLogger(QueryBuilder.class);
     private static final DateTimeFormatter FRONTEND_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String DEFAULT_OPERATION = "equals";
+    private static final String SEARCH_OPERATION = "search";
 
     @Autowired
     private MetamodelAnalyzer metamodelAnalyzer;
 
+    @Autowired
+    private FieldUtils fieldUtils;
+
+    @Autowired
+    private FullTextSearch fullTextSearch;
+
+    @Autowired
+    private TrigramIndexRegistry trigramIndexRegistry;
+
     private static final Map<Class<?>, Function<String, Object>> PARSERS = initializeParsers();
     private static final Map<Class<?>, Function<Object, Object>> NORMALIZERS = initializeNormalizers();
-    private static final Map<String, TriFunction<CriteriaBuilder, Path<?>, Object, Predicate>> OPERATION_HANDLERS = initializeOperationHandlers();
+    private static final Map<String, TriFunction<CriteriaBuilder, Path<?>, Expression<?>, Predicate>> OPERATION_HANDLERS = initializeOperationHandlers();
+    private static final Map<String, Function<String, String>> LIKE_PATTERNS = initializeLikePatterns();
 
     /**
-     * Builds a predicate for filtering records based on field and filter conditions.
+     * Builds a predicate for filtering records based on field and filter conditions. Filter values are passed
+     * into the query inline, for queries that are built and executed once.
      *
      * @param cb              The CriteriaBuilder instance.
      * @param root            The root entity for the query.
@@ -52,31 +68,11 @@ public class QueryBuilder {
                                         Class<T> entityClass, Map<String, String> embeddedFieldPaths,
                                         Map<String, Join<T, ?>> joins) {
         try {
-            Path<?> path = getPath(root, field, entityClass, embeddedFieldPaths);
-            if (path == null) {
-                logger.warn("Path could not be resolved for field: {}", field);
-                return null;
-            }
-
+            List<FilterTerm> terms = resolveTerms(field, filters, entityClass, embeddedFieldPaths);
+            QueryParameters parameters = QueryParameters.inline(cb);
             List<Predicate> fieldPredicates = new ArrayList<>();
-            Map<String, List<Map<String, String>>> operationGroups = groupFiltersByOperation(filters);
-
-            for (Map.Entry<String, List<Map<String, String>>> entry : operationGroups.entrySet()) {
-                String[] keyParts = entry.getKey().split("\\|");
-                String operation = keyParts[0];
-                boolean allowNull = "true".equals(keyParts[1]);
-                boolean treatEmptyAsEmptyString = "true".equals(keyParts[2]);
-                List<Map<String, String>> opFilters = entry.getValue();
-                List<String> values = opFilters.stream()
-                        .map(f -> treatEmptyAsEmptyString ? "" : f.get("value"))
-                        .toList();
-
-                logger.debug("Applying filter: field={}, operation={}, values={}, allowNull={}, treatEmptyAsEmptyString={}",
-                        field, operation, values, allowNull, treatEmptyAsEmptyString);
-                Predicate predicate = applyFilter(cb, root, path, field, operation, values, treatEmptyAsEmptyString, allowNull);
-                if (predicate != null) {
-                    fieldPredicates.add(predicate);
-                }
+            for (FilterTerm term : terms) {
+                fieldPredicates.add(buildPredicate(cb, root, term, entityClass, embeddedFieldPaths, parameters));
             }
 
             return fieldPredicates.isEmpty() ? null :
@@ -88,6 +84,81 @@ public class QueryBuilder {
         }
     }
 
+    /**
+     * Resolves list filters into filter terms, parsing the values to the types of the filtered fields. The filters
+     * of a field are resolved together, so that several {@code equals} filters on one field match any of their
+     * values, while other filters on one field must all hold. Filters that cannot be applied are dropped, so that
+     * the terms alone determine the shape of the predicates.
+     *
+     * @param filters            The filters with field names resolved as in the list query.
+     * @param entityClass        The entity class.
+     * @param embeddedFieldPaths Map of embedded field paths.
+     * @return The filter terms, grouped by field in the order the fields first appear.
+     */
+    public List<FilterTerm> resolveFilters(List<Map<String, String>> filters, Class<?> entityClass,
+                                           Map<String, String> embeddedFieldPaths) {
+        List<FilterTerm> terms = new ArrayList<>();
+        if (filters == null) {
+            return terms;
+        }
+        Map<String, List<Map<String, String>>> filtersByField = new LinkedHashMap<>();
+        for (Map<String, String> filter : filters) {
+            String field = filter.get("field");
+            if (field != null) {
+                filtersByField.computeIfAbsent(field, f -> new ArrayList<>()).add(filter);
+            }
+        }
+        filtersByField.forEach((field, fieldFilters) ->
+                terms.addAll(resolveTerms(field, fieldFilters, entityClass, embeddedFieldPaths)));
+        return terms;
+    }
+
+    /**
+     * Builds the predicate of a filter term, binding its values in order.
+     *
+     * @param cb                 The CriteriaBuilder instance.
+     * @param root               The root entity for the query.
+     * @param term               The filter term.
+     * @param entityClass        The entity class.
+     * @param embeddedFieldPaths Map of embedded field paths.
+     * @param parameters         The binding of the query values.
+     * @return The predicate.
+     * @throws IllegalArgumentException If the field of the term cannot be resolved.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Predicate buildPredicate(CriteriaBuilder cb, Root<T> root, FilterTerm term, Class<T> entityClass,
+                                        Map<String, String> embeddedFieldPaths, QueryParameters parameters) {
+        if (SEARCH_OPERATION.equals(term.getOperation())) {
+            return fullTextSearch.buildMatch(cb, root, entityClass, parameters.bind(String.class, term.getValues().get(0)));
+        }
+        Path<?> path = getPath(root, term.getField(), entityClass, embeddedFieldPaths);
+        if (path == null) {
+            throw new IllegalArgumentException("Invalid filter field: " + term.getField());
+        }
+        Class valueType = term.getValueType();
+        Predicate predicate = switch (term.getOperation()) {
+            case "is null" -> cb.isNull(path);
+            case "is not null" -> cb.isNotNull(path);
+            case "true" -> cb.isTrue((Expression<Boolean>) path);
+            case "false" -> cb.isFalse((Expression<Boolean>) path);
+            default -> {
+                List<Object> values = term.getValues();
+                if (term.isIlike()) {
+                    yield ((HibernateCriteriaBuilder) cb).ilike((Expression<String>) path, parameters.bind(String.class, values.get(0)));
+                }
+                if (values.size() == 1) {
+                    yield OPERATION_HANDLERS.get(term.getOperation()).apply(cb, path, parameters.bind(valueType, values.get(0)));
+                }
+                List<Expression<?>> bound = new ArrayList<>();
+                for (Object value : values) {
+                    bound.add(parameters.bind(valueType, value));
+                }
+                yield bound.isEmpty() ? cb.disjunction() : path.in(bound.toArray(new Expression[0]));
+            }
+        };
+        return term.isOrNull() ? cb.or(predicate, cb.isNull(path)) : predicate;
+    }
+
     private static Map<Class<?>, Function<String, Object>> initializeParsers() {
         Map<Class<?>, Function<String, Object>> parsers = new HashMap<>();
         parsers.put(String.class, v -> v);
@@ -123,31 +194,38 @@ public class QueryBuilder {
         return normalizers;
     }
 
-    private static Map<String, TriFunction<CriteriaBuilder, Path<?>, Object, Predicate>> initializeOperationHandlers() {
-        Map<String, TriFunction<CriteriaBuilder, Path<?>, Object, Predicate>> handlers = new HashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, TriFunction<CriteriaBuilder, Path<?>, Expression<?>, Predicate>> initializeOperationHandlers() {
+        Map<String, TriFunction<CriteriaBuilder, Path<?>, Expression<?>, Predicate>> handlers = new HashMap<>();
         handlers.put("equals", (cb, path, value) -> cb.equal(path, value));
         handlers.put("not equal", (cb, path, value) -> cb.notEqual(path, value));
-        handlers.put("greater than", (cb, path, value) -> cb.greaterThan((Expression) path, (Comparable) value));
-        handlers.put("less than", (cb, path, value) -> cb.lessThan((Expression) path, (Comparable) value));
-        handlers.put("greater than or equal", (cb, path, value) -> cb.greaterThanOrEqualTo((Expression) path, (Comparable) value));
-        handlers.put("less than or equal", (cb, path, value) -> cb.lessThanOrEqualTo((Expression) path, (Comparable) value));
-        handlers.put("contains", (cb, path, value) -> cb.like(cb.lower((Expression<String>) path), "%" + value.toString().toLowerCase() + "%"));
-        handlers.put("starts with", (cb, path, value) -> cb.like(cb.lower((Expression<String>) path), value.toString().toLowerCase() + "%"));
-        handlers.put("ends with", (cb, path, value) -> cb.like(cb.lower((Expression<String>) path), "%" + value.toString().toLowerCase()));
-        handlers.put("true", (cb, path, value) -> cb.isTrue((Expression<Boolean>) path));
-        handlers.put("false", (cb, path, value) -> cb.isFalse((Expression<Boolean>) path));
-        handlers.put("is null", (cb, path, value) -> cb.isNull(path));
-        handlers.put("is not null", (cb, path, value) -> cb.isNotNull(path));
+        handlers.put("greater than", (cb, path, value) -> cb.greaterThan((Expression) path, (Expression) value));
+        handlers.put("less than", (cb, path, value) -> cb.lessThan((Expression) path, (Expression) value));
+        handlers.put("greater than or equal", (cb, path, value) -> cb.greaterThanOrEqualTo((Expression) path, (Expression) value));
+        handlers.put("less than or equal", (cb, path, value) -> cb.lessThanOrEqualTo((Expression) path, (Expression) value));
+        TriFunction<CriteriaBuilder, Path<?>, Expression<?>, Predicate> like =
+                (cb, path, pattern) -> cb.like(cb.lower((Expression<String>) path), (Expression<String>) pattern);
+        handlers.put("contains", like);
+        handlers.put("starts with", like);
+        handlers.put("ends with", like);
         return handlers;
     }
 
+    private static Map<String, Function<String, String>> initializeLikePatterns() {
+        Map<String, Function<String, String>> patterns = new HashMap<>();
+        patterns.put("contains", value -> "%" + value.toLowerCase() + "%");
+        patterns.put("starts with", value -> value.toLowerCase() + "%");
+        patterns.put("ends with", value -> "%" + value.toLowerCase());
+        return patterns;
+    }
+
     @FunctionalInterface
     interface TriFunction<A, B, C, R> {
         R apply(A a, B b, C c);
     }
 
     private Map<String, List<Map<String, String>>> groupFiltersByOperation(List<Map<String, String>> filters) {
-        Map<String, List<Map<String, String>>> operationGroups = new HashMap<>();
+        Map<String, List<Map<String, String>>> operationGroups = new LinkedHashMap<>();
         for (Map<String, String> filter : filters) {
             String operation = filter.get("operation");
             String value = filter.get("value");
@@ -200,54 +278,164 @@ public class QueryBuilder {
         return path;
     }
 
-    private Predicate applyFilter(CriteriaBuilder cb, Root<?> root, Path<?> path, String field, String operation,
-                                  List<String> values, boolean treatEmptyAsEmptyString, boolean allowNull) {
-        Class<?> fieldType = path.getJavaType();
+    private List<FilterTerm> resolveTerms(String field, List<Map<String, String>> filters, Class<?> entityClass,
+                                          Map<String, String> embeddedFieldPaths) {
+        if (FullTextSearch.SEARCH_FIELD.equals(field)) {
+            return resolveSearchTerms(filters, entityClass);
+        }
+        Class<?> fieldType = resolveFieldType(entityClass, field, embeddedFieldPaths);
+        if (fieldType == null) {
+            logger.warn("Path could not be resolved for field: {}", field);
+            return List.of();
+        }
 
-        if ("is null".equals(operation)) return cb.isNull(path);
-        if ("is not null".equals(operation)) return cb.isNotNull(path);
-        if ("true".equals(operation) && isBooleanType(fieldType)) return cb.isTrue((Expression<Boolean>) path);
-        if ("false".equals(operation) && isBooleanType(fieldType)) return cb.isFalse((Expression<Boolean>) path);
+        List<FilterTerm> terms = new ArrayList<>();
+        Map<String, List<Map<String, String>>> operationGroups = groupFiltersByOperation(filters);
+        for (Map.Entry<String, List<Map<String, String>>> entry : operationGroups.entrySet()) {
+            String[] keyParts = entry.getKey().split("\\|");
+            String operation = keyParts[0].toLowerCase();
+            boolean allowNull = "true".equals(keyParts[1]);
+            boolean treatEmptyAsEmptyString = "true".equals(keyParts[2]);
+            List<String> values = entry.getValue().stream()
+                    .map(f -> treatEmptyAsEmptyString ? "" : f.get("value"))
+                    .toList();
+
+            logger.debug("Applying filter: field={}, operation={}, values={}, allowNull={}, treatEmptyAsEmptyString={}",
+                    field, operation, values, allowNull, treatEmptyAsEmptyString);
+            String path = embeddedFieldPaths.getOrDefault(field, field);
+            if (values.size() > 1 && !DEFAULT_OPERATION.equals(operation)) {
+                // Only equality filters are combined into IN; other filters on one field must all hold
+                for (String value : values) {
+                    addTerm(terms, resolveTerm(entityClass, field, path, fieldType, operation, List.of(value),
+                            treatEmptyAsEmptyString, allowNull));
+                }
+            } else {
+                addTerm(terms, resolveTerm(entityClass, field, path, fieldType, operation, values,
+                        treatEmptyAsEmptyString, allowNull));
+            }
+        }
+        return terms;
+    }
+
+    private void addTerm(List<FilterTerm> terms, FilterTerm term) {
+        if (term != null) {
+            terms.add(term);
+        }
+    }
+
+    private List<FilterTerm> resolveSearchTerms(List<Map<String, String>> filters, Class<?> entityClass) {
+        if (fullTextSearch.findSearchConfig(entityClass) == null) {
+            logger.warn("Search ignored: no search columns configured for {}", entityClass.getSimpleName());
+            return List.of();
+        }
+        return filters.stream()
+                .map(filter -> filter.get("value"))
+                .filter(value -> value != null && !value.isBlank())
+                .map(value -> new FilterTerm(FullTextSearch.SEARCH_FIELD, SEARCH_OPERATION, false, String.class, List.of(value)))
+                .collect(Collectors.toList());
+    }
+
+    private FilterTerm resolveTerm(Class<?> entityClass, String field, String path, Class<?> fieldType, String operation,
+                                   List<String> values, boolean treatEmptyAsEmptyString, boolean allowNull) {
+        if ("is null".equals(operation) || "is not null".equals(operation)) {
+            return new FilterTerm(field, operation, false, fieldType, List.of());
+        }
+        if ("true".equals(operation) || "false".equals(operation)) {
+            if (!isBooleanType(fieldType)) {
+                logger.warn("Operation {} requires a boolean field, but {} is {}", operation, field, fieldType.getSimpleName());
+                return null;
+            }
+            return new FilterTerm(field, operation, false, fieldType, List.of());
+        }
 
         if (values.isEmpty() && !treatEmptyAsEmptyString) {
             logger.warn("No values provided for operation {} on field {}", operation, field);
             return null;
         }
 
-        if (values.size() > 1 && !DEFAULT_OPERATION.equalsIgnoreCase(operation)) {
+        if (values.size() > 1 && !DEFAULT_OPERATION.equals(operation)) {
             logger.warn("Multiple values not supported for operation {}", operation);
             return null;
         }
 
-        String value = values.get(0);
-        Object parsedValue = parseAndNormalizeValue(value, fieldType, treatEmptyAsEmptyString);
+        // Several equality values compare against null only if none of them can be parsed
+        Object parsedValue = values.stream()
+                .map(v -> parseAndNormalizeValue(v, fieldType, treatEmptyAsEmptyString))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
         if (parsedValue == null && !treatEmptyAsEmptyString && !isEqualityOperation(operation)) {
             logger.warn("Parsed value is null for operation {} on field {}", operation, field);
             return null;
         }
+        if (parsedValue == null) {
+            // Comparing against null means checking for null, which needs no parameter
+            return new FilterTerm(field, DEFAULT_OPERATION.equals(operation) ? "is null" : "is not null", false, fieldType, List.of());
+        }
+        if (parsedValue instanceof String && fieldType != String.class) {
+            logger.warn("Empty string filter is not applicable to field {} of type {}", field, fieldType.getSimpleName());
+            return null;
+        }
 
-        if (DEFAULT_OPERATION.equalsIgnoreCase(operation) && values.size() > 1) {
+        if (DEFAULT_OPERATION.equals(operation) && values.size() > 1) {
             List<Object> parsedValues = values.stream()
                     .map(v -> parseAndNormalizeValue(v, fieldType, treatEmptyAsEmptyString))
                     .filter(Objects::nonNull)
                     .toList();
-            return path.in(parsedValues);
+            return new FilterTerm(field, operation, false, fieldType, parsedValues);
         }
 
-        TriFunction<CriteriaBuilder, Path<?>, Object, Predicate> handler = OPERATION_HANDLERS.get(operation.toLowerCase());
-        if (handler == null) {
+        if (!OPERATION_HANDLERS.containsKey(operation)) {
             logger.warn("Unsupported operation {} for field type {}", operation, fieldType.getSimpleName());
             return null;
         }
 
+        boolean orNull = allowNull && !isNullOrEqualityOperation(operation);
+        Function<String, String> likePattern = LIKE_PATTERNS.get(operation);
+        if (likePattern != null) {
+            if (fieldType != String.class) {
+                logger.warn("Operation {} requires a text field, but {} is {}", operation, field, fieldType.getSimpleName());
+                return null;
+            }
+            return new FilterTerm(field, operation, orNull, String.class, List.of(likePattern.apply(parsedValue.toString())),
+                    trigramIndexRegistry.useIlike(entityClass, path));
+        }
+        return new FilterTerm(field, operation, orNull, fieldType, Collections.singletonList(parsedValue));
+    }
+
+    /**
+     * Resolves the Java type of the value a filter compares: the field type for basic and embedded fields,
+     * the ID type of the related entity for relationship fields. Mirrors the path resolution of the query.
+     */
+    private Class<?> resolveFieldType(Class<?> entityClass, String field, Map<String, String> embeddedFieldPaths) {
         try {
-            Predicate predicate = handler.apply(cb, path, parsedValue);
-            if (allowNull && !isNullOrEqualityOperation(operation)) {
-                return cb.or(predicate, cb.isNull(path));
+            Field f = entityClass.getDeclaredField(field);
+            if (f.isAnnotationPresent(ManyToOne.class) || f.isAnnotationPresent(OneToOne.class)) {
+                return fieldUtils.getFieldFromHierarchy(f.getType(), "id").getType();
             }
-            return predicate;
-        } catch (Exception e) {
-            logger.warn("Failed to apply filter for operation {} on field type {}: {}", operation, fieldType.getSimpleName(), e.getMessage());
+            if (f.isAnnotationPresent(OneToMany.class) || f.isAnnotationPresent(jakarta.persistence.ManyToMany.class)) {
+                Class<?> elementType = (Class<?>) ((ParameterizedType) f.getGenericType()).getActualTypeArguments()[0];
+                return fieldUtils.getFieldFromHierarchy(elementType, "id").getType();
+            }
+            return f.getType();
+        } catch (NoSuchFieldException e) {
+            String embeddedPath = embeddedFieldPaths.get(field);
+            if (embeddedPath == null) {
+                logger.warn("Field {} not found in entity or embedded paths", field);
+                return null;
+            }
+            try {
+                Class<?> current = entityClass;
+                for (String part : embeddedPath.split("\\.")) {
+                    current = fieldUtils.getFieldFromHierarchy(current, part).getType();
+                }
+                return current;
+            } catch (NoSuchFieldException ex) {
+                logger.warn("Embedded path {} not found for field {}", embeddedPath, field);
+                return null;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Type of field {} could not be resolved: {}", field, e.getMessage());
             return null;
         }
     }
@@ -264,7 +452,15 @@ public class QueryBuilder {
         return "equals".equalsIgnoreCase(operation) || "is null".equalsIgnoreCase(operation) || "is not null".equalsIgnoreCase(operation);
     }
 
-    private Object parseAndNormalizeValue(String value, Class<?> fieldType, boolean treatEmptyAsEmptyString) {
+    /**
+     * Parses a filter value to the field type, truncating temporal values to minutes as filters compare them.
+     *
+     * @param value                   The filter value.
+     * @param fieldType               The Java type of the filtered field.
+     * @param treatEmptyAsEmptyString Whether empty values mean an empty string.
+     * @return The parsed value, or null if it cannot be parsed.
+     */
+    Object parseAndNormalizeValue(String value, Class<?> fieldType, boolean treatEmptyAsEmptyString) {
         if (value == null && !treatEmptyAsEmptyString) return null;
         if (treatEmptyAsEmptyString && (value == null || value.isEmpty())) return "";
 
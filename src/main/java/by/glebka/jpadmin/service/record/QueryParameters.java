@@ -0,0 +1,73 @@
+package by.glebka.jpadmin.service.record;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binds the values of a Criteria query while it is built. Parameterized binding creates a
+ * {@link ParameterExpression} per value and keeps them in creation order, so that the query can be cached by
+ * shape and executed again with other values. Inline binding passes the values into the query itself, for
+ * queries that are built and executed once.
+ */
+public final class QueryParameters {
+    private final CriteriaBuilder cb;
+    private final List<ParameterExpression<?>> parameters;
+
+    private QueryParameters(CriteriaBuilder cb, List<ParameterExpression<?>> parameters) {
+        this.cb = cb;
+        this.parameters = parameters;
+    }
+
+    public static QueryParameters parameterized(CriteriaBuilder cb) {
+        return new QueryParameters(cb, new ArrayList<>());
+    }
+
+    public static QueryParameters inline(CriteriaBuilder cb) {
+        return new QueryParameters(cb, null);
+    }
+
+    /**
+     * Binds a value of the query.
+     *
+     * @param type  The Java type of the value.
+     * @param value The value, possibly null; ignored by parameterized binding.
+     * @return The expression standing for the value.
+     */
+    @SuppressWarnings("unchecked")
+    public <X> Expression<X> bind(Class<X> type, Object value) {
+        if (parameters == null) {
+            return value == null ? cb.nullLiteral(type) : (Expression<X>) ((HibernateCriteriaBuilder) cb).value(value);
+        }
+        ParameterExpression<X> parameter = cb.parameter(wrap(type));
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    /**
+     * Returns the parameters created by parameterized binding, in creation order.
+     *
+     * @return The parameters; empty for inline binding.
+     */
+    public List<ParameterExpression<?>> getParameters() {
+        return parameters != null ? Collections.unmodifiableList(parameters) : List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X> Class<X> wrap(Class<X> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == long.class) return (Class<X>) Long.class;
+        if (type == int.class) return (Class<X>) Integer.class;
+        if (type == short.class) return (Class<X>) Short.class;
+        if (type == double.class) return (Class<X>) Double.class;
+        if (type == float.class) return (Class<X>) Float.class;
+        if (type == boolean.class) return (Class<X>) Boolean.class;
+        if (type == byte.class) return (Class<X>) Byte.class;
+        return (Class<X>) Character.class;
+    }
+}
@@ -0,0 +1,127 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.AdminMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of parameterized Criteria queries keyed by their shape: the entity, the kind of query, the filtered
+ * fields with their operations and the sorting. Hibernate caches the interpretation of a Criteria query per
+ * query instance, so executing the same instance with new parameter values skips the translation to SQL and
+ * sends the same SQL text, which lets PostgreSQL reuse its prepared statement.
+ * <p>
+ * The least recently used shapes are evicted once the cache is full. Hits and misses are reported to
+ * {@link AdminMetrics}.
+ */
+public class QueryShapeCache {
+
+    private final Map<String, CompiledQuery<?>> queries;
+
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    /**
+     * Constructs a new QueryShapeCache.
+     *
+     * @param maxShapes The maximum number of cached queries.
+     */
+    public QueryShapeCache(int maxShapes) {
+        this.queries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledQuery<?>> eldest) {
+                return size() > maxShapes;
+            }
+        });
+    }
+
+    /**
+     * Builds the cache key of a query.
+     *
+     * @param entityClass The queried entity class.
+     * @param kind        The kind of query, such as the selected columns.
+     * @param terms       The filter terms of the query.
+     * @param details     Further details changing the query, such as the sort field and order.
+     * @return The cache key.
+     */
+    public static String shapeKey(Class<?> entityClass, String kind, List<FilterTerm> terms, Object... details) {
+        StringBuilder key = new StringBuilder(entityClass.getName()).append('|').append(kind).append('|')
+                .append(FilterTerm.describeShape(terms));
+        for (Object detail : details) {
+            key.append('|').append(detail);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Retrieves the query of a shape, compiling it on first use. Concurrent misses may compile the same shape
+     * more than once; the first query stored is kept.
+     *
+     * @param key      The shape key.
+     * @param compiler Builds the query with parameterized binding.
+     * @return The cached query.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompiledQuery<R> getOrCompile(String key, Supplier<CompiledQuery<R>> compiler) {
+        CompiledQuery<R> query = (CompiledQuery<R>) queries.get(key);
+        if (query != null) {
+            adminMetrics.queryShapeHit();
+            return query;
+        }
+        adminMetrics.queryShapeMiss();
+        CompiledQuery<R> compiled = compiler.get();
+        CompiledQuery<R> existing = (CompiledQuery<R>) queries.putIfAbsent(key, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Returns the number of cached queries.
+     *
+     * @return The cache size.
+     */
+    public int size() {
+        return queries.size();
+    }
+
+    /**
+     * Criteria query built with parameterized binding, together with its parameters in binding order. The query
+     * is shared between requests and must not be modified.
+     */
+    public static final class CompiledQuery<R> {
+        private final CriteriaQuery<R> query;
+        private final List<ParameterExpression<?>> parameters;
+
+        public CompiledQuery(CriteriaQuery<R> query, QueryParameters parameters) {
+            this.query = query;
+            this.parameters = List.copyOf(parameters.getParameters());
+        }
+
+        /**
+         * Creates an executable query with the given parameter values.
+         *
+         * @param entityManager The entity manager executing the query.
+         * @param values        The values, in the order the parameters were bound.
+         * @return The typed query.
+         * @throws IllegalStateException If the number of values does not match the parameters.
+         */
+        @SuppressWarnings("unchecked")
+        public TypedQuery<R> createQuery(EntityManager entityManager, List<Object> values) {
+            if (values.size() != parameters.size()) {
+                throw new IllegalStateException("Query expects " + parameters.size() + " parameter values, got " + values.size());
+            }
+            TypedQuery<R> typedQuery = entityManager.createQuery(query);
+            for (int i = 0; i < values.size(); i++) {
+                typedQuery.setParameter((ParameterExpression<Object>) parameters.get(i), values.get(i));
+            }
+            return typedQuery;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.TableModificationTracker;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk operations over all records of a table matching the filters of the list, in the background.
+ * <p>
+ * Matching records are processed in chunks of ascending IDs: each chunk selects the next IDs after the
+ * previous chunk and runs one update or delete statement over them in its own transaction, so that no
+ * transaction holds row locks for long. Selected records are processed in chunks the same way. Progress is
+ * tracked in a {@link BulkJob}. Jobs run one at a time, in submission order.
+ */
+public class RecordBulkProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordBulkProcessor.class);
+    private static final String ID_FIELD = "id";
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final Map<String, BulkJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private RecordListService recordListService;
+
+    @Autowired
+    private RecordCounter recordCounter;
+
+    @Autowired
+    private QueryBuilder queryBuilder;
+
+    @Autowired
+    private FieldUtils fieldUtils;
+
+    @Autowired
+    private FieldValueSetter fieldValueSetter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityTableService entityTableService;
+
+    @Autowired
+    private TableModificationTracker tableModificationTracker;
+
+    /**
+     * Constructs a new RecordBulkProcessor.
+     *
+     * @param chunkSize The number of records processed per transaction.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     */
+    public RecordBulkProcessor(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jpadmin-bulk");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lists the fields of a table that can be set by a bulk update: basic, embedded and ManyToOne/OneToOne
+     * fields other than the ID.
+     *
+     * @param tableName The name of the table.
+     * @return The field names, in field order.
+     */
+    public List<String> getUpdatableFields(String tableName) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        return descriptor.getFields().stream()
+                .filter(field -> !ID_FIELD.equals(field) && !descriptor.isCollectionRelation(field))
+                .filter(field -> descriptor.getForeignKeyFields().containsKey(field) || descriptor.getFieldWriters().containsKey(field))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts setting a field to the same value on every record of a table matching the filters. The value is
+     * converted and validated before the job is queued; the records are updated with bulk update statements,
+     * without loading them.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters of the list.
+     * @param field     The field to set.
+     * @param value     The new value as entered in the record forms; for relation fields, the ID of the referenced record.
+     * @return The queued job.
+     * @throws IllegalArgumentException If the field cannot be updated or the value is invalid.
+     */
+    public BulkJob startUpdate(String tableName, List<Map<String, String>> filters, String field, String value) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        if (!getUpdatableFields(tableName).contains(field)) {
+            throw new IllegalArgumentException("Field " + field + " cannot be updated in bulk");
+        }
+        Assignment assignment = resolveAssignment(descriptor, field, value);
+        String versionAttribute = entityTableService.findVersionAttribute(tableName);
+        List<Map<String, String>> adjustedFilters = recordListService.adjustFilters(filters, descriptor.getFilterFields());
+        List<FilterTerm> terms = resolveFilters(descriptor, adjustedFilters);
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), tableName, "Set " + field + " = " + (value == null ? "null" : value));
+        submit(job, () -> runFiltered(job, descriptor, adjustedFilters, terms,
+                chunk -> executeUpdate(descriptor, terms, chunk, assignment, versionAttribute)));
+        logger.info("Queued bulk update {} of table {}: {} where {}", job.getId(), tableName, job.getDescription(), adjustedFilters);
+        return job;
+    }
+
+    /**
+     * Counts the records of a table matching the filters, as a dry run of a bulk operation.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters of the list.
+     * @return The number of matching records.
+     */
+    public long countMatching(String tableName, List<Map<String, String>> filters) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        return recordCounter.countExact(descriptor, recordListService.adjustFilters(filters, descriptor.getFilterFields()));
+    }
+
+    /**
+     * Starts deleting every record of a table matching the filters with bulk delete statements, without
+     * loading the records.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters of the list.
+     * @return The queued job.
+     */
+    public BulkJob startDelete(String tableName, List<Map<String, String>> filters) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        List<Map<String, String>> adjustedFilters = recordListService.adjustFilters(filters, descriptor.getFilterFields());
+        List<FilterTerm> terms = resolveFilters(descriptor, adjustedFilters);
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), tableName, "Delete matching records");
+        submit(job, () -> runFiltered(job, descriptor, adjustedFilters, terms, chunk -> executeDelete(descriptor, terms, chunk)));
+        logger.info("Queued bulk delete {} of table {} where {}", job.getId(), tableName, adjustedFilters);
+        return job;
+    }
+
+    /**
+     * Starts deleting the given records of a table with bulk delete statements.
+     *
+     * @param tableName The name of the table.
+     * @param ids       The IDs of the records, as shown in the list.
+     * @return The queued job.
+     * @throws IllegalArgumentException If no ID is given or an ID is invalid.
+     */
+    public BulkJob startDeleteSelected(String tableName, List<String> ids) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No records selected");
+        }
+        List<Object> typedIds = parseIds(descriptor, ids);
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), tableName, "Delete " + typedIds.size() + " selected records");
+        submit(job, () -> runSelected(job, typedIds, chunk -> executeDelete(descriptor, List.of(), chunk)));
+        logger.info("Queued bulk delete {} of {} selected records of table {}", job.getId(), typedIds.size(), tableName);
+        return job;
+    }
+
+    /**
+     * Retrieves a bulk job.
+     *
+     * @param jobId The ID of the job.
+     * @return The job, or null if it is unknown or has been evicted.
+     */
+    public BulkJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(BulkJob job, Runnable work) {
+        registerJob(job);
+        try {
+            executor.execute(() -> {
+                try {
+                    work.run();
+                    job.complete();
+                    logger.info("Bulk job {} on table {} completed: {} records in {} ms", job.getId(), job.getTableName(),
+                            job.getProcessed(), job.getElapsedMillis());
+                } catch (RuntimeException e) {
+                    logger.error("Bulk job {} on table {} failed after {} records: {}", job.getId(), job.getTableName(),
+                            job.getProcessed(), e.getMessage(), e);
+                    job.fail(e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new IllegalStateException("Bulk operations are not accepted while shutting down", e);
+        }
+    }
+
+    private void registerJob(BulkJob job) {
+        synchronized (jobs) {
+            Iterator<BulkJob> oldest = jobs.values().iterator();
+            while (jobs.size() >= MAX_RETAINED_JOBS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    /**
+     * Runs a statement over all records matching the filters, one chunk of ascending IDs per transaction. The
+     * total is counted from the filters as for the dry run, while the chunks are selected and restricted by the
+     * terms the filters resolve to, in the same way.
+     */
+    private void runFiltered(BulkJob job, EntityDescriptor descriptor, List<Map<String, String>> filters,
+                             List<FilterTerm> terms, ChunkStatement statement) {
+        job.start(recordCounter.countExact(descriptor, filters));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Object lastId = null;
+        while (true) {
+            Object previousId = lastId;
+            ChunkResult chunk = transaction.execute(status -> {
+                List<Object> ids = selectNextIds(descriptor, terms, previousId);
+                if (ids.isEmpty()) {
+                    return new ChunkResult(null, 0);
+                }
+                tableModificationTracker.markModified(job.getTableName());
+                return new ChunkResult(ids.get(ids.size() - 1), statement.execute(new Chunk(ids, true)));
+            });
+            if (chunk == null || chunk.lastId == null) {
+                return;
+            }
+            job.addProcessed(chunk.affected);
+            lastId = chunk.lastId;
+            logger.debug("Bulk job {}: {} of {} records processed", job.getId(), job.getProcessed(), job.getTotal());
+        }
+    }
+
+    /**
+     * Runs a statement over the given records, one chunk of IDs per transaction.
+     */
+    private void runSelected(BulkJob job, List<Object> ids, ChunkStatement statement) {
+        job.start(ids.size());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            Chunk chunk = new Chunk(ids.subList(from, Math.min(from + chunkSize, ids.size())), false);
+            Integer affected = transaction.execute(status -> {
+                tableModificationTracker.markModified(job.getTableName());
+                return statement.execute(chunk);
+            });
+            job.addProcessed(affected != null ? affected : 0);
+            logger.debug("Bulk job {}: {} of {} records processed", job.getId(), job.getProcessed(), job.getTotal());
+        }
+    }
+
+    /**
+     * Runs the bulk update of a chunk. Numeric version attributes are incremented as Hibernate does for
+     * versioned updates, so that forms opened before the update fail optimistic locking and cached record
+     * pages are revalidated.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> int executeUpdate(EntityDescriptor descriptor, List<FilterTerm> terms, Chunk chunk,
+                                  Assignment assignment, String versionAttribute) {
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = update.from(entityClass);
+        Path<Object> target = resolvePath(root, assignment.path);
+        Object value = assignment.resolveValue(entityManager);
+        if (value == null) {
+            Expression<Object> nullValue = cb.nullLiteral((Class<Object>) target.getJavaType());
+            update.<Object>set(target, nullValue);
+        } else {
+            update.set(target, value);
+        }
+        if (versionAttribute != null && !versionAttribute.equals(assignment.path)) {
+            Path<Number> version = root.get(versionAttribute);
+            Class<?> versionType = version.getJavaType();
+            if (versionType.isPrimitive() || Number.class.isAssignableFrom(versionType)) {
+                update.set(version, cb.sum(version, 1));
+            }
+        }
+        update.where(buildChunkPredicate(cb, root, descriptor, terms, chunk));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> int executeDelete(EntityDescriptor descriptor, List<FilterTerm> terms, Chunk chunk) {
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(entityClass);
+        Root<T> root = delete.from(entityClass);
+        delete.where(buildChunkPredicate(cb, root, descriptor, terms, chunk));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    /**
+     * Selects the IDs of the next chunk of matching records, in ascending order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> List<Object> selectNextIds(EntityDescriptor descriptor, List<FilterTerm> terms, Object afterId) {
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> cq = cb.createQuery(Object.class);
+        Root<T> root = cq.from(entityClass);
+        Expression<Comparable> id = root.get(ID_FIELD);
+        List<Predicate> predicates = buildFilterPredicates(cb, root, descriptor, terms);
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(id, (Comparable) afterId));
+        }
+        cq.select(root.get(ID_FIELD)).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(id));
+        return entityManager.createQuery(cq).setMaxResults(chunkSize).getResultList();
+    }
+
+    /**
+     * Restricts a bulk statement to a chunk. When the chunk holds consecutive matching IDs and the filters apply
+     * to columns of the entity's own table, the statement covers the ID range of the chunk and repeats the
+     * filters, so rows that stopped matching since the IDs were selected are left alone. Filters on relations
+     * require joins, which bulk statements do not support; the statement is then restricted to the IDs of the
+     * chunk, as it is for selected records.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate buildChunkPredicate(CriteriaBuilder cb, Root<T> root, EntityDescriptor descriptor,
+                                              List<FilterTerm> terms, Chunk chunk) {
+        List<Object> ids = chunk.ids;
+        Expression<Comparable> id = root.get(ID_FIELD);
+        if (!chunk.contiguous || !isJoinFree(descriptor, terms)) {
+            return root.get(ID_FIELD).in(ids);
+        }
+        List<Predicate> predicates = buildFilterPredicates(cb, root, descriptor, terms);
+        predicates.add(cb.between(id, (Comparable) ids.get(0), (Comparable) ids.get(ids.size() - 1)));
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    private List<FilterTerm> resolveFilters(EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        return queryBuilder.resolveFilters(filters, descriptor.getEntityClass(), descriptor.getListEmbeddedFieldPaths());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<Predicate> buildFilterPredicates(CriteriaBuilder cb, Root<T> root, EntityDescriptor descriptor,
+                                                      List<FilterTerm> terms) {
+        List<Predicate> predicates = new ArrayList<>();
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        QueryParameters parameters = QueryParameters.inline(cb);
+        for (FilterTerm term : terms) {
+            predicates.add(queryBuilder.buildPredicate(cb, root, term, entityClass,
+                    descriptor.getListEmbeddedFieldPaths(), parameters));
+        }
+        return predicates;
+    }
+
+    private boolean isJoinFree(EntityDescriptor descriptor, List<FilterTerm> terms) {
+        return terms.stream().map(FilterTerm::getField).noneMatch(field -> field != null
+                && (descriptor.getForeignKeyFields().containsKey(field) || descriptor.isCollectionRelation(field)));
+    }
+
+    private List<Object> parseIds(EntityDescriptor descriptor, List<String> ids) {
+        try {
+            Function<String, Object> converter = fieldValueSetter.compileConverter(
+                    fieldUtils.getFieldFromHierarchy(descriptor.getEntityClass(), ID_FIELD));
+            return ids.stream().distinct().map(converter).filter(Objects::nonNull).collect(Collectors.toList());
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Entity " + descriptor.getEntityClass().getSimpleName() + " has no id field", e);
+        }
+    }
+
+    private Path<Object> resolvePath(Root<?> root, String path) {
+        Path<Object> current = null;
+        for (String part : path.split("\\.")) {
+            current = current == null ? root.get(part) : current.get(part);
+        }
+        return current;
+    }
+
+    private Assignment resolveAssignment(EntityDescriptor descriptor, String field, String value) {
+        Class<?> entityClass = descriptor.getEntityClass();
+        try {
+            if (descriptor.getForeignKeyFields().containsKey(field)) {
+                Field relation = fieldUtils.getFieldFromHierarchy(entityClass, field);
+                Field targetId = fieldUtils.getFieldFromHierarchy(relation.getType(), ID_FIELD);
+                Object id = fieldValueSetter.compileConverter(targetId).apply(value);
+                if (id == null && !descriptor.getNullableFields().getOrDefault(field, true)) {
+                    throw new IllegalArgumentException("Field " + field + " cannot be null");
+                }
+                Class<?> targetClass = relation.getType();
+                return new Assignment(field, em -> id != null ? em.getReference(targetClass, id) : null);
+            }
+            FieldWriter writer = descriptor.getFieldWriter(field);
+            Object converted = writer.convert(value);
+            if (converted == null && writer.getFieldType().isPrimitive()) {
+                throw new IllegalArgumentException("Field " + field + " cannot be null");
+            }
+            if (!writer.getPath().contains(".")) {
+                Set<? extends ConstraintViolation<?>> violations = validator.validateValue(entityClass, writer.getPath(), converted);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(field + ": " + violations.stream()
+                            .map(ConstraintViolation::getMessage).collect(Collectors.joining("; ")));
+                }
+            }
+            return new Assignment(writer.getPath(), em -> converted);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Field " + field + " cannot be updated in bulk", e);
+        }
+    }
+
+    /**
+     * Target path and value of a bulk update. Relation values are resolved against the entity manager of the
+     * chunk transaction.
+     */
+    private static final class Assignment {
+        final String path;
+        final Function<EntityManager, Object> value;
+
+        Assignment(String path, Function<EntityManager, Object> value) {
+            this.path = path;
+            this.value = value;
+        }
+
+        Object resolveValue(EntityManager em) {
+            return value.apply(em);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkStatement {
+        int execute(Chunk chunk);
+    }
+
+    /**
+     * IDs processed in one transaction. Contiguous chunks hold all matching IDs between their first and last ID.
+     */
+    private static final class Chunk {
+        final List<Object> ids;
+        final boolean contiguous;
+
+        Chunk(List<Object> ids, boolean contiguous) {
+            this.ids = ids;
+            this.contiguous = contiguous;
+        }
+    }
+
+    private static final class ChunkResult {
+        final Object lastId;
+        final long affected;
+
+        ChunkResult(Object lastId, long affected) {
+            this.lastId = lastId;
+            this.affected = affected;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package by.glebka.jpadmin.service.record;
+
+import java.util.Locale;
+
+/**
+ * Total number of records of a table list, together with how precise it is.
+ */
+public final class RecordCount {
+
+    /**
+     * Precision of a record count.
+     */
+    public enum Precision {
+        /** The exact number of records. */
+        EXACT,
+        /** A planner estimate. */
+        ESTIMATED,
+        /** A lower bound: at least this many records exist. */
+        AT_LEAST,
+        /** The count did not complete in time. */
+        UNKNOWN
+    }
+
+    private final long value;
+    private final Precision precision;
+
+    private RecordCount(long value, Precision precision) {
+        this.value = value;
+        this.precision = precision;
+    }
+
+    public static RecordCount exact(long value) {
+        return new RecordCount(value, Precision.EXACT);
+    }
+
+    public static RecordCount estimated(long value) {
+        return new RecordCount(value, Precision.ESTIMATED);
+    }
+
+    public static RecordCount atLeast(long value) {
+        return new RecordCount(value, Precision.AT_LEAST);
+    }
+
+    public static RecordCount unknown() {
+        return new RecordCount(0, Precision.UNKNOWN);
+    }
+
+    public long getValue() { return value; }
+    public Precision getPrecision() { return precision; }
+
+    public boolean isExact() {
+        return precision == Precision.EXACT;
+    }
+
+    /**
+     * Formats the count for display: {@code 1,234} when exact, {@code ~1,234} when estimated,
+     * {@code 10,000+} for a lower bound and {@code unknown} when not known.
+     *
+     * @return The display text.
+     */
+    public String getDisplay() {
+        String formatted = String.format(Locale.US, "%,d", value);
+        return switch (precision) {
+            case EXACT -> formatted;
+            case ESTIMATED -> "~" + formatted;
+            case AT_LEAST -> formatted + "+";
+            case UNKNOWN -> "unknown";
+        };
+    }
+
+    @Override
+    public String toString() {
+        return getDisplay();
+    }
+}
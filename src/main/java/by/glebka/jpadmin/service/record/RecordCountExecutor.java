@@ -0,0 +1,134 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.AdminMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor running record counts concurrently with the page query of a table list.
+ * Counts that are rejected because the executor is saturated, fail or exceed the timeout
+ * degrade to an unknown total instead of blocking the page. A count exceeding the timeout is
+ * cancelled along with its statement, as interrupting the count thread does not stop a running
+ * JDBC statement, which would keep a count thread and its connection busy.
+ */
+public class RecordCountExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordCountExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    /**
+     * Constructs a new RecordCountExecutor.
+     *
+     * @param poolSize      The number of count threads, and thus of connections used for counting at most.
+     * @param queueCapacity The number of counts that may wait for a thread.
+     * @param timeoutMillis The time the page waits for its count, in milliseconds.
+     * @throws IllegalArgumentException If a parameter is not positive.
+     */
+    public RecordCountExecutor(int poolSize, int queueCapacity, long timeoutMillis) {
+        if (poolSize <= 0 || queueCapacity <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Count pool size, queue capacity and timeout must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CountThreadFactory());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Submits a count.
+     *
+     * @param count           The count to run.
+     * @param cancelStatement Cancels the statement of the count, run when the pending count is cancelled
+     *                        before it completes.
+     * @return The pending count, or null if the executor is saturated.
+     */
+    public Future<RecordCount> submit(Callable<RecordCount> count, Runnable cancelStatement) {
+        FutureTask<RecordCount> task = new FutureTask<>(() -> {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                RecordCount result = count.call();
+                failed = false;
+                return result;
+            } finally {
+                adminMetrics.recordCounts().record(System.nanoTime() - start, failed);
+            }
+        }) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    cancelStatement.run();
+                }
+                return cancelled;
+            }
+        };
+        try {
+            executor.execute(task);
+            return task;
+        } catch (RejectedExecutionException e) {
+            logger.warn("Record count rejected: count executor is saturated");
+            adminMetrics.recordCountRejected();
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a pending count, giving up after the timeout and cancelling the count then.
+     *
+     * @param pendingCount The pending count, or null if it was rejected.
+     * @return The record count, or an unknown count.
+     */
+    public RecordCount await(Future<RecordCount> pendingCount) {
+        if (pendingCount == null) {
+            return RecordCount.unknown();
+        }
+        try {
+            return pendingCount.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            pendingCount.cancel(true);
+            logger.warn("Record count did not complete within {} ms", timeoutMillis);
+            adminMetrics.recordCountTimedOut();
+        } catch (ExecutionException e) {
+            logger.warn("Record count failed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            pendingCount.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return RecordCount.unknown();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class CountThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "jpadmin-count-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
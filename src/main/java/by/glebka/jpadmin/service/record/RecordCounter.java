@@ -0,0 +1,287 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.CountStrategy;
+import by.glebka.jpadmin.config.TableConfig;
+import by.glebka.jpadmin.service.ReplicaRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Component computing the total number of records of a table list according to the
+ * {@link CountStrategy} of the table.
+ */
+@Component
+public class RecordCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordCounter.class);
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+    private static final String TABLE_ESTIMATE_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryBuilder queryBuilder;
+
+    @Autowired
+    private SqlFilterTranslator sqlFilterTranslator;
+
+    @Autowired
+    private RecordCountExecutor countExecutor;
+
+    @Autowired
+    private QueryShapeCache queryShapeCache;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private ActiveQueryRegistry activeQueryRegistry;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    /**
+     * Counts the records of a table list.
+     *
+     * @param descriptor The descriptor of the entity.
+     * @param filters    The filters with field names resolved as in the list query.
+     * @return The record count.
+     */
+    public RecordCount count(EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        return count(entityManager, descriptor, filters);
+    }
+
+    /**
+     * Starts counting the records of a table list on the count executor, using a dedicated entity manager
+     * and therefore a separate connection, so that the count runs concurrently with the page query.
+     * If the page belongs to a tracked admin read, the count is cancelled along with it; if the page is read
+     * from the replica, so is the count. A count the page stops waiting for is cancelled on its own.
+     *
+     * @param descriptor The descriptor of the entity.
+     * @param filters    The filters with field names resolved as in the list query.
+     * @return The pending count, or null if the count executor is saturated.
+     */
+    public Future<RecordCount> countAsync(EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
+        ActiveQueryRegistry.ActiveQuery activeQuery = activeQueryRegistry.current();
+        ActiveQueryRegistry.ActiveQuery countQuery = activeQueryRegistry.start(null);
+        boolean replica = replicaRouter.isReplicaRequested();
+        return countExecutor.submit(() -> replicaRouter.runOnReplica(replica, () -> {
+            EntityManager countEntityManager = entityManagerFactory.createEntityManager();
+            try {
+                return activeQueryRegistry.runAttached(activeQuery, countEntityManager,
+                        () -> activeQueryRegistry.runAttached(countQuery, countEntityManager,
+                                () -> count(countEntityManager, descriptor, filters)));
+            } finally {
+                countEntityManager.close();
+            }
+        }), () -> activeQueryRegistry.timeOut(countQuery));
+    }
+
+    /**
+     * Waits for a count started by {@link #countAsync}, giving up after the configured timeout.
+     *
+     * @param pendingCount The pending count, or null if it could not be started.
+     * @return The record count, or an unknown count on timeout, failure or saturation.
+     */
+    public RecordCount awaitCount(Future<RecordCount> pendingCount) {
+        return countExecutor.await(pendingCount);
+    }
+
+    private RecordCount count(EntityManager em, EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        TableConfig tableConfig = descriptor.getTableConfig();
+        CountStrategy strategy = tableConfig != null ? tableConfig.getCountStrategy() : CountStrategy.EXACT;
+        return switch (strategy) {
+            case EXACT, WINDOW -> RecordCount.exact(countExact(em, descriptor, filters, true));
+            case CAPPED -> countCapped(em, descriptor, filters, tableConfig.getCountCap());
+            case ESTIMATE -> countEstimated(em, descriptor, filters, tableConfig.getCountCap());
+        };
+    }
+
+    /**
+     * Counts the records exactly with {@code count(*)}, without the time budget of list counts.
+     *
+     * @param descriptor The descriptor of the entity.
+     * @param filters    The filters with field names resolved as in the list query.
+     * @return The exact number of records.
+     */
+    public long countExact(EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        return countExact(entityManager, descriptor, filters, false);
+    }
+
+    private long countExact(EntityManager em, EntityDescriptor descriptor, List<Map<String, String>> filters, boolean bounded) {
+        TypedQuery<Long> query = createQuery(em, "count", descriptor, filters, (cb, parameters, terms) -> {
+            CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            Root<?> root = cq.from(descriptor.getEntityClass());
+            cq.select(cb.count(root));
+            applyFilters(cb, cq, root, descriptor, terms, parameters);
+            return cq;
+        });
+        return (bounded ? queryBudget.apply(query, descriptor.getEntityClass()) : query).getSingleResult();
+    }
+
+    /**
+     * Counts the elements of a OneToMany or ManyToMany collection for several records with one grouped query,
+     * without loading the related entities.
+     *
+     * @param descriptor      The descriptor of the entity owning the collection.
+     * @param collectionField The name of the collection field.
+     * @param ids             The IDs of the records.
+     * @return The collection sizes keyed by record ID; records with empty collections are absent.
+     */
+    public Map<Object, Long> countCollection(EntityDescriptor descriptor, String collectionField, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<?> root = cq.from(descriptor.getEntityClass());
+        Join<?, ?> related = root.join(collectionField);
+        Path<Object> id = root.get("id");
+        cq.multiselect(id, cb.count(related)).where(id.in(ids)).groupBy(id);
+
+        Map<Object, Long> sizes = new HashMap<>();
+        for (Tuple tuple : queryBudget.apply(entityManager.createQuery(cq), descriptor.getEntityClass()).getResultList()) {
+            sizes.put(tuple.get(0), tuple.get(1, Long.class));
+        }
+        return sizes;
+    }
+
+    /**
+     * Counts at most {@code cap} records by reading the IDs of up to {@code cap + 1} matching rows.
+     */
+    private RecordCount countCapped(EntityManager em, EntityDescriptor descriptor, List<Map<String, String>> filters, int cap) {
+        TypedQuery<Object> query = createQuery(em, "ids", descriptor, filters, (cb, parameters, terms) -> {
+            CriteriaQuery<Object> cq = cb.createQuery(Object.class);
+            Root<?> root = cq.from(descriptor.getEntityClass());
+            cq.select(root.get("id"));
+            applyFilters(cb, cq, root, descriptor, terms, parameters);
+            return cq;
+        });
+        int matched = queryBudget.apply(query, descriptor.getEntityClass()).setMaxResults(cap + 1).getResultList().size();
+        return matched > cap ? RecordCount.atLeast(cap) : RecordCount.exact(matched);
+    }
+
+    /**
+     * Uses the planner estimate, falling back to a capped count when no estimate is available.
+     * Estimates below the cap are replaced by a capped count, which is exact for such small results.
+     */
+    private RecordCount countEstimated(EntityManager em, EntityDescriptor descriptor, List<Map<String, String>> filters, int cap) {
+        Long estimate = filters == null || filters.isEmpty()
+                ? estimateTableRows(em, descriptor)
+                : estimateFilteredRows(em, descriptor, filters);
+        if (estimate == null || estimate < cap) {
+            return countCapped(em, descriptor, filters, cap);
+        }
+        return RecordCount.estimated(estimate);
+    }
+
+    private Long estimateTableRows(EntityManager em, EntityDescriptor descriptor) {
+        String tableName = sqlFilterTranslator.getTableName(descriptor.getEntityClass());
+        if (tableName == null) {
+            return null;
+        }
+        Long estimate = runQuery(em, TABLE_ESTIMATE_SQL, List.of(tableName), resultSet -> resultSet.next() ? resultSet.getLong(1) : null);
+        // reltuples is -1 for tables that have never been vacuumed or analyzed
+        return estimate != null && estimate >= 0 ? estimate : null;
+    }
+
+    private Long estimateFilteredRows(EntityManager em, EntityDescriptor descriptor, List<Map<String, String>> filters) {
+        String tableName = sqlFilterTranslator.getTableName(descriptor.getEntityClass());
+        SqlWhereClause where = sqlFilterTranslator.translate(filters, descriptor);
+        if (tableName == null || where == null) {
+            return null;
+        }
+        String sql = "EXPLAIN " + where.appendTo("SELECT 1 FROM " + tableName);
+        return runQuery(em, sql, where.getParameters(), resultSet -> {
+            if (!resultSet.next()) return null;
+            Matcher matcher = PLAN_ROWS_PATTERN.matcher(resultSet.getString(1));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+        });
+    }
+
+    private <R> R runQuery(EntityManager em, String sql, List<Object> parameters, ResultSetReader<R> reader) {
+        try {
+            return em.unwrap(Session.class).doReturningWork(connection -> executeQuery(connection, sql, parameters, reader));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to estimate row count with '{}': {}", sql, e.getMessage());
+            return null;
+        }
+    }
+
+    private <R> R executeQuery(Connection connection, String sql, List<Object> parameters, ResultSetReader<R> reader) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return reader.read(resultSet);
+            }
+        }
+    }
+
+    /**
+     * Creates a count query from the query shape cache, building it with parameterized filter values on a miss.
+     */
+    private <R> TypedQuery<R> createQuery(EntityManager em, String kind, EntityDescriptor descriptor,
+                                          List<Map<String, String>> filters, CountQueryBuilder<R> builder) {
+        List<FilterTerm> terms = queryBuilder.resolveFilters(filters, descriptor.getEntityClass(),
+                descriptor.getListEmbeddedFieldPaths());
+        String key = QueryShapeCache.shapeKey(descriptor.getEntityClass(), kind, terms);
+        QueryShapeCache.CompiledQuery<R> compiled = queryShapeCache.getOrCompile(key, () -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            QueryParameters parameters = QueryParameters.parameterized(cb);
+            return new QueryShapeCache.CompiledQuery<>(builder.build(cb, parameters, terms), parameters);
+        });
+        return compiled.createQuery(em, FilterTerm.collectValues(terms));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void applyFilters(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<?> root, EntityDescriptor descriptor,
+                                  List<FilterTerm> terms, QueryParameters parameters) {
+        Root<T> typedRoot = (Root<T>) root;
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        List<Predicate> predicates = new ArrayList<>();
+        for (FilterTerm term : terms) {
+            predicates.add(queryBuilder.buildPredicate(cb, typedRoot, term, entityClass,
+                    descriptor.getListEmbeddedFieldPaths(), parameters));
+        }
+        if (!predicates.isEmpty()) {
+            cq.where(cb.and(predicates.toArray(new Predicate[0])));
+        }
+    }
+
+    @FunctionalInterface
+    private interface CountQueryBuilder<R> {
+        CriteriaQuery<R> build(CriteriaBuilder cb, QueryParameters parameters, List<FilterTerm> terms);
+    }
+
+    @FunctionalInterface
+    private interface ResultSetReader<R> {
+        R read(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -1,8 +1,11 @@
 package by.glebka.jpadmin.service.record;
 
-import by.glebka.jpadmin.scanner.EntityInfo;
 import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.ReplicaRouter;
 import jakarta.persistence.*;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +34,15 @@ public class RecordDetailsFetcher {
     @Autowired
     private FieldUtils fieldUtils;
 
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
     /**
      * Fetches detailed information about a specific record with configurable table checking.
      *
@@ -39,31 +51,41 @@ public class RecordDetailsFetcher {
      * @param strictTableCheck Whether to enforce strict table registration checks.
      * @return A map containing record details, or null if the record is not found.
      */
-    @SuppressWarnings("unchecked")
     public Map<String, Object> getRecordDetails(String tableName, Long id, boolean strictTableCheck) {
+        return getRecordDetails(tableName, id, strictTableCheck, false);
+    }
+
+    /**
+     * Fetches detailed information about a specific record, optionally from the read replica.
+     *
+     * @param tableName        The name of the table.
+     * @param id               The ID of the record.
+     * @param strictTableCheck Whether to enforce strict table registration checks.
+     * @param fromReplica      Whether the record may be read from the read replica. Only read-only views may use
+     *                         it: a form saving the record back must start from its current state on the primary.
+     * @return A map containing record details, or null if the record is not found.
+     */
+    public Map<String, Object> getRecordDetails(String tableName, Long id, boolean strictTableCheck, boolean fromReplica) {
         if (tableName == null || id == null) {
             throw new IllegalArgumentException("Table name and ID cannot be null");
         }
         logger.debug("Fetching details for table {} with id {}, strictTableCheck={}", tableName, id, strictTableCheck);
 
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Table not found: " + tableName));
-
-        Class<?> entityClass = loadEntityClass(entityInfo);
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Class<?> entityClass = descriptor.getEntityClass();
+        if (fromReplica) {
+            replicaRouter.useReplicaForTransaction();
+        }
+        queryBudget.applyToTransaction(entityManager, entityClass);
         Object entity = entityManager.find(entityClass, id);
         if (entity == null) {
             logger.warn("Entity not found for table {} with id {}", tableName, id);
             return null;
         }
 
-        Map<String, Object> metadata = collectFieldMetadata(entityClass);
-        Map<String, Object> recordMap = buildRecordMap(entity, entityClass, metadata);
-        Map<String, Map<String, String>> childTables = buildChildTables(entityClass, recordMap, metadata, strictTableCheck);
-
-        List<String> simpleFields = buildSimpleFields(metadata);
-        return assembleResult(tableName, entityClass, recordMap, metadata, simpleFields, childTables);
+        Map<String, Object> recordMap = buildRecordMap(entity, descriptor);
+        Map<String, Map<String, String>> childTables = buildChildTables(descriptor, recordMap, strictTableCheck);
+        return assembleResult(tableName, descriptor, recordMap, childTables);
     }
 
     /**
@@ -77,6 +99,24 @@ public class RecordDetailsFetcher {
         return getRecordDetails(tableName, id, false);
     }
 
+    /**
+     * Reads the value of the version attribute of a record without loading the entity.
+     *
+     * @param tableName        The name of the table.
+     * @param id               The ID of the record.
+     * @param versionAttribute The name of the version attribute of the entity.
+     * @return The version, or null if the record is not found.
+     */
+    public Object findRecordVersion(String tableName, Long id, String versionAttribute) {
+        Class<?> entityClass = entityTableService.getEntityClass(tableName);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<?> root = query.from(entityClass);
+        query.select(root.get(versionAttribute)).where(cb.equal(root.get("id"), id));
+        List<Object> versions = entityManager.createQuery(query).setMaxResults(1).getResultList();
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
     /**
      * Fetches metadata for an empty record for a given table.
      *
@@ -86,74 +126,33 @@ public class RecordDetailsFetcher {
     public Map<String, Object> getEmptyRecordData(String tableName) {
         logger.debug("Fetching empty record data for table {}", tableName);
 
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Table not found: " + tableName));
-
-        Class<?> entityClass = loadEntityClass(entityInfo);
-        Map<String, Object> metadata = collectFieldMetadata(entityClass);
-        Map<String, Object> recordMap = initializeEmptyRecord(metadata);
-        List<String> simpleFields = buildSimpleFields(metadata);
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Map<String, Object> recordMap = initializeEmptyRecord(descriptor);
 
         Map<String, Object> result = new HashMap<>();
         result.put("tableName", tableName);
-        result.put("entityClass", entityClass.getSimpleName());
+        result.put("entityClass", descriptor.getEntityClass().getSimpleName());
         result.put("record", recordMap);
-        result.put("fields", metadata.get("displayFields"));
-        result.put("simpleFields", simpleFields);
-        result.put("isCollectionField", metadata.get("isCollectionField"));
-        result.put("fieldTypes", metadata.get("fieldTypes"));
-        result.put("nullableFields", metadata.get("nullableFields"));
-        result.put("foreignKeyFields", metadata.get("foreignKeyFields"));
-        result.put("oneToManyFields", metadata.get("oneToManyFields"));
-        result.put("manyToManyFields", metadata.get("manyToManyFields"));
+        result.put("fields", descriptor.getFields());
+        result.put("simpleFields", descriptor.getSimpleFields());
+        result.put("isCollectionField", descriptor.getIsCollectionField());
+        result.put("fieldTypes", descriptor.getFieldTypes());
+        result.put("nullableFields", descriptor.getNullableFields());
+        result.put("foreignKeyFields", descriptor.getForeignKeyFields());
+        result.put("oneToManyFields", descriptor.getOneToManyFields());
+        result.put("manyToManyFields", descriptor.getManyToManyFields());
         return result;
     }
 
-    private Class<?> loadEntityClass(EntityInfo entityInfo) {
-        try {
-            return Class.forName(entityInfo.getClassName());
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load entity class: {}", e.getMessage());
-            throw new RuntimeException("Unable to load entity class: " + entityInfo.getClassName(), e);
-        }
-    }
-
-    private Map<String, Object> collectFieldMetadata(Class<?> entityClass) {
-        Set<String> displayFields = new LinkedHashSet<>();
-        Map<String, Boolean> isCollectionField = new HashMap<>();
-        Map<String, String> embeddedFieldPaths = new HashMap<>();
-        Map<String, String> fieldTypes = new HashMap<>();
-        Map<String, Boolean> nullableFields = new HashMap<>();
-        Map<String, String> foreignKeyFields = new HashMap<>();
-        Map<String, String> foreignKeyColumnNames = new HashMap<>();
-        Map<String, String> oneToManyFields = new HashMap<>();
-        Map<String, String> manyToManyFields = new HashMap<>();
-        fieldUtils.collectFieldTypes(entityClass, displayFields, isCollectionField, embeddedFieldPaths, fieldTypes, nullableFields, foreignKeyFields, foreignKeyColumnNames, oneToManyFields, manyToManyFields);
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("displayFields", displayFields);
-        metadata.put("isCollectionField", isCollectionField);
-        metadata.put("embeddedFieldPaths", embeddedFieldPaths);
-        metadata.put("fieldTypes", fieldTypes);
-        metadata.put("nullableFields", nullableFields);
-        metadata.put("foreignKeyFields", foreignKeyFields);
-        metadata.put("oneToManyFields", oneToManyFields);
-        metadata.put("manyToManyFields", manyToManyFields);
-        return metadata;
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> buildRecordMap(Object entity, Class<?> entityClass, Map<String, Object> metadata) {
+    private Map<String, Object> buildRecordMap(Object entity, EntityDescriptor descriptor) {
         Map<String, Object> recordMap = new HashMap<>();
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
-        Map<String, String> embeddedFieldPaths = (Map<String, String>) metadata.get("embeddedFieldPaths");
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-        Map<String, String> fieldTypes = (Map<String, String>) metadata.get("fieldTypes");
-        Map<String, Boolean> isCollectionField = (Map<String, Boolean>) metadata.get("isCollectionField");
+        Class<?> entityClass = descriptor.getEntityClass();
+        Map<String, String> embeddedFieldPaths = descriptor.getEmbeddedFieldPaths();
+        Map<String, String> foreignKeyFields = descriptor.getForeignKeyFields();
+        Map<String, String> fieldTypes = descriptor.getFieldTypes();
+        Map<String, Boolean> isCollectionField = descriptor.getIsCollectionField();
 
-        for (String field : displayFields) {
+        for (String field : descriptor.getFields()) {
             try {
                 if (embeddedFieldPaths.containsKey(field)) {
                     recordMap.put(field, getEmbeddedFieldValue(entity, embeddedFieldPaths.get(field)));
@@ -174,29 +173,27 @@ public class RecordDetailsFetcher {
         return recordMap;
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Map<String, String>> buildChildTables(Class<?> entityClass, Map<String, Object> recordMap, Map<String, Object> metadata, boolean strictTableCheck) {
-        Map<String, String> oneToManyFields = (Map<String, String>) metadata.get("oneToManyFields");
-        Map<String, String> manyToManyFields = (Map<String, String>) metadata.get("manyToManyFields");
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
+    private Map<String, Map<String, String>> buildChildTables(EntityDescriptor descriptor, Map<String, Object> recordMap, boolean strictTableCheck) {
+        Class<?> entityClass = descriptor.getEntityClass();
+        Map<String, String> oneToManyFields = descriptor.getOneToManyFields();
+        Map<String, String> manyToManyFields = descriptor.getManyToManyFields();
         Map<String, Map<String, String>> childTables = new HashMap<>();
         Object idValue = recordMap.get("id");
-        List<EntityInfo> availableTables = entityTableService.getEntityTables();
 
-        for (String field : displayFields) {
+        for (String field : descriptor.getFields()) {
             if (oneToManyFields.containsKey(field) && idValue != null) {
-                processChildTable(field, oneToManyFields.get(field), entityClass, idValue, strictTableCheck, availableTables, childTables, OneToMany.class);
+                processChildTable(field, oneToManyFields.get(field), entityClass, idValue, strictTableCheck, childTables, OneToMany.class);
             } else if (manyToManyFields.containsKey(field) && idValue != null) {
-                processChildTable(field, manyToManyFields.get(field), entityClass, idValue, strictTableCheck, availableTables, childTables, ManyToMany.class);
+                processChildTable(field, manyToManyFields.get(field), entityClass, idValue, strictTableCheck, childTables, ManyToMany.class);
             }
         }
         return childTables;
     }
 
     private void processChildTable(String field, String targetTable, Class<?> entityClass, Object idValue, boolean strictTableCheck,
-                                   List<EntityInfo> availableTables, Map<String, Map<String, String>> childTables,
+                                   Map<String, Map<String, String>> childTables,
                                    Class<? extends java.lang.annotation.Annotation> relationType) {
-        boolean isRegistered = isTableRegistered(targetTable, availableTables);
+        boolean isRegistered = entityTableService.isTableRegistered(targetTable);
         if (strictTableCheck && !isRegistered) {
             logger.warn("Skipping {} field {}: Table '{}' is not registered", relationType.getSimpleName(), field, targetTable);
             return;
@@ -214,37 +211,20 @@ public class RecordDetailsFetcher {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> buildSimpleFields(Map<String, Object> metadata) {
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
-        Map<String, String> oneToManyFields = (Map<String, String>) metadata.get("oneToManyFields");
-        Map<String, String> manyToManyFields = (Map<String, String>) metadata.get("manyToManyFields");
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-
-        List<String> simpleFields = new ArrayList<>();
-        for (String field : displayFields) {
-            if (!"id".equals(field) && !oneToManyFields.containsKey(field) && !manyToManyFields.containsKey(field) && !foreignKeyFields.containsKey(field)) {
-                simpleFields.add(field);
-            }
-        }
-        return simpleFields;
-    }
-
-    private Map<String, Object> assembleResult(String tableName, Class<?> entityClass, Map<String, Object> recordMap,
-                                               Map<String, Object> metadata, List<String> simpleFields,
+    private Map<String, Object> assembleResult(String tableName, EntityDescriptor descriptor, Map<String, Object> recordMap,
                                                Map<String, Map<String, String>> childTables) {
         Map<String, Object> result = new HashMap<>();
         result.put("tableName", tableName);
-        result.put("entityClass", entityClass.getSimpleName());
+        result.put("entityClass", descriptor.getEntityClass().getSimpleName());
         result.put("record", recordMap);
-        result.put("fields", metadata.get("displayFields"));
-        result.put("simpleFields", simpleFields);
-        result.put("isCollectionField", metadata.get("isCollectionField"));
-        result.put("fieldTypes", metadata.get("fieldTypes"));
-        result.put("nullableFields", metadata.get("nullableFields"));
-        result.put("foreignKeyFields", metadata.get("foreignKeyFields"));
-        result.put("oneToManyFields", metadata.get("oneToManyFields"));
-        result.put("manyToManyFields", metadata.get("manyToManyFields"));
+        result.put("fields", descriptor.getFields());
+        result.put("simpleFields", descriptor.getSimpleFields());
+        result.put("isCollectionField", descriptor.getIsCollectionField());
+        result.put("fieldTypes", descriptor.getFieldTypes());
+        result.put("nullableFields", descriptor.getNullableFields());
+        result.put("foreignKeyFields", descriptor.getForeignKeyFields());
+        result.put("oneToManyFields", descriptor.getOneToManyFields());
+        result.put("manyToManyFields", descriptor.getManyToManyFields());
         result.put("childTables", childTables);
         logger.debug("Fetched record details: {}", result);
         return result;
@@ -280,10 +260,6 @@ public class RecordDetailsFetcher {
         return ADMIN_TABLE_PATH + targetTable + "?filterField=" + filterField + "&filterOperation=equals&filterValue=" + idValue;
     }
 
-    private boolean isTableRegistered(String tableName, List<EntityInfo> availableTables) {
-        return availableTables.stream().anyMatch(t -> t.getTableName().equals(tableName));
-    }
-
     private String getInverseFieldName(Class<?> targetClass, Class<?> parentClass, Class<? extends java.lang.annotation.Annotation> relationType) {
         for (Field field : targetClass.getDeclaredFields()) {
             if (relationType.equals(OneToOne.class) && field.isAnnotationPresent(OneToOne.class)) {
@@ -309,11 +285,9 @@ public class RecordDetailsFetcher {
         return "id";
     }
 
-    private Map<String, Object> initializeEmptyRecord(Map<String, Object> metadata) {
+    private Map<String, Object> initializeEmptyRecord(EntityDescriptor descriptor) {
         Map<String, Object> recordMap = new HashMap<>();
-        @SuppressWarnings("unchecked")
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
-        for (String field : displayFields) {
+        for (String field : descriptor.getFields()) {
             recordMap.put(field, null);
         }
         return recordMap;
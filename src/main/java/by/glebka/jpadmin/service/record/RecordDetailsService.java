@@ -1,5 +1,10 @@
 package by.glebka.jpadmin.service.record;
 
+import by.glebka.jpadmin.config.TableConfig;
+import by.glebka.jpadmin.service.AdminMetrics;
+import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.TableModificationTracker;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -8,9 +13,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing record details, validation, and persistence operations.
@@ -20,6 +33,10 @@ public class RecordDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(RecordDetailsService.class);
     private static final String DEFAULT_JSON_RESPONSE = "{}";
+    private static final String JPA_EXPORT_MODE = "jpa";
+    private static final String COPY_EXPORT_MODE = "copy";
+    private static final String INSERT_IMPORT_MODE = "insert";
+    private static final String UPSERT_IMPORT_MODE = "upsert";
 
     @Autowired
     private RecordDetailsFetcher recordDetailsFetcher;
@@ -36,6 +53,33 @@ public class RecordDetailsService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PgCopyExporter pgCopyExporter;
+
+    @Autowired
+    private RecordImporter recordImporter;
+
+    @Autowired
+    private RecordBulkProcessor recordBulkProcessor;
+
+    @Autowired
+    private AdminMetrics adminMetrics;
+
+    @Autowired
+    private EntityTableService entityTableService;
+
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private TableModificationTracker tableModificationTracker;
+
+    @Autowired
+    private FullTextSearch fullTextSearch;
+
+    @Autowired
+    private SqlFilterTranslator sqlFilterTranslator;
+
     /**
      * Retrieves detailed information about a specific record with strict table checking option.
      *
@@ -44,6 +88,7 @@ public class RecordDetailsService {
      * @param strictTableCheck Whether to enforce strict table registration checks.
      * @return A map containing record details.
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getRecordDetails(String tableName, Long id, boolean strictTableCheck) {
         return recordDetailsFetcher.getRecordDetails(tableName, id, strictTableCheck);
     }
@@ -55,10 +100,24 @@ public class RecordDetailsService {
      * @param id        The ID of the record.
      * @return A map containing record details.
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getRecordDetails(String tableName, Long id) {
         return recordDetailsFetcher.getRecordDetails(tableName, id);
     }
 
+    /**
+     * Retrieves detailed information about a specific record for display, from the read replica if one is
+     * configured. Forms saving the record back must use {@link #getRecordDetails(String, Long)} instead.
+     *
+     * @param tableName The name of the table.
+     * @param id        The ID of the record.
+     * @return A map containing record details.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRecordDetailsForView(String tableName, Long id) {
+        return recordDetailsFetcher.getRecordDetails(tableName, id, false, true);
+    }
+
     /**
      * Retrieves metadata for an empty record for a given table.
      *
@@ -69,6 +128,257 @@ public class RecordDetailsService {
         return recordDetailsFetcher.getEmptyRecordData(tableName);
     }
 
+    /**
+     * Writes all records of a table matching the filters as CSV, in list order. The header row holds the
+     * display names of the list columns. Rows are streamed from the database and flushed batch by batch.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters to apply.
+     * @param sortField The field to sort by.
+     * @param sortOrder The sort order ("ASC" or "DESC").
+     * @param writer    The writer receiving the CSV output.
+     * @return The number of exported records.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(String tableName, List<Map<String, String>> filters, String sortField, String sortOrder,
+                          Writer writer) {
+        Map<String, String> displayNames = recordListService.getDisplayNames(tableName);
+        List<String> columns = recordListService.getDisplayFields(tableName);
+        CsvWriter csvWriter = new CsvWriter(writer);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            csvWriter.writeRow(columns.stream().map(column -> displayNames.getOrDefault(column, column)).collect(Collectors.toList()));
+            long exported = recordListService.streamTableRecords(tableName, filters, sortField, sortOrder, batch -> {
+                for (Map<String, Object> record : batch) {
+                    List<Object> values = new ArrayList<>(columns.size());
+                    for (String column : columns) {
+                        values.add(record.get(column));
+                    }
+                    csvWriter.writeRow(values);
+                }
+                csvWriter.flush();
+            });
+            failed = false;
+            logger.info("Exported {} records of table {} as CSV in {} ms", exported, tableName, (System.nanoTime() - start) / 1_000_000);
+            return exported;
+        } finally {
+            adminMetrics.export(tableName, JPA_EXPORT_MODE).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Prepares a CSV export of a table with PostgreSQL COPY.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters to apply.
+     * @param sortField The field to sort by.
+     * @param sortOrder The sort order ("ASC" or "DESC").
+     * @return The export query, or null if the columns, filters or sorting of the list cannot be expressed in SQL.
+     */
+    public PgCopyExporter.CopyQuery prepareCopyExport(String tableName, List<Map<String, String>> filters, String sortField,
+                                                      String sortOrder) {
+        return pgCopyExporter.prepare(tableName, filters, sortField, sortOrder);
+    }
+
+    /**
+     * Writes the records of a table as CSV with PostgreSQL COPY, streaming the output of the database
+     * directly to the given stream without mapping rows to entities.
+     *
+     * @param tableName The name of the table.
+     * @param copyQuery The export query prepared by {@link #prepareCopyExport}.
+     * @param out       The stream receiving the CSV output.
+     * @return The number of exported records.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsvWithCopy(String tableName, PgCopyExporter.CopyQuery copyQuery, OutputStream out) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            long exported = pgCopyExporter.copyOut(copyQuery, out);
+            failed = false;
+            logger.info("Exported {} records of table {} with COPY in {} ms", exported, tableName, (System.nanoTime() - start) / 1_000_000);
+            return exported;
+        } finally {
+            adminMetrics.export(tableName, COPY_EXPORT_MODE).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Imports records into a table from a CSV file. Rows are written in batches, each in its own transaction,
+     * and rows that fail are reported without aborting the import.
+     *
+     * @param tableName The name of the table.
+     * @param input     The CSV content, starting with a header row of field names.
+     * @param upsert    Whether rows whose ID exists update that record instead of being inserted.
+     * @return The import result.
+     */
+    public ImportResult importCsv(String tableName, Reader input, boolean upsert) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ImportResult result = recordImporter.importCsv(tableName, input, upsert);
+            failed = false;
+            return result;
+        } finally {
+            adminMetrics.importCsv(tableName, upsert ? UPSERT_IMPORT_MODE : INSERT_IMPORT_MODE).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Lists the columns a CSV file imported into a table may contain.
+     *
+     * @param tableName The name of the table.
+     * @return A map of field names to their type names.
+     */
+    public Map<String, String> getImportColumns(String tableName) {
+        return recordImporter.getImportColumns(tableName);
+    }
+
+    /**
+     * Lists the fields of a table that can be set by a bulk update.
+     *
+     * @param tableName The name of the table.
+     * @return The field names.
+     */
+    public List<String> getBulkUpdatableFields(String tableName) {
+        return recordBulkProcessor.getUpdatableFields(tableName);
+    }
+
+    /**
+     * Starts setting a field to the same value on all records of a table matching the filters, in chunks
+     * running in the background.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters to apply.
+     * @param field     The field to set.
+     * @param value     The new value.
+     * @return The job tracking the progress of the update.
+     */
+    public BulkJob startBulkUpdate(String tableName, List<Map<String, String>> filters, String field, String value) {
+        return recordBulkProcessor.startUpdate(tableName, filters, field, value);
+    }
+
+    /**
+     * Counts the records of a table matching the filters, as a dry run of a bulk operation.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters to apply.
+     * @return The number of matching records.
+     */
+    public long countMatchingRecords(String tableName, List<Map<String, String>> filters) {
+        return recordBulkProcessor.countMatching(tableName, filters);
+    }
+
+    /**
+     * Starts deleting all records of a table matching the filters, in chunks running in the background.
+     *
+     * @param tableName The name of the table.
+     * @param filters   The filters to apply.
+     * @return The job tracking the progress of the deletion.
+     */
+    public BulkJob startBulkDelete(String tableName, List<Map<String, String>> filters) {
+        return recordBulkProcessor.startDelete(tableName, filters);
+    }
+
+    /**
+     * Starts deleting the given records of a table in the background.
+     *
+     * @param tableName The name of the table.
+     * @param ids       The IDs of the records.
+     * @return The job tracking the progress of the deletion.
+     */
+    public BulkJob startDeleteSelected(String tableName, List<String> ids) {
+        return recordBulkProcessor.startDeleteSelected(tableName, ids);
+    }
+
+    /**
+     * Retrieves a bulk job.
+     *
+     * @param jobId The ID of the job.
+     * @return The job, or null if it is unknown.
+     */
+    public BulkJob getBulkJob(String jobId) {
+        return recordBulkProcessor.getJob(jobId);
+    }
+
+    /**
+     * Adds the text of the search box to the list filters.
+     *
+     * @param filters The list filters.
+     * @param search  The search text, or null.
+     * @return The filters, with the search if the text is not blank.
+     */
+    public List<Map<String, String>> addSearch(List<Map<String, String>> filters, String search) {
+        return FullTextSearch.withSearch(filters, search);
+    }
+
+    /**
+     * Builds the DDL of the recommended full-text search index of a table, to be reviewed and run by hand.
+     *
+     * @param tableName The name of the table.
+     * @return The DDL statements.
+     * @throws IllegalArgumentException If the table has no search columns or they are not columns of its own table.
+     */
+    public String getSearchIndexDdl(String tableName) {
+        Class<?> entityClass = entityDescriptorCache.getDescriptor(tableName).getEntityClass();
+        TableConfig config = fullTextSearch.findSearchConfig(entityClass);
+        if (config == null) {
+            throw new IllegalArgumentException("No search columns configured for table: " + tableName);
+        }
+        String physicalTable = sqlFilterTranslator.getTableName(entityClass);
+        String vectorColumn = config.getSearchVectorField() != null
+                ? resolveSearchColumn(entityClass, config.getSearchVectorField()) : null;
+        List<String> columns = new ArrayList<>();
+        if (vectorColumn == null) {
+            for (String field : config.getSearchColumns()) {
+                columns.add(resolveSearchColumn(entityClass, field));
+            }
+        }
+        return fullTextSearch.buildIndexDdl(physicalTable, columns, vectorColumn, config);
+    }
+
+    private String resolveSearchColumn(Class<?> entityClass, String field) {
+        String column = sqlFilterTranslator.getColumnName(entityClass, field);
+        if (column == null) {
+            throw new IllegalArgumentException("Search field " + field + " is not a column of the table of " + entityClass.getSimpleName());
+        }
+        return column;
+    }
+
+    /**
+     * Builds the ETag of the record list of a table from the modification counters of the table and of the
+     * tables it references, without querying the database.
+     *
+     * @param tableName The name of the table.
+     * @return The ETag.
+     * @throws IllegalArgumentException If the table is not registered.
+     */
+    public String getTableETag(String tableName) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Set<String> relatedTables = new TreeSet<>(descriptor.getForeignKeyFields().values());
+        relatedTables.addAll(descriptor.getOneToManyFields().values());
+        relatedTables.addAll(descriptor.getManyToManyFields().values());
+        return tableModificationTracker.getTableETag(tableName, relatedTables);
+    }
+
+    /**
+     * Builds the ETag of a record page. For versioned entities the tag is derived from the version attribute,
+     * which is read without loading the entity; other entities use the modification counter of the table.
+     *
+     * @param tableName The name of the table.
+     * @param id        The ID of the record.
+     * @return The ETag, or null if the record is not found.
+     */
+    public String getRecordETag(String tableName, Long id) {
+        String versionAttribute = entityTableService.findVersionAttribute(tableName);
+        if (versionAttribute == null) {
+            return tableModificationTracker.getTableETag(tableName, Set.of());
+        }
+        Object version = recordDetailsFetcher.findRecordVersion(tableName, id, versionAttribute);
+        return version != null ? tableModificationTracker.getRecordETag(tableName, id, version) : null;
+    }
+
     /**
      * Updates an existing record in the specified table.
      *
@@ -117,16 +427,45 @@ public class RecordDetailsService {
         recordValidator.validateNewRecord(tableName, newFields);
     }
 
+    /**
+     * Writes a page of records of a table as JSON, with the same filtering, sorting and pagination as the table list.
+     *
+     * @param tableName  The name of the table.
+     * @param filters    The filters to apply.
+     * @param page       The page number (zero-based).
+     * @param size       The number of records per page.
+     * @param sortField  The field to sort by.
+     * @param sortOrder  The sort order ("ASC" or "DESC").
+     * @param nullsFirst Whether to place null values first in sorting.
+     * @param after      The cursor of the row after which the page starts, for keyset pagination.
+     * @param before     The cursor of the row before which the page ends, for keyset pagination.
+     * @param json       The generator to write to.
+     * @throws IOException If writing fails.
+     */
+    @Transactional(readOnly = true)
+    public void writeTableRecords(String tableName, List<Map<String, String>> filters, int page, int size, String sortField,
+                                  String sortOrder, boolean nullsFirst, String after, String before, JsonGenerator json) throws IOException {
+        recordListService.writeTableRecords(tableName, filters, page, size, sortField, sortOrder, nullsFirst, after, before, json);
+    }
+
     /**
      * Retrieves the field types for a given table.
      *
      * @param tableName The name of the table.
      * @return A map of field names to their types.
      */
-    @SuppressWarnings("unchecked")
     public Map<String, String> getFieldTypes(String tableName) {
-        Map<String, Object> metadata = recordListService.getFieldTypesMetadata(tableName);
-        return (Map<String, String>) metadata.get("fieldTypes");
+        return recordListService.getFieldTypes(tableName);
+    }
+
+    /**
+     * Retrieves the text filter fields of a table whose substring filters scan the whole table.
+     *
+     * @param tableName The name of the table.
+     * @return A list of displayed filter field names.
+     */
+    public List<String> getFullScanFilterFields(String tableName) {
+        return recordListService.getFullScanFilterFields(tableName);
     }
 
     /**
@@ -163,11 +502,33 @@ public class RecordDetailsService {
      * @param nullsFirst Whether to place null values first in sorting.
      * @return A map containing the records and metadata.
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getTableRecords(String tableName, List<Map<String, String>> filters, int page, int size,
                                                String sortField, String sortOrder, boolean nullsFirst) {
         return recordListService.getTableRecords(tableName, filters, page, size, sortField, sortOrder, nullsFirst);
     }
 
+    /**
+     * Retrieves paginated and filtered records from a table, seeking from a cursor on keyset-paginated tables.
+     *
+     * @param tableName  The name of the table.
+     * @param filters    The list of filters to apply.
+     * @param page       The page number (zero-based), used in offset mode.
+     * @param size       The number of records per page.
+     * @param sortField  The field to sort by.
+     * @param sortOrder  The sort order ("ASC" or "DESC").
+     * @param nullsFirst Whether to place null values first in sorting.
+     * @param after      The cursor after which the page starts, used in keyset mode.
+     * @param before     The cursor before which the page ends, used in keyset mode.
+     * @return A map containing the records and metadata.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTableRecords(String tableName, List<Map<String, String>> filters, int page, int size,
+                                               String sortField, String sortOrder, boolean nullsFirst,
+                                               String after, String before) {
+        return recordListService.getTableRecords(tableName, filters, page, size, sortField, sortOrder, nullsFirst, after, before);
+    }
+
     /**
      * Serializes field types for a table into JSON format.
      *
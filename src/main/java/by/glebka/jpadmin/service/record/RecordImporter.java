@@ -0,0 +1,423 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.TableModificationTracker;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Component importing CSV files into a table. The header row names the entity fields, as listed by
+ * {@link FieldUtils#collectFieldTypes}; foreign key columns hold the ID of the referenced record.
+ * <p>
+ * Rows are read in chunks. Values of a chunk are converted and new entities validated in parallel, then the
+ * chunk is written in one transaction with JDBC batching. If the chunk fails, its rows are retried one by
+ * one with newly built entities, so that a failing row is reported with its line number without aborting
+ * the rest of the file.
+ */
+@Component
+public class RecordImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordImporter.class);
+    private static final String ID_FIELD = "id";
+    private static final int CHUNK_SIZE = 1000;
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityTableService entityTableService;
+
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private FieldUtils fieldUtils;
+
+    @Autowired
+    private FieldValueSetter fieldValueSetter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TableModificationTracker tableModificationTracker;
+
+    /**
+     * Imports a CSV file into a table.
+     *
+     * @param tableName The name of the table.
+     * @param input     The CSV content, starting with the header row.
+     * @param upsert    Whether rows whose ID exists update that record instead of being inserted.
+     * @return The import result with per-row errors.
+     * @throws IllegalArgumentException If the table or a header column is unknown, or the file is empty.
+     */
+    public ImportResult importCsv(String tableName, Reader input, boolean upsert) {
+        Class<?> entityClass = entityTableService.findEntityClass(tableName);
+        if (entityClass == null) {
+            throw new IllegalArgumentException("Table not found: " + tableName);
+        }
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(entityClass);
+        CsvReader reader = new CsvReader(input);
+        List<String> header = reader.readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file is empty");
+        }
+        ImportPlan plan = buildPlan(descriptor, header, upsert);
+        logger.info("Importing CSV into table {} (upsert={}) with columns {}", tableName, upsert, header);
+
+        ImportResult result = new ImportResult();
+        long start = System.nanoTime();
+        List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> fields;
+        // Pages read while chunks are committed are revalidated once the import is over
+        tableModificationTracker.markModified(tableName);
+        try {
+            while ((fields = reader.readRow()) != null) {
+                chunk.add(new CsvRow(reader.getRowLine(), fields));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, plan, result);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, plan, result);
+        } finally {
+            tableModificationTracker.markModified(tableName);
+        }
+        logger.info("Imported CSV into table {} in {} ms: {} inserted, {} updated, {} failed", tableName,
+                (System.nanoTime() - start) / 1_000_000, result.getInserted(), result.getUpdated(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Lists the columns a CSV file imported into a table may contain, with their types.
+     *
+     * @param tableName The name of the table.
+     * @return A map of field names to their type names, in field order.
+     */
+    public Map<String, String> getImportColumns(String tableName) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (String field : descriptor.getFields()) {
+            if (!descriptor.isCollectionRelation(field)) {
+                columns.put(field, descriptor.getFieldTypes().getOrDefault(field, "Unknown"));
+            }
+        }
+        return columns;
+    }
+
+    private ImportPlan buildPlan(EntityDescriptor descriptor, List<String> header, boolean upsert) {
+        Class<?> entityClass = descriptor.getEntityClass();
+        ImportPlan plan = new ImportPlan(entityClass, header.size());
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (!descriptor.getFields().contains(column) || descriptor.isCollectionRelation(column)) {
+                throw new IllegalArgumentException("Unknown column '" + column + "' for table " + descriptor.getEntityClass().getSimpleName());
+            }
+            try {
+                if (ID_FIELD.equals(column)) {
+                    Field field = fieldUtils.getFieldFromHierarchy(entityClass, column);
+                    plan.idIndex = i;
+                    plan.idConverter = fieldValueSetter.compileConverter(field);
+                    plan.idGenerated = field.isAnnotationPresent(GeneratedValue.class);
+                } else if (descriptor.getForeignKeyFields().containsKey(column)) {
+                    Field field = fieldUtils.getFieldFromHierarchy(entityClass, column);
+                    field.setAccessible(true);
+                    Field targetIdField = fieldUtils.getFieldFromHierarchy(field.getType(), ID_FIELD);
+                    plan.foreignKeys[i] = new ForeignKeyColumn(field, fieldValueSetter.compileConverter(targetIdField));
+                } else {
+                    plan.writers[i] = descriptor.getFieldWriter(column);
+                }
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException("Column '" + column + "' cannot be imported: " + e.getMessage(), e);
+            }
+        }
+        if (plan.idIndex >= 0 && !upsert && plan.idGenerated) {
+            logger.info("Ignoring the generated id column of {} in insert mode", entityClass.getSimpleName());
+            plan.idIndex = -1;
+        }
+        plan.upsert = upsert && plan.idIndex >= 0;
+        return plan;
+    }
+
+    private void importChunk(List<CsvRow> chunk, ImportPlan plan, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ParsedRow> parsed = chunk.parallelStream().map(row -> parseRow(row, plan)).collect(Collectors.toList());
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error != null) {
+                result.addError(row.line, row.error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            ChunkOutcome outcome = writeInTransaction(valid, plan);
+            outcome.applyTo(result);
+        } catch (RuntimeException e) {
+            logger.debug("Chunk starting on line {} failed, retrying its rows one by one: {}", valid.get(0).line, e.getMessage());
+            entityManager.clear();
+            for (ParsedRow row : valid) {
+                // The failed attempt may have assigned the prebuilt entity a generated ID, which the rollback
+                // does not clear and which would make persisting it again fail as a detached entity
+                row.entity = null;
+                try {
+                    writeInTransaction(List.of(row), plan).applyTo(result);
+                } catch (RuntimeException rowException) {
+                    entityManager.clear();
+                    result.addError(row.line, rootMessage(rowException));
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the values of a row and, for rows that will be inserted, builds and validates the entity.
+     * Runs in parallel and must therefore not touch the entity manager.
+     */
+    private ParsedRow parseRow(CsvRow row, ImportPlan plan) {
+        ParsedRow parsed = new ParsedRow(row.line, plan.columnCount);
+        List<String> fields = row.fields;
+        if (fields.size() != plan.columnCount) {
+            parsed.error = "Expected " + plan.columnCount + " columns but found " + fields.size();
+            return parsed;
+        }
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < plan.columnCount; i++) {
+            try {
+                if (i == plan.idIndex) {
+                    parsed.id = plan.idConverter.apply(fields.get(i));
+                } else if (plan.foreignKeys[i] != null) {
+                    parsed.values[i] = plan.foreignKeys[i].idConverter.apply(fields.get(i));
+                } else if (plan.writers[i] != null) {
+                    parsed.values[i] = plan.writers[i].convert(fields.get(i));
+                }
+            } catch (RuntimeException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (errors.isEmpty() && (!plan.upsert || parsed.id == null)) {
+            try {
+                parsed.entity = buildEntity(plan, parsed);
+                errors.addAll(validate(parsed.entity, plan, parsed));
+            } catch (RuntimeException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        parsed.error = errors.isEmpty() ? null : String.join("; ", errors);
+        return parsed;
+    }
+
+    private Object buildEntity(ImportPlan plan, ParsedRow row) {
+        Object entity;
+        try {
+            entity = plan.entityClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate " + plan.entityClass.getSimpleName(), e);
+        }
+        if (row.id != null && !plan.idGenerated) {
+            setId(entity, row.id);
+        }
+        applyValues(entity, plan, row);
+        return entity;
+    }
+
+    private void applyValues(Object entity, ImportPlan plan, ParsedRow row) {
+        for (int i = 0; i < plan.columnCount; i++) {
+            if (plan.writers[i] != null) {
+                plan.writers[i].set(entity, row.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Validates an entity, ignoring violations on foreign key fields whose ID is given in the row, since
+     * references are only set when the row is written.
+     */
+    private List<String> validate(Object entity, ImportPlan plan, ParsedRow row) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Object> violation : validator.validate(entity)) {
+            String property = violation.getPropertyPath().toString();
+            if (!plan.isProvidedForeignKey(property, row)) {
+                errors.add(property + ": " + violation.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    private ChunkOutcome writeInTransaction(List<ParsedRow> rows, ImportPlan plan) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ChunkOutcome outcome = transaction.execute(status -> writeRows(rows, plan));
+        entityManager.clear();
+        return outcome;
+    }
+
+    private ChunkOutcome writeRows(List<ParsedRow> rows, ImportPlan plan) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+        Map<Object, Object> existing = plan.upsert ? loadExisting(rows, plan) : Collections.emptyMap();
+        ChunkOutcome outcome = new ChunkOutcome();
+        for (ParsedRow row : rows) {
+            Object entity = row.id != null ? existing.get(row.id) : null;
+            if (entity != null) {
+                applyValues(entity, plan, row);
+                applyForeignKeys(entity, plan, row);
+                List<String> errors = validate(entity, plan, row);
+                if (!errors.isEmpty()) {
+                    throw new IllegalArgumentException(String.join("; ", errors));
+                }
+                outcome.updated++;
+            } else {
+                entity = row.entity != null ? row.entity : buildEntity(plan, row);
+                applyForeignKeys(entity, plan, row);
+                entityManager.persist(entity);
+                outcome.inserted++;
+            }
+        }
+        entityManager.flush();
+        return outcome;
+    }
+
+    private Map<Object, Object> loadExisting(List<ParsedRow> rows, ImportPlan plan) {
+        List<Object> ids = rows.stream().map(row -> row.id).filter(Objects::nonNull).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<?> entities = entityManager.createQuery(
+                        "SELECT e FROM " + entityManager.getMetamodel().entity(plan.entityClass).getName() + " e WHERE e.id IN :ids",
+                        plan.entityClass)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Object, Object> existing = new HashMap<>();
+        for (Object entity : entities) {
+            existing.put(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), entity);
+        }
+        return existing;
+    }
+
+    private void applyForeignKeys(Object entity, ImportPlan plan, ParsedRow row) {
+        for (int i = 0; i < plan.columnCount; i++) {
+            ForeignKeyColumn foreignKey = plan.foreignKeys[i];
+            if (foreignKey == null) {
+                continue;
+            }
+            Object targetId = row.values[i];
+            Object reference = targetId != null ? entityManager.getReference(foreignKey.field.getType(), targetId) : null;
+            try {
+                foreignKey.field.set(entity, reference);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set field " + foreignKey.field.getName(), e);
+            }
+        }
+    }
+
+    private void setId(Object entity, Object id) {
+        try {
+            Field idField = fieldUtils.getFieldFromHierarchy(entity.getClass(), ID_FIELD);
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot set the id of " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    private String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static final class ImportPlan {
+        final Class<?> entityClass;
+        final int columnCount;
+        final FieldWriter[] writers;
+        final ForeignKeyColumn[] foreignKeys;
+        int idIndex = -1;
+        Function<String, Object> idConverter;
+        boolean idGenerated;
+        boolean upsert;
+
+        ImportPlan(Class<?> entityClass, int columnCount) {
+            this.entityClass = entityClass;
+            this.columnCount = columnCount;
+            this.writers = new FieldWriter[columnCount];
+            this.foreignKeys = new ForeignKeyColumn[columnCount];
+        }
+
+        boolean isProvidedForeignKey(String property, ParsedRow row) {
+            for (int i = 0; i < columnCount; i++) {
+                if (foreignKeys[i] != null && foreignKeys[i].field.getName().equals(property)) {
+                    return row.values[i] != null;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ForeignKeyColumn {
+        final Field field;
+        final Function<String, Object> idConverter;
+
+        ForeignKeyColumn(Field field, Function<String, Object> idConverter) {
+            this.field = field;
+            this.idConverter = idConverter;
+        }
+    }
+
+    private static final class CsvRow {
+        final int line;
+        final List<String> fields;
+
+        CsvRow(int line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    private static final class ParsedRow {
+        final int line;
+        final Object[] values;
+        Object id;
+        Object entity;
+        String error;
+
+        ParsedRow(int line, int columnCount) {
+            this.line = line;
+            this.values = new Object[columnCount];
+        }
+    }
+
+    private static final class ChunkOutcome {
+        long inserted;
+        long updated;
+
+        void applyTo(ImportResult result) {
+            for (long i = 0; i < inserted; i++) result.addInserted();
+            for (long i = 0; i < updated; i++) result.addUpdated();
+        }
+    }
+}
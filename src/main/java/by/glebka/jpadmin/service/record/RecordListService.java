@@ -1,31 +1,32 @@
 package by.glebka.jpadmin.service.record;
 
-import by.glebka.jpadmin.annotation.ComputedColumn;
-import by.glebka.jpadmin.config.AdminConfig;
-import by.glebka.jpadmin.config.ColumnConfig;
+import by.glebka.jpadmin.config.CountStrategy;
+import by.glebka.jpadmin.config.PaginationMode;
 import by.glebka.jpadmin.config.TableConfig;
-import by.glebka.jpadmin.scanner.AttributeInfo;
-import by.glebka.jpadmin.scanner.EntityInfo;
-import by.glebka.jpadmin.scanner.MetamodelAnalyzer;
-import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.AdminMetrics;
+import by.glebka.jpadmin.service.ReplicaRouter;
 import by.glebka.jpadmin.service.TimeFormatService;
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.math.BigDecimal;
-import java.time.*;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for retrieving and processing table records in the admin interface.
@@ -35,31 +36,48 @@ public class RecordListService {
 
     private static final Logger logger = LoggerFactory.getLogger(RecordListService.class);
     private static final String BASE_URL = "/admin/table/";
-    private static final String DEFAULT_SORT_FIELD = "id";
+    private static final String ID_FIELD = "id";
+    private static final String DEFAULT_SORT_FIELD = ID_FIELD;
     private static final String DEFAULT_SORT_ORDER = "DESC";
     private static final String DEFAULT_FILTER_OPERATION = "equals";
-    private static final Set<Class<?>> ALLOWED_JAVA_TYPES = initializeAllowedJavaTypes();
+    private static final int PAGE_LINK_RADIUS = 5;
+    private static final int STREAM_BATCH_SIZE = 500;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Autowired
-    private EntityTableService entityTableService;
+    private EntityDescriptorCache entityDescriptorCache;
 
     @Autowired
     private QueryBuilder queryBuilder;
 
     @Autowired
-    private MetamodelAnalyzer metamodelAnalyzer;
+    private TimeFormatService timeFormatService;
 
     @Autowired
-    private FieldUtils fieldUtils;
+    private RecordCounter recordCounter;
 
     @Autowired
-    private TimeFormatService timeFormatService;
+    private AdminMetrics adminMetrics;
+
+    @Autowired
+    private QueryShapeCache queryShapeCache;
+
+    @Autowired
+    private FullTextSearch fullTextSearch;
+
+    @Autowired
+    private TrigramIndexRegistry trigramIndexRegistry;
+
+    @Autowired
+    private QueryBudget queryBudget;
 
-    @Autowired(required = false)
-    private AdminConfig adminConfig;
+    @Autowired
+    private ActiveQueryRegistry activeQueryRegistry;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
 
     /**
      * Builds a list of filters based on input parameters.
@@ -116,20 +134,50 @@ public class RecordListService {
     }
 
     /**
-     * Retrieves field type metadata for a given table.
+     * Retrieves field types of the table list for a given table.
      *
      * @param tableName Name of the table.
-     * @return Map containing field metadata.
+     * @return Map of field names to their types.
      */
-    @SuppressWarnings("unchecked")
-    public <T> Map<String, Object> getFieldTypesMetadata(String tableName) {
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Table not found: " + tableName));
+    public Map<String, String> getFieldTypes(String tableName) {
+        return entityDescriptorCache.getDescriptor(tableName).getListFieldTypes();
+    }
 
-        Class<T> entityClass = loadEntityClass(entityInfo);
-        return prepareEntityMetadata(entityClass);
+    /**
+     * Retrieves the text filter fields of a table whose "contains", "starts with" and "ends with" filters
+     * scan the whole table, because no trigram index serves them.
+     *
+     * @param tableName Name of the table.
+     * @return List of displayed filter field names.
+     */
+    public List<String> getFullScanFilterFields(String tableName) {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        return descriptor.getFilterFields().entrySet().stream()
+                .filter(entry -> "String".equals(descriptor.getListFieldTypes().get(entry.getKey())))
+                .filter(entry -> trigramIndexRegistry.isFullScan(descriptor.getEntityClass(),
+                        descriptor.getListEmbeddedFieldPaths().getOrDefault(entry.getValue(), entry.getValue())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the columns of the table list for a given table, in display order.
+     *
+     * @param tableName Name of the table.
+     * @return List of column names.
+     */
+    public List<String> getDisplayFields(String tableName) {
+        return new ArrayList<>(entityDescriptorCache.getDescriptor(tableName).getDisplayFields());
+    }
+
+    /**
+     * Retrieves the display names of the table list columns for a given table.
+     *
+     * @param tableName Name of the table.
+     * @return Map of column names to their display names.
+     */
+    public Map<String, String> getDisplayNames(String tableName) {
+        return entityDescriptorCache.getDescriptor(tableName).getDisplayNames();
     }
 
     /**
@@ -144,175 +192,257 @@ public class RecordListService {
      * @param nullsFirst Whether to place null values first in sorting.
      * @return Map containing records and metadata.
      */
+    public Map<String, Object> getTableRecords(String tableName, List<Map<String, String>> filters, int page, int size,
+                                               String sortField, String sortOrder, boolean nullsFirst) {
+        return getTableRecords(tableName, filters, page, size, sortField, sortOrder, nullsFirst, null, null);
+    }
+
+    /**
+     * Retrieves paginated and filtered records from a table. Tables configured with
+     * {@link PaginationMode#KEYSET} ignore the page number and seek from the given cursor instead.
+     *
+     * @param tableName  Name of the table.
+     * @param filters    List of filters to apply.
+     * @param page       Page number (zero-based), used in offset mode.
+     * @param size       Number of records per page.
+     * @param sortField  Field to sort by.
+     * @param sortOrder  Sort order ("ASC" or "DESC").
+     * @param nullsFirst Whether to place null values first in sorting.
+     * @param after      Cursor of the row after which the page starts, used in keyset mode.
+     * @param before     Cursor of the row before which the page ends, used in keyset mode if no after cursor is given.
+     * @return Map containing records and metadata.
+     * @throws IllegalArgumentException If a cursor is malformed.
+     */
     @SuppressWarnings("unchecked")
     public <T> Map<String, Object> getTableRecords(String tableName, List<Map<String, String>> filters, int page, int size,
-                                                   String sortField, String sortOrder, boolean nullsFirst) {
+                                                   String sortField, String sortOrder, boolean nullsFirst,
+                                                   String after, String before) {
         if (tableName == null) {
             throw new IllegalArgumentException("Table name cannot be null");
         }
         logger.debug("Retrieving records for table '{}'", tableName);
 
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Table not found: " + tableName));
-
-        Class<T> entityClass = loadEntityClass(entityInfo);
-        String entityClassName = entityClass.getName();
-        Map<String, Object> metadata = prepareEntityMetadata(entityClass);
-        Set<String> filterableFields = getFilterableFields(entityClass);
-        Map<String, String> filterFields = buildFilterFields(entityClass, metadata);
-        List<Map<String, String>> adjustedFilters = adjustFilters(filters, filterFields);
-
-        String effectiveSortField = determineSortField(sortField, entityClass, metadata);
-        String effectiveSortOrder = determineSortOrder(sortOrder, entityClass);
-        boolean effectiveNullsFirst = determineNullsFirst(sortField, nullsFirst, entityClass);
-
-        CriteriaQuery<T> query = buildQuery(entityClass, adjustedFilters, metadata, effectiveSortField, effectiveSortOrder);
-        List<T> results = executeQuery(query, page, size);
-        List<Map<String, Object>> recordMaps = buildRecordMaps(results, entityClass, metadata, entityClassName);
-
-        timeFormatService.formatRecords(recordMaps, (Map<String, String>) metadata.get("fieldTypes"));
-
-        long totalElements = getTotalCount(entityClass, adjustedFilters, (Map<String, String>) metadata.get("embeddedFieldPaths"));
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-
-        return assembleResult(tableName, entityClass, recordMaps, metadata, filterFields, totalPages, totalElements,
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        List<Map<String, String>> adjustedFilters = adjustFilters(filters, descriptor.getFilterFields());
+        replicaRouter.useReplicaForTransaction();
+        queryBudget.applyToTransaction(entityManager, entityClass);
+        activeQueryRegistry.attach(entityManager);
+
+        boolean keyset = isKeysetPagination(descriptor);
+        String effectiveSortField = determineSortField(sortField, descriptor, adjustedFilters, keyset);
+        String effectiveSortOrder = determineSortOrder(sortOrder, descriptor);
+        boolean effectiveNullsFirst = determineNullsFirst(sortField, nullsFirst, descriptor);
+
+        KeysetCursor cursor = keyset ? decodeCursor(after, before) : null;
+        int firstResult = keyset ? 0 : page * size;
+        boolean windowCount = !keyset && determineCountStrategy(descriptor) == CountStrategy.WINDOW;
+        long start = System.nanoTime();
+
+        Future<RecordCount> pendingCount = windowCount ? null : recordCounter.countAsync(descriptor, adjustedFilters);
+        PageRows pageRows = fetchPage(entityClass, adjustedFilters, descriptor, effectiveSortField, effectiveSortOrder,
+                keyset, cursor, firstResult, size, windowCount, pendingCount);
+        List<Map<String, Object>> recordMaps = pageRows.projected
+                ? buildProjectedRecordMaps((List<Tuple>) pageRows.rows, descriptor)
+                : buildRecordMaps(pageRows.rows, descriptor);
+        boolean hasMore = pageRows.hasMore;
+        fillCollectionSizes(recordMaps, descriptor);
+        Map<String, Object> keysetNavigation = keyset
+                ? buildKeysetNavigation(recordMaps, descriptor, effectiveSortField, cursor, hasMore)
+                : Collections.emptyMap();
+
+        timeFormatService.formatRecords(recordMaps, descriptor.getListFieldTypes());
+
+        RecordCount count = resolveCount(descriptor, adjustedFilters, page, windowCount, pageRows.windowTotal, pendingCount);
+        adminMetrics.listPage(entityClass.getSimpleName(), determineCountStrategy(descriptor).name())
+                .record(System.nanoTime() - start, false);
+        int totalPages = determineTotalPages(count, page, size, hasMore);
+
+        Map<String, Object> result = assembleResult(tableName, descriptor, recordMaps, totalPages, count.getValue(),
                 effectiveSortField, effectiveSortOrder, effectiveNullsFirst, adjustedFilters);
+        result.put("totalDisplay", count.getDisplay());
+        result.put("totalExact", count.isExact());
+        result.put("countPrecision", count.getPrecision().name());
+        result.put("pageNumbers", buildPageNumbers(page, totalPages));
+        result.put("paginationMode", keyset ? PaginationMode.KEYSET.name() : PaginationMode.OFFSET.name());
+        result.put("searchable", fullTextSearch.findSearchConfig(entityClass) != null);
+        result.putAll(keysetNavigation);
+        return result;
     }
 
-    private static Set<Class<?>> initializeAllowedJavaTypes() {
-        return Set.of(
-                Short.class, short.class, Integer.class, int.class, Long.class, long.class,
-                Float.class, float.class, Double.class, double.class, BigDecimal.class,
-                String.class, Boolean.class, boolean.class,
-                LocalDate.class, LocalTime.class, LocalDateTime.class,
-                ZonedDateTime.class, Instant.class, UUID.class
-        );
-    }
+    /**
+     * Writes a page of records of a table as a JSON object, with the same filtering, sorting and pagination as
+     * {@link #getTableRecords(String, List, int, int, String, String, boolean, String, String)}. Rows are written
+     * to the generator straight from the fetched entities or tuples, without building record maps, and values
+     * are written as they are rather than formatted for display. The total follows the records, so that the
+     * concurrent count has the time the rows take to write.
+     *
+     * @param tableName  Name of the table.
+     * @param filters    List of filters to apply.
+     * @param page       Page number (zero-based), used in offset mode.
+     * @param size       Number of records per page.
+     * @param sortField  Field to sort by.
+     * @param sortOrder  Sort order ("ASC" or "DESC").
+     * @param nullsFirst Whether to place null values first in sorting.
+     * @param after      Cursor of the row after which the page starts, used in keyset mode.
+     * @param before     Cursor of the row before which the page ends, used in keyset mode if no after cursor is given.
+     * @param json       The generator to write to.
+     * @throws IOException              If writing fails.
+     * @throws IllegalArgumentException If a cursor is malformed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void writeTableRecords(String tableName, List<Map<String, String>> filters, int page, int size,
+                                      String sortField, String sortOrder, boolean nullsFirst, String after, String before,
+                                      JsonGenerator json) throws IOException {
+        if (tableName == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        List<Map<String, String>> adjustedFilters = adjustFilters(filters, descriptor.getFilterFields());
+        replicaRouter.useReplicaForTransaction();
+        queryBudget.applyToTransaction(entityManager, entityClass);
+        activeQueryRegistry.attach(entityManager);
+        boolean keyset = isKeysetPagination(descriptor);
+        String effectiveSortField = determineSortField(sortField, descriptor, adjustedFilters, keyset);
+        String effectiveSortOrder = determineSortOrder(sortOrder, descriptor);
+
+        KeysetCursor cursor = keyset ? decodeCursor(after, before) : null;
+        int firstResult = keyset ? 0 : page * size;
+        boolean windowCount = !keyset && determineCountStrategy(descriptor) == CountStrategy.WINDOW;
+        long start = System.nanoTime();
+
+        Future<RecordCount> pendingCount = windowCount ? null : recordCounter.countAsync(descriptor, adjustedFilters);
+        PageRows pageRows = fetchPage(entityClass, adjustedFilters, descriptor, effectiveSortField, effectiveSortOrder,
+                keyset, cursor, firstResult, size, windowCount, pendingCount);
+        List<ListColumn> columns = descriptor.getListColumns();
+        int[] tupleIndexes = buildTupleIndexes(columns);
+        List<Object> ids = pageRows.rows.stream().map(row -> readId(row, pageRows.projected, descriptor)).collect(Collectors.toList());
+        Map<String, Map<Object, Long>> collectionSizes = countCollectionSizes(ids, descriptor);
+        boolean idColumn = columns.stream().anyMatch(column -> ID_FIELD.equals(column.getName()));
+
+        json.writeStartObject();
+        json.writeStringField("table", tableName);
+        json.writeStringField("paginationMode", keyset ? PaginationMode.KEYSET.name() : PaginationMode.OFFSET.name());
+        if (!keyset) {
+            json.writeNumberField("page", page);
+        }
+        json.writeNumberField("size", size);
+        json.writeStringField("sortField", effectiveSortField);
+        json.writeStringField("sortOrder", effectiveSortOrder);
+        json.writeArrayFieldStart("records");
+        for (int r = 0; r < pageRows.rows.size(); r++) {
+            Object row = pageRows.rows.get(r);
+            json.writeStartObject();
+            if (!idColumn) {
+                json.writeObjectField(ID_FIELD, ids.get(r));
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                ListColumn column = columns.get(i);
+                Object value = column.isCollectionSize()
+                        ? collectionSizes.getOrDefault(column.getName(), Collections.emptyMap()).getOrDefault(ids.get(r), 0L)
+                        : readColumn(row, pageRows.projected, column, tupleIndexes[i]);
+                json.writeObjectField(column.getName(), value);
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
 
-    private <T> Class<T> loadEntityClass(EntityInfo entityInfo) {
-        try {
-            @SuppressWarnings("unchecked")
-            Class<T> entityClass = (Class<T>) Class.forName(entityInfo.getClassName());
-            return entityClass;
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException("Unable to load entity class: " + entityInfo.getClassName(), e);
+        RecordCount count = resolveCount(descriptor, adjustedFilters, page, windowCount, pageRows.windowTotal, pendingCount);
+        adminMetrics.listPage(entityClass.getSimpleName(), determineCountStrategy(descriptor).name())
+                .record(System.nanoTime() - start, false);
+        if (count.getPrecision() == RecordCount.Precision.UNKNOWN) {
+            json.writeNullField("total");
+        } else {
+            json.writeNumberField("total", count.getValue());
+        }
+        json.writeStringField("totalPrecision", count.getPrecision().name());
+        json.writeNumberField("totalPages", determineTotalPages(count, page, size, pageRows.hasMore));
+        if (keyset) {
+            writeKeysetNavigation(json, pageRows, ids, columns, tupleIndexes, descriptor, effectiveSortField, cursor);
+        } else {
+            json.writeBooleanField("hasNext", pageRows.hasMore);
+            json.writeBooleanField("hasPrevious", page > 0);
         }
+        json.writeEndObject();
     }
 
+    /**
+     * Streams all records of a table matching the filters in list order, without pagination. Rows are read
+     * through a cursor with a fetch size and handed over in batches; the persistence context is cleared after
+     * each batch, so the heap used does not grow with the number of rows. Must run inside a transaction for
+     * the database cursor to be used.
+     *
+     * @param tableName     Name of the table.
+     * @param filters       List of filters to apply.
+     * @param sortField     Field to sort by.
+     * @param sortOrder     Sort order ("ASC" or "DESC").
+     * @param batchConsumer Consumer of the formatted record maps, called once per batch.
+     * @return The number of records streamed.
+     */
     @SuppressWarnings("unchecked")
-    private <T> Map<String, Object> prepareEntityMetadata(Class<T> entityClass) {
-        Set<String> displayFields = new LinkedHashSet<>();
-        Map<String, Boolean> isCollectionField = new HashMap<>();
-        Map<String, String> embeddedFieldPaths = new HashMap<>();
-        Map<String, String> fieldTypes = new HashMap<>();
-        Map<String, Boolean> nullableFields = new HashMap<>();
-        Map<String, String> foreignKeyFields = new HashMap<>();
-        Map<String, String> foreignKeyColumnNames = new HashMap<>();
-        Map<String, String> oneToManyFields = new HashMap<>();
-        Map<String, String> manyToManyFields = new HashMap<>();
-        Map<String, String> displayNames = new HashMap<>();
-        Map<String, Function<Object, Object>> computedColumns = new HashMap<>();
-
-        fieldUtils.collectFieldTypes(entityClass, displayFields, isCollectionField, embeddedFieldPaths, fieldTypes,
-                nullableFields, foreignKeyFields, foreignKeyColumnNames, oneToManyFields, manyToManyFields);
-
-        TableConfig tableConfig = adminConfig != null ? adminConfig.getTableConfig(entityClass) : null;
-        displayFields.clear();
-        if (tableConfig != null && tableConfig.getColumns() != null) {
-            for (ColumnConfig column : tableConfig.getColumns()) {
-                String fieldName = column.getFieldName();
-                if (!isRelationField(entityClass, fieldName)) {
-                    displayFields.add(fieldName);
-                    displayNames.put(fieldName, column.getDisplayName() != null ? column.getDisplayName() : fieldName);
-                    updateFieldType(entityClass, fieldName, fieldTypes);
-                }
-                if (column.isComputed()) {
-                    computedColumns.put(fieldName, column.getComputedValue());
-                }
-            }
-        } else {
-            processFieldsAndMethods(entityClass, displayFields, displayNames, computedColumns, embeddedFieldPaths, fieldTypes);
+    public <T> long streamTableRecords(String tableName, List<Map<String, String>> filters, String sortField, String sortOrder,
+                                       Consumer<List<Map<String, Object>>> batchConsumer) {
+        if (tableName == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
         }
+        logger.debug("Streaming records of table '{}'", tableName);
 
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("fieldTypes", fieldTypes);
-        metadata.put("displayFields", displayFields);
-        metadata.put("embeddedFieldPaths", embeddedFieldPaths);
-        metadata.put("displayNames", displayNames);
-        metadata.put("isCollectionField", isCollectionField);
-        metadata.put("foreignKeyFields", foreignKeyFields);
-        metadata.put("oneToManyFields", oneToManyFields);
-        metadata.put("manyToManyFields", manyToManyFields);
-        metadata.put("nullableFields", nullableFields);
-        metadata.put("computedColumns", computedColumns);
-        return metadata;
-    }
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(tableName);
+        Class<T> entityClass = (Class<T>) descriptor.getEntityClass();
+        List<Map<String, String>> adjustedFilters = adjustFilters(filters, descriptor.getFilterFields());
+        String effectiveSortField = determineSortField(sortField, descriptor, adjustedFilters, false);
+        String effectiveSortOrder = determineSortOrder(sortOrder, descriptor);
 
-    private void updateFieldType(Class<?> entityClass, String fieldName, Map<String, String> fieldTypes) {
-        try {
-            Field field = entityClass.getDeclaredField(fieldName);
-            fieldTypes.putIfAbsent(fieldName, field.getType().getSimpleName());
-        } catch (NoSuchFieldException e) {
-            logger.warn("Field {} not found in entity {}", fieldName, entityClass.getSimpleName());
-        }
-    }
-
-    private void processFieldsAndMethods(Class<?> entityClass, Set<String> displayFields, Map<String, String> displayNames,
-                                         Map<String, Function<Object, Object>> computedColumns, Map<String, String> embeddedFieldPaths,
-                                         Map<String, String> fieldTypes) {
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(jakarta.persistence.Embedded.class)) {
-                processEmbeddedFields(field, displayFields, displayNames, embeddedFieldPaths, fieldTypes);
-            } else if (!isRelationField(entityClass, field.getName())) {
-                String fieldName = field.getName();
-                displayFields.add(fieldName);
-                displayNames.put(fieldName, fieldName);
-                fieldTypes.putIfAbsent(fieldName, field.getType().getSimpleName());
-            }
-        }
-        for (Method method : entityClass.getDeclaredMethods()) {
-            if (method.isAnnotationPresent(ComputedColumn.class)) {
-                ComputedColumn annotation = method.getAnnotation(ComputedColumn.class);
-                String fieldName = method.getName();
-                displayFields.add(fieldName);
-                displayNames.put(fieldName, annotation.displayName());
-                computedColumns.put(fieldName, entity -> {
-                    try {
-                        method.setAccessible(true);
-                        return method.invoke(entity);
-                    } catch (Exception e) {
-                        logger.warn("Failed to compute column {}: {}", fieldName, e.getMessage());
-                        return null;
-                    }
-                });
-            }
+        List<FilterTerm> terms = queryBuilder.resolveFilters(adjustedFilters, entityClass, descriptor.getListEmbeddedFieldPaths());
+
+        if (descriptor.isProjectable()) {
+            TypedQuery<Tuple> query = createQuery("projection", entityClass, terms, descriptor, effectiveSortField,
+                    effectiveSortOrder, false, null, parameters -> buildProjectionQuery(entityClass, terms, parameters,
+                            descriptor, effectiveSortField, effectiveSortOrder, false, null, false));
+            return streamQuery(query, descriptor, rows -> buildProjectedRecordMaps(rows, descriptor), batchConsumer);
         }
+        TypedQuery<T> query = createQuery("entity", entityClass, terms, descriptor, effectiveSortField,
+                effectiveSortOrder, false, null, parameters -> buildQuery(entityClass, terms, parameters, descriptor,
+                        effectiveSortField, effectiveSortOrder, false, null));
+        return streamQuery(query, descriptor, rows -> buildRecordMaps(rows, descriptor), batchConsumer);
     }
 
-    private void processEmbeddedFields(Field field, Set<String> displayFields, Map<String, String> displayNames,
-                                       Map<String, String> embeddedFieldPaths, Map<String, String> fieldTypes) {
-        Class<?> embeddedType = field.getType();
-        for (Field embeddedField : embeddedType.getDeclaredFields()) {
-            String embeddedFieldName = field.getName() + "." + embeddedField.getName();
-            displayFields.add(embeddedFieldName);
-            embeddedFieldPaths.put(embeddedFieldName, embeddedFieldName);
-            fieldTypes.putIfAbsent(embeddedFieldName, embeddedField.getType().getSimpleName());
-            displayNames.put(embeddedFieldName, embeddedField.getName());
+    private <R> long streamQuery(TypedQuery<R> query, EntityDescriptor descriptor,
+                                 Function<List<R>, List<Map<String, Object>>> mapper,
+                                 Consumer<List<Map<String, Object>>> batchConsumer) {
+        TypedQuery<R> typedQuery = query
+                .setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_BATCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        long streamed = 0;
+        List<R> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try (Stream<R> rows = typedQuery.getResultStream()) {
+            Iterator<R> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    streamed += emitBatch(batch, descriptor, mapper, batchConsumer);
+                }
+            }
+            streamed += emitBatch(batch, descriptor, mapper, batchConsumer);
         }
+        return streamed;
     }
 
-    private <T> boolean isRelationField(Class<T> entityClass, String fieldName) {
-        try {
-            Field field = entityClass.getDeclaredField(fieldName);
-            return field.isAnnotationPresent(jakarta.persistence.OneToMany.class) ||
-                    field.isAnnotationPresent(jakarta.persistence.ManyToOne.class) ||
-                    field.isAnnotationPresent(jakarta.persistence.ManyToMany.class) ||
-                    field.isAnnotationPresent(jakarta.persistence.OneToOne.class);
-        } catch (NoSuchFieldException e) {
-            return false;
+    private <R> int emitBatch(List<R> batch, EntityDescriptor descriptor, Function<List<R>, List<Map<String, Object>>> mapper,
+                              Consumer<List<Map<String, Object>>> batchConsumer) {
+        if (batch.isEmpty()) {
+            return 0;
         }
+        List<Map<String, Object>> recordMaps = mapper.apply(batch);
+        fillCollectionSizes(recordMaps, descriptor);
+        timeFormatService.formatRecords(recordMaps, descriptor.getListFieldTypes());
+        batchConsumer.accept(recordMaps);
+        int emitted = batch.size();
+        batch.clear();
+        // Detach the entities of the batch so that the persistence context does not grow with the export
+        entityManager.clear();
+        return emitted;
     }
 
     private List<String> normalizeList(List<String> list, int expectedSize, String defaultValue) {
@@ -326,190 +456,447 @@ public class RecordListService {
         return normalized;
     }
 
-    private <T> Set<String> getFilterableFields(Class<T> entityClass) {
-        EntityInfo entityInfo = metamodelAnalyzer.analyze(entityClass);
-        Set<String> filterableFields = new LinkedHashSet<>();
-        Set<String> displayedFields = new LinkedHashSet<>();
-        Map<String, Function<Object, Object>> computedColumns = new HashMap<>();
-        TableConfig tableConfig = adminConfig != null ? adminConfig.getTableConfig(entityClass) : null;
+    /**
+     * Replaces the displayed filter field names with the entity fields they filter on.
+     *
+     * @param filters      The filters as built by {@link #buildFilters}.
+     * @param filterFields Map of displayed field names to entity field names.
+     * @return The filters with resolved field names.
+     */
+    List<Map<String, String>> adjustFilters(List<Map<String, String>> filters, Map<String, String> filterFields) {
+        if (filters == null || filters.isEmpty()) return filters;
+        return filters.stream().map(filter -> {
+            Map<String, String> adjustedFilter = new HashMap<>(filter);
+            String displayField = filter.get("field");
+            String realField = filterFields.getOrDefault(displayField, displayField);
+            adjustedFilter.put("field", realField);
+            return adjustedFilter;
+        }).collect(Collectors.toList());
+    }
 
-        if (tableConfig != null && tableConfig.getColumns() != null) {
-            for (ColumnConfig column : tableConfig.getColumns()) {
-                if (!column.isComputed()) {
-                    displayedFields.add(column.getFieldName());
-                } else {
-                    computedColumns.put(column.getFieldName(), column.getComputedValue());
-                }
+    /**
+     * Determines the field the list is sorted by, falling back to the table default.
+     *
+     * @param sortField  The requested sort field, or null.
+     * @param descriptor The descriptor of the entity.
+     * @return The effective sort field.
+     */
+    String determineSortField(String sortField, EntityDescriptor descriptor) {
+        TableConfig tableConfig = descriptor.getTableConfig();
+        String defaultSortField = tableConfig != null ? tableConfig.getDefaultSortField() : DEFAULT_SORT_FIELD;
+
+        String effectiveSortField = sortField != null ? descriptor.getFilterFields().getOrDefault(sortField, sortField) : defaultSortField;
+        if (effectiveSortField != null && descriptor.getComputedColumns().containsKey(effectiveSortField)) {
+            logger.warn("Sort field '{}' is computed, falling back to '{}'", effectiveSortField, DEFAULT_SORT_FIELD);
+            return DEFAULT_SORT_FIELD;
+        }
+        return effectiveSortField;
+    }
+
+    /**
+     * Determines the field the list is sorted by. Searched lists without a requested sort field are ordered by
+     * rank, unless they are keyset-paginated.
+     */
+    private String determineSortField(String sortField, EntityDescriptor descriptor, List<Map<String, String>> filters,
+                                      boolean keyset) {
+        if ((sortField == null || sortField.isEmpty()) && !keyset && FullTextSearch.hasSearch(filters)) {
+            return FullTextSearch.RANK_SORT_FIELD;
+        }
+        return determineSortField(sortField, descriptor);
+    }
+
+    /**
+     * Determines the sort order of the list, falling back to the table default.
+     *
+     * @param sortOrder  The requested sort order, or null.
+     * @param descriptor The descriptor of the entity.
+     * @return The effective sort order.
+     */
+    String determineSortOrder(String sortOrder, EntityDescriptor descriptor) {
+        return sortOrder != null ? sortOrder :
+                (descriptor.getTableConfig() != null ? descriptor.getTableConfig().getDefaultSortOrder() : DEFAULT_SORT_ORDER);
+    }
+
+    private boolean determineNullsFirst(String sortField, boolean nullsFirst, EntityDescriptor descriptor) {
+        return sortField != null ? nullsFirst :
+                (descriptor.getTableConfig() != null && descriptor.getTableConfig().isDefaultNullsFirst());
+    }
+
+    /**
+     * Fetches the rows of a page, with a look-ahead row telling whether more rows follow. A pending count is
+     * cancelled if the page query fails.
+     */
+    private <T> PageRows fetchPage(Class<T> entityClass, List<Map<String, String>> filters, EntityDescriptor descriptor,
+                                   String sortField, String sortOrder, boolean keyset, KeysetCursor cursor, int firstResult,
+                                   int size, boolean windowCount, Future<RecordCount> pendingCount) {
+        int maxResults = size + 1;
+        try {
+            List<FilterTerm> terms = queryBuilder.resolveFilters(filters, entityClass, descriptor.getListEmbeddedFieldPaths());
+            if (descriptor.isProjectable()) {
+                TypedQuery<Tuple> query = createQuery(windowCount ? "projection-window" : "projection", entityClass, terms,
+                        descriptor, sortField, sortOrder, keyset, cursor, parameters -> buildProjectionQuery(entityClass,
+                                terms, parameters, descriptor, sortField, sortOrder, keyset, cursor, windowCount));
+                List<Tuple> rows = executeQuery(query, entityClass, firstResult, maxResults);
+                return new PageRows(toPageRows(rows, size, cursor), true, rows.size() > size,
+                        windowCount ? readWindowTotal(rows) : null);
             }
-        } else {
-            processDefaultFieldsAndMethods(entityClass, displayedFields, computedColumns);
-        }
-
-        Map<String, AttributeInfo> attributes = entityInfo.getMetamodelInfo().getAttributes();
-        for (Field field : entityClass.getDeclaredFields()) {
-            String fieldName = field.getName();
-            if (field.isAnnotationPresent(jakarta.persistence.Embedded.class)) {
-                processEmbeddedFilterableFields(field, displayedFields, computedColumns, filterableFields);
-            } else if (displayedFields.contains(fieldName) && !computedColumns.containsKey(fieldName)) {
-                AttributeInfo attrInfo = attributes.get(fieldName);
-                if (attrInfo != null && ALLOWED_JAVA_TYPES.contains(getJavaTypeFromString(attrInfo.getJavaTypeSimpleName()))) {
-                    filterableFields.add(fieldName);
-                }
+            if (windowCount) {
+                TypedQuery<Tuple> query = createQuery("entity-window", entityClass, terms, descriptor, sortField, sortOrder,
+                        false, null, parameters -> buildWindowCountQuery(entityClass, terms, parameters, descriptor,
+                                sortField, sortOrder));
+                List<Tuple> rows = executeQuery(query, entityClass, firstResult, maxResults);
+                List<T> entities = rows.stream().map(row -> row.get(0, entityClass)).collect(Collectors.toList());
+                return new PageRows(toPageRows(entities, size, cursor), false, rows.size() > size, readWindowTotal(rows));
             }
+            TypedQuery<T> query = createQuery("entity", entityClass, terms, descriptor, sortField, sortOrder, keyset, cursor,
+                    parameters -> buildQuery(entityClass, terms, parameters, descriptor, sortField, sortOrder, keyset, cursor));
+            List<T> rows = executeQuery(query, entityClass, firstResult, maxResults);
+            return new PageRows(toPageRows(rows, size, cursor), false, rows.size() > size, null);
+        } catch (RuntimeException e) {
+            if (pendingCount != null) {
+                pendingCount.cancel(true);
+            }
+            throw e;
         }
-        return filterableFields;
     }
 
-    private void processDefaultFieldsAndMethods(Class<?> entityClass, Set<String> displayedFields, Map<String, Function<Object, Object>> computedColumns) {
-        for (Field field : entityClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(jakarta.persistence.Embedded.class)) {
-                Class<?> embeddedType = field.getType();
-                for (Field embeddedField : embeddedType.getDeclaredFields()) {
-                    displayedFields.add(field.getName() + "." + embeddedField.getName());
-                }
-            } else {
-                displayedFields.add(field.getName());
-            }
+    private RecordCount resolveCount(EntityDescriptor descriptor, List<Map<String, String>> filters, int page,
+                                     boolean windowCount, Long windowTotal, Future<RecordCount> pendingCount) {
+        if (!windowCount) {
+            return recordCounter.awaitCount(pendingCount);
         }
-        for (Method method : entityClass.getDeclaredMethods()) {
-            if (method.isAnnotationPresent(ComputedColumn.class)) {
-                String fieldName = method.getName();
-                displayedFields.add(fieldName);
-                computedColumns.put(fieldName, entity -> {
-                    try {
-                        method.setAccessible(true);
-                        return method.invoke(entity);
-                    } catch (Exception e) {
-                        logger.warn("Failed to compute column {}: {}", fieldName, e.getMessage());
-                        return null;
-                    }
-                });
-            }
+        if (windowTotal != null) {
+            return RecordCount.exact(windowTotal);
         }
+        // No rows carry the window count: the list is empty or the page lies beyond its end
+        return page == 0 ? RecordCount.exact(0) : recordCounter.count(descriptor, filters);
     }
 
-    private void processEmbeddedFilterableFields(Field field, Set<String> displayedFields, Map<String, Function<Object, Object>> computedColumns,
-                                                 Set<String> filterableFields) {
-        Class<?> embeddedType = field.getType();
-        for (Field embeddedField : embeddedType.getDeclaredFields()) {
-            String embeddedFieldName = field.getName() + "." + embeddedField.getName();
-            if (displayedFields.contains(embeddedFieldName) && !computedColumns.containsKey(embeddedFieldName) &&
-                    ALLOWED_JAVA_TYPES.contains(embeddedField.getType())) {
-                filterableFields.add(embeddedFieldName);
+    /**
+     * Creates a list query from the query shape cache, building it with parameterized values on a miss, and binds
+     * the filter values followed by the values of the keyset cursor.
+     */
+    private <R> TypedQuery<R> createQuery(String kind, Class<?> entityClass, List<FilterTerm> terms, EntityDescriptor descriptor,
+                                          String sortField, String sortOrder, boolean keyset, KeysetCursor cursor,
+                                          Function<QueryParameters, CriteriaQuery<R>> builder) {
+        String cursorShape = cursor == null ? "none" : (cursor.isBackward() ? "before" : "after")
+                + (cursor.isSortValueNull() ? "-null" : "");
+        String key = QueryShapeCache.shapeKey(entityClass, kind, terms, sortField, sortOrder, keyset, cursorShape);
+        QueryShapeCache.CompiledQuery<R> compiled = queryShapeCache.getOrCompile(key, () -> {
+            QueryParameters parameters = QueryParameters.parameterized(entityManager.getCriteriaBuilder());
+            return new QueryShapeCache.CompiledQuery<>(builder.apply(parameters), parameters);
+        });
+
+        List<Object> values = FilterTerm.collectValues(terms);
+        String searchText = findSearchText(terms);
+        if (!keyset && searchText != null && FullTextSearch.RANK_SORT_FIELD.equals(sortField)) {
+            values.add(searchText);
+        }
+        if (keyset && cursor != null) {
+            values.add(cursor.getId(descriptor.getIdAccessor().getType()));
+            String keyField = determineKeysetSortField(sortField, descriptor);
+            if (keyField != null && !cursor.isSortValueNull()) {
+                values.add(cursor.getSortValue(descriptor.getListColumn(keyField).getAccessor().getType()));
             }
         }
+        return compiled.createQuery(entityManager, values);
     }
 
-    private Class<?> getJavaTypeFromString(String typeName) {
-        return switch (typeName) {
-            case "String" -> String.class;
-            case "Integer" -> Integer.class;
-            case "Long" -> Long.class;
-            case "Short" -> Short.class;
-            case "Float" -> Float.class;
-            case "Double" -> Double.class;
-            case "BigDecimal" -> BigDecimal.class;
-            case "Boolean" -> Boolean.class;
-            case "LocalTime" -> LocalTime.class;
-            case "OffsetTime" -> OffsetTime.class;
-            case "LocalDateTime" -> LocalDateTime.class;
-            case "OffsetDateTime" -> OffsetDateTime.class;
-            case "Instant" -> Instant.class;
-            case "ZonedDateTime" -> ZonedDateTime.class;
-            case "UUID" -> UUID.class;
-            case "byte[]" -> byte[].class;
-            default -> Object.class;
-        };
-    }
+    private <T> CriteriaQuery<T> buildQuery(Class<T> entityClass, List<FilterTerm> terms, QueryParameters parameters,
+                                            EntityDescriptor descriptor, String sortField, String sortOrder,
+                                            boolean keyset, KeysetCursor cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        fetchForeignKeys(root, descriptor);
 
-    @SuppressWarnings("unchecked")
-    private <T> Map<String, String> buildFilterFields(Class<T> entityClass, Map<String, Object> metadata) {
-        Set<String> filterableFields = getFilterableFields(entityClass);
-        Map<String, String> displayNames = (Map<String, String>) metadata.get("displayNames");
-        Map<String, String> filterFields = new LinkedHashMap<>();
-        for (String fieldName : filterableFields) {
-            String displayName = displayNames.getOrDefault(fieldName, fieldName);
-            filterFields.put(displayName, fieldName);
-        }
-        return filterFields;
+        query.select(root);
+        applyFiltersAndSort(cb, query, root, entityClass, terms, parameters, descriptor, sortField, sortOrder, keyset, cursor);
+        return query;
     }
 
-    private List<Map<String, String>> adjustFilters(List<Map<String, String>> filters, Map<String, String> filterFields) {
-        if (filters == null || filters.isEmpty()) return filters;
-        return filters.stream().map(filter -> {
-            Map<String, String> adjustedFilter = new HashMap<>(filter);
-            String displayField = filter.get("field");
-            String realField = filterFields.getOrDefault(displayField, displayField);
-            adjustedFilter.put("field", realField);
-            return adjustedFilter;
-        }).collect(Collectors.toList());
+    /**
+     * Builds an entity query that also selects the total number of matching rows with {@code count(*) OVER ()},
+     * so that the page and its total are fetched in one statement. The entity is selected first, the total last.
+     */
+    private <T> CriteriaQuery<Tuple> buildWindowCountQuery(Class<T> entityClass, List<FilterTerm> terms,
+                                                           QueryParameters parameters, EntityDescriptor descriptor,
+                                                           String sortField, String sortOrder) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        fetchForeignKeys(root, descriptor);
+
+        query.multiselect(root, buildWindowCount(cb, root));
+        applyFiltersAndSort(cb, query, root, entityClass, terms, parameters, descriptor, sortField, sortOrder, false, null);
+        return query;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> String determineSortField(String sortField, Class<T> entityClass, Map<String, Object> metadata) {
-        Map<String, String> filterFields = buildFilterFields(entityClass, metadata);
-        Map<String, Function<Object, Object>> computedColumns = (Map<String, Function<Object, Object>>) metadata.get("computedColumns");
-        String defaultSortField = adminConfig != null && adminConfig.getTableConfig(entityClass) != null ?
-                adminConfig.getTableConfig(entityClass).getDefaultSortField() : DEFAULT_SORT_FIELD;
-
-        String effectiveSortField = sortField != null ? filterFields.getOrDefault(sortField, sortField) : defaultSortField;
-        if (effectiveSortField != null && computedColumns.containsKey(effectiveSortField)) {
-            logger.warn("Sort field '{}' is computed, falling back to '{}'", effectiveSortField, DEFAULT_SORT_FIELD);
-            return DEFAULT_SORT_FIELD;
+    private <T> void fetchForeignKeys(Root<T> root, EntityDescriptor descriptor) {
+        Map<String, String> foreignKeyFields = descriptor.getForeignKeyFields();
+        for (String field : descriptor.getDisplayFields()) {
+            if (foreignKeyFields.containsKey(field)) {
+                root.fetch(field, JoinType.LEFT);
+            }
         }
-        return effectiveSortField;
     }
 
-    private <T> String determineSortOrder(String sortOrder, Class<T> entityClass) {
-        return sortOrder != null ? sortOrder :
-                (adminConfig != null && adminConfig.getTableConfig(entityClass) != null ?
-                        adminConfig.getTableConfig(entityClass).getDefaultSortOrder() : DEFAULT_SORT_ORDER);
+    private Expression<Long> buildWindowCount(CriteriaBuilder cb, Root<?> root) {
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        return hcb.count(root, hcb.createWindow());
     }
 
-    private <T> boolean determineNullsFirst(String sortField, boolean nullsFirst, Class<T> entityClass) {
-        return sortField != null ? nullsFirst :
-                (adminConfig != null && adminConfig.getTableConfig(entityClass) != null ?
-                        adminConfig.getTableConfig(entityClass).isDefaultNullsFirst() : false);
+    private Long readWindowTotal(List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Tuple first = rows.get(0);
+        return first.get(first.getElements().size() - 1, Long.class);
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> CriteriaQuery<T> buildQuery(Class<T> entityClass, List<Map<String, String>> filters, Map<String, Object> metadata,
-                                            String sortField, String sortOrder) {
+    private CountStrategy determineCountStrategy(EntityDescriptor descriptor) {
+        TableConfig tableConfig = descriptor.getTableConfig();
+        return tableConfig != null ? tableConfig.getCountStrategy() : CountStrategy.EXACT;
+    }
+
+    /**
+     * Builds a query selecting only the ID and the displayed columns of the list, so that no entities
+     * are hydrated for the page. The ID is selected first, followed by the selectable list columns in
+     * display order and, if requested, the window count of matching rows.
+     */
+    private <T> CriteriaQuery<Tuple> buildProjectionQuery(Class<T> entityClass, List<FilterTerm> terms,
+                                                          QueryParameters parameters, EntityDescriptor descriptor,
+                                                          String sortField, String sortOrder, boolean keyset,
+                                                          KeysetCursor cursor, boolean windowCount) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
         Root<T> root = query.from(entityClass);
 
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
-        for (String field : displayFields) {
-            if (foreignKeyFields.containsKey(field)) {
-                root.fetch(field, JoinType.LEFT);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(ID_FIELD));
+        for (ListColumn column : descriptor.getListColumns()) {
+            if (column.isSelectable()) {
+                selections.add(buildSortPath(root, column.getAccessor().getPath()));
             }
         }
+        if (windowCount) {
+            selections.add(buildWindowCount(cb, root));
+        }
 
-        query.select(root);
+        query.multiselect(selections);
+        applyFiltersAndSort(cb, query, root, entityClass, terms, parameters, descriptor, sortField, sortOrder, keyset, cursor);
+        return query;
+    }
 
-        if (filters != null && !filters.isEmpty()) {
-            List<Predicate> predicates = new ArrayList<>();
-            Map<String, Join<T, ?>> joins = new HashMap<>();
-            for (Map<String, String> filter : filters) {
-                Predicate predicate = queryBuilder.buildPredicate(cb, root, filter.get("field"), List.of(filter), entityClass,
-                        (Map<String, String>) metadata.get("embeddedFieldPaths"), joins);
-                if (predicate != null) {
-                    predicates.add(predicate);
-                }
+    private <T> void applyFiltersAndSort(CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> root, Class<T> entityClass,
+                                         List<FilterTerm> terms, QueryParameters parameters, EntityDescriptor descriptor,
+                                         String sortField, String sortOrder, boolean keyset, KeysetCursor cursor) {
+        List<Predicate> predicates = new ArrayList<>();
+        for (FilterTerm term : terms) {
+            predicates.add(queryBuilder.buildPredicate(cb, root, term, entityClass, descriptor.getListEmbeddedFieldPaths(), parameters));
+        }
+
+        boolean ascending = "ASC".equalsIgnoreCase(sortOrder);
+        if (keyset) {
+            // A backward page is read in reverse order and flipped afterwards
+            boolean seekAscending = cursor != null && cursor.isBackward() ? !ascending : ascending;
+            String keyField = determineKeysetSortField(sortField, descriptor);
+            Path<?> sortPath = keyField != null ? buildSortPath(root, keyField) : null;
+            Path<?> idPath = root.get(ID_FIELD);
+            if (cursor != null) {
+                predicates.add(buildKeysetPredicate(cb, sortPath, idPath, cursor, seekAscending, descriptor, keyField, parameters));
             }
-            if (!predicates.isEmpty()) {
-                query.where(cb.and(predicates.toArray(new Predicate[0])));
+            List<Order> orders = new ArrayList<>();
+            if (sortPath != null) {
+                orders.add(seekAscending ? cb.asc(sortPath) : cb.desc(sortPath));
             }
+            orders.add(seekAscending ? cb.asc(idPath) : cb.desc(idPath));
+            query.orderBy(orders);
+        } else if (FullTextSearch.RANK_SORT_FIELD.equals(sortField) && findSearchText(terms) != null) {
+            Expression<Float> rank = fullTextSearch.buildRank(cb, root, entityClass,
+                    parameters.bind(String.class, findSearchText(terms)));
+            query.orderBy(cb.desc(rank), cb.desc(root.get(ID_FIELD)));
+        } else if (descriptor.isSortable(sortField)) {
+            Path<?> sortPath = buildSortPath(root, sortField);
+            query.orderBy(ascending ? cb.asc(sortPath) : cb.desc(sortPath));
         }
 
-        if (sortField != null && getFilterableFields(entityClass).contains(sortField)) {
-            Path<?> sortPath = buildSortPath(root, sortField);
-            query.orderBy("ASC".equalsIgnoreCase(sortOrder) ? cb.asc(sortPath) : cb.desc(sortPath));
+        if (!predicates.isEmpty()) {
+            query.where(cb.and(predicates.toArray(new Predicate[0])));
         }
+    }
 
-        return query;
+    /**
+     * Builds the predicate selecting the rows that follow the cursor row in the seek order, with the ID
+     * breaking ties between equal sort values. PostgreSQL sorts nulls last in ascending and first in
+     * descending order, so null sort values are placed accordingly. The ID is bound before the sort value.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildKeysetPredicate(CriteriaBuilder cb, Path sortPath, Path idPath, KeysetCursor cursor,
+                                           boolean ascending, EntityDescriptor descriptor, String keyField,
+                                           QueryParameters parameters) {
+        Class idType = descriptor.getIdAccessor().getType();
+        Expression id = parameters.bind(idType, cursor.getId(idType));
+        Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+        if (sortPath == null) {
+            return idAfter;
+        }
+        if (cursor.isSortValueNull()) {
+            Predicate nullAfter = cb.and(cb.isNull(sortPath), idAfter);
+            return ascending ? nullAfter : cb.or(nullAfter, cb.isNotNull(sortPath));
+        }
+        Class sortType = descriptor.getListColumn(keyField).getAccessor().getType();
+        Expression value = parameters.bind(sortType, cursor.getSortValue(sortType));
+        Predicate valueAfter = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+        Predicate tieAfter = cb.and(cb.equal(sortPath, value), idAfter);
+        return ascending ? cb.or(valueAfter, tieAfter, cb.isNull(sortPath)) : cb.or(valueAfter, tieAfter);
+    }
+
+    private String findSearchText(List<FilterTerm> terms) {
+        return terms.stream()
+                .filter(term -> FullTextSearch.SEARCH_FIELD.equals(term.getField()))
+                .map(term -> (String) term.getValues().get(0))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean isKeysetPagination(EntityDescriptor descriptor) {
+        TableConfig tableConfig = descriptor.getTableConfig();
+        return tableConfig != null && tableConfig.getPaginationMode() == PaginationMode.KEYSET
+                && descriptor.getIdAccessor() != null;
+    }
+
+    /**
+     * Determines the column the keyset cursor is built on besides the ID.
+     *
+     * @return The sort field, or null if the list is ordered by ID only.
+     */
+    private String determineKeysetSortField(String sortField, EntityDescriptor descriptor) {
+        if (!descriptor.isSortable(sortField) || ID_FIELD.equals(sortField)) {
+            return null;
+        }
+        ListColumn column = descriptor.getListColumn(sortField);
+        return column != null && column.getAccessor() != null ? sortField : null;
+    }
+
+    private KeysetCursor decodeCursor(String after, String before) {
+        if (after != null && !after.isEmpty()) {
+            return KeysetCursor.decode(after, false);
+        }
+        if (before != null && !before.isEmpty()) {
+            return KeysetCursor.decode(before, true);
+        }
+        return null;
+    }
+
+    /**
+     * Cuts the look-ahead row off a fetched page and restores the display order of a backward page.
+     */
+    private <R> List<R> toPageRows(List<R> rows, int size, KeysetCursor cursor) {
+        List<R> pageRows = rows.size() > size ? rows.subList(0, size) : rows;
+        if (cursor != null && cursor.isBackward()) {
+            pageRows = new ArrayList<>(pageRows);
+            Collections.reverse(pageRows);
+        }
+        return pageRows;
+    }
+
+    private Map<String, Object> buildKeysetNavigation(List<Map<String, Object>> recordMaps, EntityDescriptor descriptor,
+                                                      String sortField, KeysetCursor cursor, boolean hasMore) {
+        if (recordMaps.isEmpty()) {
+            return buildKeysetNavigation(null, null, cursor, hasMore);
+        }
+        String keyField = determineKeysetSortField(sortField, descriptor);
+        Map<String, Object> first = recordMaps.get(0);
+        Map<String, Object> last = recordMaps.get(recordMaps.size() - 1);
+        return buildKeysetNavigation(
+                KeysetCursor.encode(first.get(ID_FIELD), keyField != null ? first.get(keyField) : null),
+                KeysetCursor.encode(last.get(ID_FIELD), keyField != null ? last.get(keyField) : null),
+                cursor, hasMore);
+    }
+
+    private Map<String, Object> buildKeysetNavigation(String previousCursor, String nextCursor, KeysetCursor cursor, boolean hasMore) {
+        boolean backward = cursor != null && cursor.isBackward();
+        Map<String, Object> navigation = new HashMap<>();
+        navigation.put("hasNext", backward || hasMore);
+        navigation.put("hasPrevious", backward ? hasMore : cursor != null);
+        if (previousCursor != null) {
+            navigation.put("previousCursor", previousCursor);
+            navigation.put("nextCursor", nextCursor);
+        }
+        return navigation;
+    }
+
+    private void writeKeysetNavigation(JsonGenerator json, PageRows pageRows, List<Object> ids, List<ListColumn> columns,
+                                       int[] tupleIndexes, EntityDescriptor descriptor, String sortField,
+                                       KeysetCursor cursor) throws IOException {
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!pageRows.rows.isEmpty()) {
+            String keyField = determineKeysetSortField(sortField, descriptor);
+            int keyColumn = keyField != null ? columns.indexOf(descriptor.getListColumn(keyField)) : -1;
+            int last = pageRows.rows.size() - 1;
+            previousCursor = KeysetCursor.encode(ids.get(0), keyColumn >= 0
+                    ? readColumn(pageRows.rows.get(0), pageRows.projected, columns.get(keyColumn), tupleIndexes[keyColumn]) : null);
+            nextCursor = KeysetCursor.encode(ids.get(last), keyColumn >= 0
+                    ? readColumn(pageRows.rows.get(last), pageRows.projected, columns.get(keyColumn), tupleIndexes[keyColumn]) : null);
+        }
+        Map<String, Object> navigation = buildKeysetNavigation(previousCursor, nextCursor, cursor, pageRows.hasMore);
+        json.writeBooleanField("hasNext", (Boolean) navigation.get("hasNext"));
+        json.writeBooleanField("hasPrevious", (Boolean) navigation.get("hasPrevious"));
+        json.writeStringField("previousCursor", previousCursor);
+        json.writeStringField("nextCursor", nextCursor);
+    }
+
+    /**
+     * Maps each list column to its position in the tuples of a projection query, or -1 if it is not selected.
+     */
+    private int[] buildTupleIndexes(List<ListColumn> columns) {
+        int[] indexes = new int[columns.size()];
+        int index = 1;
+        for (int i = 0; i < columns.size(); i++) {
+            indexes[i] = columns.get(i).isSelectable() ? index++ : -1;
+        }
+        return indexes;
+    }
+
+    private Object readId(Object row, boolean projected, EntityDescriptor descriptor) {
+        if (projected) {
+            return ((Tuple) row).get(0);
+        }
+        return descriptor.getIdAccessor() != null ? descriptor.getIdAccessor().get(row) : null;
+    }
+
+    private Object readColumn(Object row, boolean projected, ListColumn column, int tupleIndex) {
+        if (projected) {
+            return tupleIndex >= 0 ? column.present(((Tuple) row).get(tupleIndex)) : null;
+        }
+        try {
+            return column.read(row);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to access field {}: {}", column.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Counts the collection size columns of a page with one grouped count query per collection,
+     * keyed by record ID, instead of initializing the collection of every row.
+     */
+    private Map<String, Map<Object, Long>> countCollectionSizes(List<Object> ids, EntityDescriptor descriptor) {
+        Map<String, Map<Object, Long>> sizes = new HashMap<>();
+        List<Object> presentIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        for (ListColumn column : descriptor.getListColumns()) {
+            if (!column.isCollectionSize()) {
+                continue;
+            }
+            try {
+                sizes.put(column.getName(), recordCounter.countCollection(descriptor, column.getName(), presentIds));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to count collection {}: {}", column.getName(), e.getMessage());
+            }
+        }
+        return sizes;
     }
 
     private Path<?> buildSortPath(Root<?> root, String sortField) {
@@ -520,86 +907,94 @@ public class RecordListService {
         return sortPath;
     }
 
-    private <T> List<T> executeQuery(CriteriaQuery<T> query, int page, int size) {
-        TypedQuery<T> typedQuery = entityManager.createQuery(query);
-        typedQuery.setFirstResult(page * size);
-        typedQuery.setMaxResults(size);
-        return typedQuery.getResultList();
+    private <R> List<R> executeQuery(TypedQuery<R> query, Class<?> entityClass, int firstResult, int maxResults) {
+        query.setFirstResult(firstResult);
+        query.setMaxResults(maxResults);
+        return queryBudget.apply(query, entityClass).getResultList();
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> List<Map<String, Object>> buildRecordMaps(List<T> results, Class<T> entityClass, Map<String, Object> metadata, String entityClassName) {
-        List<Map<String, Object>> recordMaps = new ArrayList<>();
-        Set<String> displayFields = (Set<String>) metadata.get("displayFields");
-        Map<String, String> embeddedFieldPaths = (Map<String, String>) metadata.get("embeddedFieldPaths");
-        Map<String, Function<Object, Object>> computedColumns = (Map<String, Function<Object, Object>>) metadata.get("computedColumns");
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-        Map<String, String> oneToManyFields = (Map<String, String>) metadata.get("oneToManyFields");
-        Map<String, String> manyToManyFields = (Map<String, String>) metadata.get("manyToManyFields");
+    private <T> List<Map<String, Object>> buildRecordMaps(List<T> results, EntityDescriptor descriptor) {
+        List<ListColumn> columns = descriptor.getListColumns();
+        int columnCount = columns.size();
+        List<Map<String, Object>> recordMaps = new ArrayList<>(results.size());
 
         for (T entity : results) {
             Map<String, Object> recordMap = new LinkedHashMap<>();
-            for (String field : displayFields) {
+            for (int i = 0; i < columnCount; i++) {
+                ListColumn column = columns.get(i);
+                Object value;
                 try {
-                    if (embeddedFieldPaths.containsKey(field)) {
-                        recordMap.put(field, getEmbeddedFieldValue(entity, embeddedFieldPaths.get(field)));
-                    } else if (computedColumns.containsKey(field)) {
-                        recordMap.put(field, computedColumns.get(field).apply(entity));
-                    } else if (oneToManyFields.containsKey(field) || manyToManyFields.containsKey(field)) {
-                        Field f = entityClass.getDeclaredField(field);
-                        f.setAccessible(true);
-                        Collection<?> relatedEntities = (Collection<?>) f.get(entity);
-                        recordMap.put(field, relatedEntities != null ? relatedEntities.size() : 0);
-                    } else {
-                        Field f = entityClass.getDeclaredField(field);
-                        f.setAccessible(true);
-                        Object value = f.get(entity);
-                        if (value instanceof byte[]) {
-                            value = bytesToHex((byte[]) value);
-                        }
-                        recordMap.put(field, value);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to access field {}: {}", field, e.getMessage());
-                    recordMap.put(field, null);
+                    value = column.read(entity);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to access field {}: {}", column.getName(), e.getMessage());
+                    value = null;
                 }
+                recordMap.put(column.getName(), value);
+            }
+            if (descriptor.getIdAccessor() != null) {
+                recordMap.putIfAbsent(ID_FIELD, descriptor.getIdAccessor().get(entity));
             }
-            addRelationLinks(recordMap, displayFields, foreignKeyFields, oneToManyFields, manyToManyFields, entityClassName);
+            addRelationLinks(recordMap, descriptor);
             recordMaps.add(recordMap);
         }
         return recordMaps;
     }
 
-    private Object getEmbeddedFieldValue(Object entity, String path) throws Exception {
-        String[] parts = path.split("\\.");
-        Object embeddedObj = entity;
-        for (String part : parts) {
-            Field f = embeddedObj.getClass().getDeclaredField(part);
-            f.setAccessible(true);
-            embeddedObj = f.get(embeddedObj);
+    private List<Map<String, Object>> buildProjectedRecordMaps(List<Tuple> results, EntityDescriptor descriptor) {
+        List<ListColumn> columns = descriptor.getListColumns();
+        int columnCount = columns.size();
+        List<Map<String, Object>> recordMaps = new ArrayList<>(results.size());
+
+        for (Tuple tuple : results) {
+            Map<String, Object> recordMap = new LinkedHashMap<>();
+            int index = 1;
+            for (int i = 0; i < columnCount; i++) {
+                ListColumn column = columns.get(i);
+                recordMap.put(column.getName(), column.isSelectable() ? column.present(tuple.get(index++)) : null);
+            }
+            recordMap.putIfAbsent(ID_FIELD, tuple.get(0));
+            addRelationLinks(recordMap, descriptor);
+            recordMaps.add(recordMap);
+        }
+        return recordMaps;
+    }
+
+    /**
+     * Fills the collection size columns of the record maps of a page.
+     */
+    private void fillCollectionSizes(List<Map<String, Object>> recordMaps, EntityDescriptor descriptor) {
+        if (descriptor.getListColumns().stream().noneMatch(ListColumn::isCollectionSize)) {
+            return;
         }
-        return embeddedObj;
+        List<Object> ids = recordMaps.stream().map(recordMap -> recordMap.get(ID_FIELD)).collect(Collectors.toList());
+        countCollectionSizes(ids, descriptor).forEach((column, sizes) -> {
+            for (Map<String, Object> recordMap : recordMaps) {
+                recordMap.put(column, sizes.getOrDefault(recordMap.get(ID_FIELD), 0L));
+            }
+        });
     }
 
-    private void addRelationLinks(Map<String, Object> recordMap, Set<String> displayFields, Map<String, String> foreignKeyFields,
-                                  Map<String, String> oneToManyFields, Map<String, String> manyToManyFields, String entityClassName) {
+    private void addRelationLinks(Map<String, Object> recordMap, EntityDescriptor descriptor) {
         Object idValue = recordMap.get("id");
-        for (String field : displayFields) {
+        Map<String, String> foreignKeyFields = descriptor.getForeignKeyFields();
+        Map<String, String> oneToManyFields = descriptor.getOneToManyFields();
+        Map<String, String> manyToManyFields = descriptor.getManyToManyFields();
+        for (String field : descriptor.getDisplayFields()) {
             if (foreignKeyFields.containsKey(field) && recordMap.get(field) != null) {
                 String targetTable = foreignKeyFields.get(field);
                 recordMap.put(field + "_link", BASE_URL + targetTable + "/" + recordMap.get(field));
             } else if (oneToManyFields.containsKey(field) && idValue != null) {
                 String targetTable = oneToManyFields.get(field);
-                recordMap.put(field + "_link", buildRelationLink(targetTable, "OneToMany", idValue, entityClassName, field));
+                recordMap.put(field + "_link", buildRelationLink(targetTable, "OneToMany", idValue, descriptor, field));
             } else if (manyToManyFields.containsKey(field) && idValue != null) {
                 String targetTable = manyToManyFields.get(field);
-                recordMap.put(field + "_link", buildRelationLink(targetTable, "ManyToMany", idValue, entityClassName, field));
+                recordMap.put(field + "_link", buildRelationLink(targetTable, "ManyToMany", idValue, descriptor, field));
             }
         }
     }
 
-    private String buildRelationLink(String targetTable, String relationType, Object filterValue, String entityClassName, String fieldName) {
-        String filterField = inferFilterFieldForRelation(targetTable, relationType, entityClassName, fieldName);
+    private String buildRelationLink(String targetTable, String relationType, Object filterValue, EntityDescriptor descriptor, String fieldName) {
+        String filterField = inferFilterFieldForRelation(relationType, descriptor, fieldName);
         return UriComponentsBuilder.fromPath(BASE_URL + targetTable)
                 .queryParam("filterField", filterField)
                 .queryParam("filterOperation", DEFAULT_FILTER_OPERATION)
@@ -608,89 +1003,85 @@ public class RecordListService {
                 .toUriString();
     }
 
-    private String inferFilterFieldForRelation(String targetTable, String relationType, String entityClassName, String fieldName) {
-        try {
-            Class<?> entityClass = Class.forName(entityClassName);
-            Map<String, String> filterFields = metamodelAnalyzer.getFilterFields(entityClass);
-            if (filterFields.containsKey(fieldName)) {
-                return filterFields.get(fieldName);
-            }
-        } catch (ClassNotFoundException e) {
-            logger.warn("Could not load class {} for determining filterField: {}", entityClassName, e.getMessage());
+    private String inferFilterFieldForRelation(String relationType, EntityDescriptor descriptor, String fieldName) {
+        Map<String, String> filterFields = descriptor.getRelationFilterFields();
+        if (filterFields.containsKey(fieldName)) {
+            return filterFields.get(fieldName);
         }
-        String inferredField = entityClassName.substring(entityClassName.lastIndexOf('.') + 1).toLowerCase();
+        String inferredField = descriptor.getEntityClass().getSimpleName().toLowerCase();
         if ("ManyToMany".equals(relationType) || "OneToMany".equals(relationType)) {
             inferredField += "s";
         }
         return inferredField;
     }
 
-    private <T> long getTotalCount(Class<T> entityClass, List<Map<String, String>> filters, Map<String, String> embeddedFieldPaths) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-        Root<T> root = cq.from(entityClass);
-        cq.select(cb.count(root));
-
-        if (filters != null && !filters.isEmpty()) {
-            List<Predicate> predicates = new ArrayList<>();
-            Map<String, Join<T, ?>> joins = new HashMap<>();
-            for (Map<String, String> filter : filters) {
-                Predicate predicate = queryBuilder.buildPredicate(cb, root, filter.get("field"), List.of(filter), entityClass, embeddedFieldPaths, joins);
-                if (predicate != null) {
-                    predicates.add(predicate);
-                }
-            }
-            if (!predicates.isEmpty()) {
-                cq.where(cb.and(predicates.toArray(new Predicate[0])));
-            }
+    /**
+     * Determines the number of pages, allowing one page past a lower-bound count so that
+     * the pages beyond the cap stay reachable. Without a count, the pages up to the next one
+     * are known if the current page is followed by more records.
+     */
+    private int determineTotalPages(RecordCount count, int page, int size, boolean hasMore) {
+        if (count.getPrecision() == RecordCount.Precision.UNKNOWN) {
+            return hasMore ? page + 2 : page + 1;
         }
-        return entityManager.createQuery(cq).getSingleResult();
+        int totalPages = (int) Math.ceil((double) count.getValue() / size);
+        return count.getPrecision() == RecordCount.Precision.AT_LEAST ? totalPages + 1 : totalPages;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> Map<String, Object> assembleResult(String tableName, Class<T> entityClass, List<Map<String, Object>> recordMaps,
-                                                   Map<String, Object> metadata, Map<String, String> filterFields, int totalPages,
-                                                   long totalElements, String sortField, String sortOrder, boolean nullsFirst,
-                                                   List<Map<String, String>> filters) {
+    private List<Integer> buildPageNumbers(int page, int totalPages) {
+        List<Integer> pageNumbers = new ArrayList<>();
+        int first = Math.max(0, page - PAGE_LINK_RADIUS);
+        int last = Math.min(totalPages - 1, page + PAGE_LINK_RADIUS);
+        for (int i = first; i <= last; i++) {
+            pageNumbers.add(i);
+        }
+        return pageNumbers;
+    }
+
+    private Map<String, Object> assembleResult(String tableName, EntityDescriptor descriptor, List<Map<String, Object>> recordMaps,
+                                               int totalPages, long totalElements, String sortField, String sortOrder,
+                                               boolean nullsFirst, List<Map<String, String>> filters) {
         Map<String, Object> result = new HashMap<>();
         result.put("tableName", tableName);
-        result.put("entityClass", entityClass.getSimpleName());
+        result.put("entityClass", descriptor.getEntityClass().getSimpleName());
         result.put("records", recordMaps);
-        result.put("fields", metadata.get("displayFields"));
-        result.put("simpleFields", metadata.get("displayFields"));
-        result.put("displayNames", metadata.get("displayNames"));
-        result.put("isCollectionField", metadata.get("isCollectionField"));
-        result.put("embeddedFieldPaths", metadata.get("embeddedFieldPaths"));
-        result.put("foreignKeyFields", metadata.get("foreignKeyFields"));
-        result.put("foreignKeyColumnNames", metadata.get("foreignKeyColumnNames"));
-        result.put("oneToManyFields", metadata.get("oneToManyFields"));
-        result.put("manyToManyFields", metadata.get("manyToManyFields"));
-        result.put("filterFields", filterFields);
-        result.put("filterFieldsSet", new LinkedHashSet<>(filterFields.keySet()));
-        result.put("inverseFilterFields", buildInverseFilterFields(filterFields));
+        result.put("fields", descriptor.getDisplayFields());
+        result.put("simpleFields", descriptor.getDisplayFields());
+        result.put("displayNames", descriptor.getDisplayNames());
+        result.put("isCollectionField", descriptor.getIsCollectionField());
+        result.put("embeddedFieldPaths", descriptor.getListEmbeddedFieldPaths());
+        result.put("foreignKeyFields", descriptor.getForeignKeyFields());
+        result.put("foreignKeyColumnNames", descriptor.getForeignKeyColumnNames());
+        result.put("oneToManyFields", descriptor.getOneToManyFields());
+        result.put("manyToManyFields", descriptor.getManyToManyFields());
+        result.put("filterFields", descriptor.getFilterFields());
+        result.put("filterFieldsSet", new LinkedHashSet<>(descriptor.getFilterFields().keySet()));
+        result.put("inverseFilterFields", descriptor.getInverseFilterFields());
         result.put("totalPages", totalPages);
         result.put("totalElements", totalElements);
         result.put("sortField", sortField);
         result.put("sortOrder", sortOrder);
         result.put("nullsFirst", nullsFirst);
-        result.put("fieldTypes", metadata.get("fieldTypes"));
-        result.put("nullableFields", metadata.get("nullableFields"));
+        result.put("fieldTypes", descriptor.getListFieldTypes());
+        result.put("nullableFields", descriptor.getNullableFields());
         result.put("filters", filters);
         return result;
     }
 
-    private Map<String, String> buildInverseFilterFields(Map<String, String> filterFields) {
-        Map<String, String> inverse = new HashMap<>();
-        filterFields.forEach((key, value) -> inverse.put(value, key));
-        return inverse;
-    }
-
-    private String bytesToHex(byte[] bytes) {
-        if (bytes == null) return null;
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X", b));
+    /**
+     * Rows of a page as fetched: entities, or tuples of the ID and the selectable list columns for projected lists.
+     */
+    private static final class PageRows {
+        final List<?> rows;
+        final boolean projected;
+        final boolean hasMore;
+        final Long windowTotal;
+
+        PageRows(List<?> rows, boolean projected, boolean hasMore, Long windowTotal) {
+            this.rows = rows;
+            this.projected = projected;
+            this.hasMore = hasMore;
+            this.windowTotal = windowTotal;
         }
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
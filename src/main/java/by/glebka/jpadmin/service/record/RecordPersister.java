@@ -1,7 +1,7 @@
 package by.glebka.jpadmin.service.record;
 
-import by.glebka.jpadmin.scanner.EntityInfo;
 import by.glebka.jpadmin.service.EntityTableService;
+import by.glebka.jpadmin.service.TableModificationTracker;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
@@ -31,7 +31,10 @@ public class RecordPersister {
     private FieldUtils fieldUtils;
 
     @Autowired
-    private FieldValueSetter fieldValueSetter;
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private TableModificationTracker tableModificationTracker;
 
     /**
      * Updates an existing record in the database.
@@ -45,10 +48,7 @@ public class RecordPersister {
     public boolean updateRecord(String tableName, Long id, Map<String, String> editedFields) {
         logger.debug("Updating record for table {} with id {} and fields {}", tableName, id, editedFields);
 
-        EntityInfo entityInfo = findEntityInfo(tableName);
-        if (entityInfo == null) return false;
-
-        Class<?> entityClass = loadEntityClass(entityInfo);
+        Class<?> entityClass = findEntityClass(tableName);
         if (entityClass == null) return false;
 
         Object entity = entityManager.find(entityClass, id);
@@ -57,8 +57,8 @@ public class RecordPersister {
             return false;
         }
 
-        Map<String, Object> fieldMetadata = collectFieldMetadata(entityClass);
-        if (!updateFields(entity, editedFields, fieldMetadata)) return false;
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(entityClass);
+        if (!updateFields(entity, editedFields, descriptor)) return false;
 
         return persistEntity(entity, tableName, id, "merge");
     }
@@ -74,17 +74,14 @@ public class RecordPersister {
     public Long createRecord(String tableName, Map<String, String> newFields) {
         logger.debug("Creating record for table {} with fields {}", tableName, newFields);
 
-        EntityInfo entityInfo = findEntityInfo(tableName);
-        if (entityInfo == null) throw new IllegalArgumentException("Table not found: " + tableName);
-
-        Class<?> entityClass = loadEntityClass(entityInfo);
-        if (entityClass == null) throw new RuntimeException("Unable to load entity class: " + entityInfo.getClassName());
+        Class<?> entityClass = findEntityClass(tableName);
+        if (entityClass == null) throw new IllegalArgumentException("Table not found: " + tableName);
 
         Object entity = instantiateEntity(entityClass, tableName);
         if (entity == null) throw new RuntimeException("Unable to instantiate entity");
 
-        Map<String, Object> fieldMetadata = collectFieldMetadata(entityClass);
-        updateFields(entity, newFields, fieldMetadata, true);
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(entityClass);
+        updateFields(entity, newFields, descriptor, true);
 
         boolean success = persistEntity(entity, tableName, null, "persist");
         if (!success) {
@@ -103,22 +100,10 @@ public class RecordPersister {
         }
     }
 
-    private EntityInfo findEntityInfo(String tableName) {
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElse(null);
-        if (entityInfo == null) logger.error("Table not found: {}", tableName);
-        return entityInfo;
-    }
-
-    private Class<?> loadEntityClass(EntityInfo entityInfo) {
-        try {
-            return Class.forName(entityInfo.getClassName());
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load entity class: {}", e.getMessage());
-            return null;
-        }
+    private Class<?> findEntityClass(String tableName) {
+        Class<?> entityClass = entityTableService.findEntityClass(tableName);
+        if (entityClass == null) logger.error("Table not found: {}", tableName);
+        return entityClass;
     }
 
     private Object instantiateEntity(Class<?> entityClass, String tableName) {
@@ -132,58 +117,24 @@ public class RecordPersister {
         }
     }
 
-    private Map<String, Object> collectFieldMetadata(Class<?> entityClass) {
-        Set<String> displayFields = new LinkedHashSet<>();
-        Map<String, Boolean> isCollectionField = new HashMap<>();
-        Map<String, String> embeddedFieldPaths = new HashMap<>();
-        Map<String, String> fieldTypes = new HashMap<>();
-        Map<String, Boolean> nullableFields = new HashMap<>();
-        Map<String, String> foreignKeyFields = new HashMap<>();
-        Map<String, String> foreignKeyColumnNames = new HashMap<>();
-        Map<String, String> oneToManyFields = new HashMap<>();
-        Map<String, String> manyToManyFields = new HashMap<>();
-        fieldUtils.collectFieldTypes(entityClass, displayFields, isCollectionField, embeddedFieldPaths, fieldTypes, nullableFields, foreignKeyFields, foreignKeyColumnNames, oneToManyFields, manyToManyFields);
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("displayFields", displayFields);
-        metadata.put("isCollectionField", isCollectionField);
-        metadata.put("embeddedFieldPaths", embeddedFieldPaths);
-        metadata.put("fieldTypes", fieldTypes);
-        metadata.put("nullableFields", nullableFields);
-        metadata.put("foreignKeyFields", foreignKeyFields);
-        metadata.put("foreignKeyColumnNames", foreignKeyColumnNames);
-        metadata.put("oneToManyFields", oneToManyFields);
-        metadata.put("manyToManyFields", manyToManyFields);
-        return metadata;
-    }
-
-    private boolean updateFields(Object entity, Map<String, String> fields, Map<String, Object> metadata) {
-        return updateFields(entity, fields, metadata, false);
+    private boolean updateFields(Object entity, Map<String, String> fields, EntityDescriptor descriptor) {
+        return updateFields(entity, fields, descriptor, false);
     }
 
-    private boolean updateFields(Object entity, Map<String, String> fields, Map<String, Object> metadata, boolean isNewRecord) {
-        @SuppressWarnings("unchecked")
-        Map<String, String> embeddedFieldPaths = (Map<String, String>) metadata.get("embeddedFieldPaths");
-        @SuppressWarnings("unchecked")
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-        @SuppressWarnings("unchecked")
-        Map<String, String> oneToManyFields = (Map<String, String>) metadata.get("oneToManyFields");
-        @SuppressWarnings("unchecked")
-        Map<String, String> manyToManyFields = (Map<String, String>) metadata.get("manyToManyFields");
-        @SuppressWarnings("unchecked")
-        Map<String, Boolean> nullableFields = (Map<String, Boolean>) metadata.get("nullableFields");
+    private boolean updateFields(Object entity, Map<String, String> fields, EntityDescriptor descriptor, boolean isNewRecord) {
+        Map<String, String> foreignKeyFields = descriptor.getForeignKeyFields();
+        Map<String, Boolean> nullableFields = descriptor.getNullableFields();
 
         for (String field : fields.keySet()) {
-            if (oneToManyFields.containsKey(field) || manyToManyFields.containsKey(field) || (!isNewRecord && "id".equals(field))) {
+            if (descriptor.isCollectionRelation(field) || (!isNewRecord && "id".equals(field))) {
                 logger.debug("Skipping collection or id field: {}", field);
                 continue;
             }
             try {
                 if (foreignKeyFields.containsKey(field) && isNewRecord) {
                     updateForeignKeyField(entity, field, fields.get(field), foreignKeyFields.get(field), nullableFields.getOrDefault(field, true));
-                } else if (embeddedFieldPaths.containsKey(field)) {
-                    updateEmbeddedField(entity, field, fields.get(field), embeddedFieldPaths.get(field));
                 } else {
-                    updateBasicField(entity, field, fields.get(field));
+                    updateField(entity, field, fields.get(field), descriptor);
                 }
             } catch (Exception e) {
                 logger.error("Failed to set field {}: {}", field, e.getMessage(), e);
@@ -200,11 +151,10 @@ public class RecordPersister {
             return;
         }
         Long foreignId = Long.parseLong(value);
-        EntityInfo targetEntityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> targetTable.equals(e.getTableName()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Target table not found: " + targetTable));
-        Class<?> targetClass = Class.forName(targetEntityInfo.getClassName());
+        Class<?> targetClass = entityTableService.findEntityClass(targetTable);
+        if (targetClass == null) {
+            throw new IllegalArgumentException("Target table not found: " + targetTable);
+        }
         Object targetEntity = entityManager.find(targetClass, foreignId);
         if (targetEntity == null) {
             throw new IllegalArgumentException("Referenced entity not found for " + field + " with id " + foreignId);
@@ -215,36 +165,15 @@ public class RecordPersister {
         fkField.set(entity, targetEntity);
     }
 
-    private void updateEmbeddedField(Object entity, String field, String value, String path) throws Exception {
-        String[] parts = path.split("\\.");
-        Object currentObj = entity;
-        for (int i = 0; i < parts.length - 1; i++) {
-            Field subField = fieldUtils.getFieldFromHierarchy(currentObj.getClass(), parts[i]);
-            subField.setAccessible(true);
-            Object nextObj = subField.get(currentObj);
-            if (nextObj == null) {
-                nextObj = subField.getType().getDeclaredConstructor().newInstance();
-                subField.set(currentObj, nextObj);
-            }
-            currentObj = nextObj;
-        }
-        Field lastField = fieldUtils.getFieldFromHierarchy(currentObj.getClass(), parts[parts.length - 1]);
-        lastField.setAccessible(true);
-        Class<?> fieldType = lastField.getType();
-        logger.debug("Setting embedded field {} (type: {}) with value: {}", field, fieldType.getSimpleName(), value);
-        fieldValueSetter.setFieldValue(lastField, currentObj, value, fieldType);
-    }
-
-    private void updateBasicField(Object entity, String field, String value) throws Exception {
-        Field f = fieldUtils.getFieldFromHierarchy(entity.getClass(), field);
-        f.setAccessible(true);
-        Class<?> fieldType = f.getType();
-        logger.debug("Setting field {} (type: {}) with value: {}", field, fieldType.getSimpleName(), value);
-        fieldValueSetter.setFieldValue(f, entity, value, fieldType);
+    private void updateField(Object entity, String field, String value, EntityDescriptor descriptor) throws Exception {
+        FieldWriter writer = descriptor.getFieldWriter(field);
+        logger.debug("Setting field {} (type: {}) with value: {}", field, writer.getFieldType().getSimpleName(), value);
+        writer.write(entity, value);
     }
 
     private boolean persistEntity(Object entity, String tableName, Long id, String operation) {
         try {
+            tableModificationTracker.markModified(tableName);
             if ("merge".equals(operation)) {
                 entityManager.merge(entity);
                 logger.info("Entity merged successfully for table {} with id {}", tableName, id);
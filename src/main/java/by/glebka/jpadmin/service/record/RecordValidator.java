@@ -1,6 +1,5 @@
 package by.glebka.jpadmin.service.record;
 
-import by.glebka.jpadmin.scanner.EntityInfo;
 import by.glebka.jpadmin.service.EntityTableService;
 import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolation;
@@ -11,9 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,10 +29,7 @@ public class RecordValidator {
     private EntityTableService entityTableService;
 
     @Autowired
-    private FieldUtils fieldUtils;
-
-    @Autowired
-    private FieldValueSetter fieldValueSetter;
+    private EntityDescriptorCache entityDescriptorCache;
 
     @Autowired
     private Validator validator;
@@ -51,10 +45,7 @@ public class RecordValidator {
     @Transactional
     public Map<String, String> validateRecord(String tableName, Long id, Map<String, String> editedFields) {
         Map<String, String> errors = new HashMap<>();
-        EntityInfo entityInfo = findEntityInfo(tableName, errors);
-        if (entityInfo == null) return errors;
-
-        Class<?> entityClass = loadEntityClass(entityInfo, errors);
+        Class<?> entityClass = findEntityClass(tableName, errors);
         if (entityClass == null) return errors;
 
         Object entity = entityManager.find(entityClass, id);
@@ -64,8 +55,8 @@ public class RecordValidator {
             return errors;
         }
 
-        Map<String, Object> fieldMetadata = collectFieldMetadata(entityClass);
-        validateFields(entity, editedFields, fieldMetadata, errors);
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(entityClass);
+        validateFields(entity, editedFields, descriptor, errors);
 
         Set<ConstraintViolation<Object>> violations = validator.validate(entity);
         processViolations(violations, errors);
@@ -83,17 +74,14 @@ public class RecordValidator {
     @Transactional
     public Map<String, String> validateNewRecord(String tableName, Map<String, String> newFields) {
         Map<String, String> errors = new HashMap<>();
-        EntityInfo entityInfo = findEntityInfo(tableName, errors);
-        if (entityInfo == null) return errors;
-
-        Class<?> entityClass = loadEntityClass(entityInfo, errors);
+        Class<?> entityClass = findEntityClass(tableName, errors);
         if (entityClass == null) return errors;
 
         Object entity = instantiateEntity(entityClass, tableName, errors);
         if (entity == null) return errors;
 
-        Map<String, Object> fieldMetadata = collectFieldMetadata(entityClass);
-        validateFields(entity, newFields, fieldMetadata, errors);
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor(entityClass);
+        validateFields(entity, newFields, descriptor, errors);
 
         Set<ConstraintViolation<Object>> violations = validator.validate(entity);
         processViolations(violations, errors);
@@ -101,26 +89,13 @@ public class RecordValidator {
         return errors;
     }
 
-    private EntityInfo findEntityInfo(String tableName, Map<String, String> errors) {
-        EntityInfo entityInfo = entityTableService.getEntityTables().stream()
-                .filter(e -> tableName.equals(e.getTableName()))
-                .findFirst()
-                .orElse(null);
-        if (entityInfo == null) {
+    private Class<?> findEntityClass(String tableName, Map<String, String> errors) {
+        Class<?> entityClass = entityTableService.findEntityClass(tableName);
+        if (entityClass == null) {
             logger.error("Table not found: {}", tableName);
             errors.put("table", "Table not found: " + tableName);
         }
-        return entityInfo;
-    }
-
-    private Class<?> loadEntityClass(EntityInfo entityInfo, Map<String, String> errors) {
-        try {
-            return Class.forName(entityInfo.getClassName());
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load entity class: {}", e.getMessage());
-            errors.put("entity", "Unable to load entity class: " + entityInfo.getClassName());
-            return null;
-        }
+        return entityClass;
     }
 
     private Object instantiateEntity(Class<?> entityClass, String tableName, Map<String, String> errors) {
@@ -135,83 +110,24 @@ public class RecordValidator {
         }
     }
 
-    private Map<String, Object> collectFieldMetadata(Class<?> entityClass) {
-        Set<String> displayFields = new HashSet<>();
-        Map<String, Boolean> isCollectionField = new HashMap<>();
-        Map<String, String> embeddedFieldPaths = new HashMap<>();
-        Map<String, String> fieldTypes = new HashMap<>();
-        Map<String, Boolean> nullableFields = new HashMap<>();
-        Map<String, String> foreignKeyFields = new HashMap<>();
-        Map<String, String> foreignKeyColumnNames = new HashMap<>();
-        Map<String, String> oneToManyFields = new HashMap<>();
-        Map<String, String> manyToManyFields = new HashMap<>();
-        fieldUtils.collectFieldTypes(entityClass, displayFields, isCollectionField, embeddedFieldPaths, fieldTypes, nullableFields, foreignKeyFields, foreignKeyColumnNames, oneToManyFields, manyToManyFields);
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("displayFields", displayFields);
-        metadata.put("isCollectionField", isCollectionField);
-        metadata.put("embeddedFieldPaths", embeddedFieldPaths);
-        metadata.put("fieldTypes", fieldTypes);
-        metadata.put("nullableFields", nullableFields);
-        metadata.put("foreignKeyFields", foreignKeyFields);
-        metadata.put("foreignKeyColumnNames", foreignKeyColumnNames);
-        metadata.put("oneToManyFields", oneToManyFields);
-        metadata.put("manyToManyFields", manyToManyFields);
-        return metadata;
-    }
-
-    private void validateFields(Object entity, Map<String, String> fields, Map<String, Object> metadata, Map<String, String> errors) {
-        @SuppressWarnings("unchecked")
-        Map<String, String> embeddedFieldPaths = (Map<String, String>) metadata.get("embeddedFieldPaths");
-        @SuppressWarnings("unchecked")
-        Map<String, String> foreignKeyFields = (Map<String, String>) metadata.get("foreignKeyFields");
-        @SuppressWarnings("unchecked")
-        Map<String, String> oneToManyFields = (Map<String, String>) metadata.get("oneToManyFields");
-        @SuppressWarnings("unchecked")
-        Map<String, String> manyToManyFields = (Map<String, String>) metadata.get("manyToManyFields");
-
+    private void validateFields(Object entity, Map<String, String> fields, EntityDescriptor descriptor, Map<String, String> errors) {
         for (String field : fields.keySet()) {
-            if (foreignKeyFields.containsKey(field) || oneToManyFields.containsKey(field) || manyToManyFields.containsKey(field) || "id".equals(field)) {
+            if (descriptor.getForeignKeyFields().containsKey(field) || descriptor.isCollectionRelation(field) || "id".equals(field)) {
                 logger.debug("Skipping relationship or id field: {}", field);
                 continue;
             }
             try {
-                if (embeddedFieldPaths.containsKey(field)) {
-                    validateEmbeddedField(entity, field, fields.get(field), embeddedFieldPaths.get(field));
-                } else {
-                    validateBasicField(entity, field, fields.get(field));
-                }
+                validateField(entity, field, fields.get(field), descriptor);
             } catch (Exception e) {
                 handleValidationError(field, e, errors);
             }
         }
     }
 
-    private void validateEmbeddedField(Object entity, String field, String value, String path) throws Exception {
-        String[] parts = path.split("\\.");
-        Object currentObj = entity;
-        for (int i = 0; i < parts.length - 1; i++) {
-            Field subField = fieldUtils.getFieldFromHierarchy(currentObj.getClass(), parts[i]);
-            subField.setAccessible(true);
-            Object nextObj = subField.get(currentObj);
-            if (nextObj == null) {
-                nextObj = subField.getType().getDeclaredConstructor().newInstance();
-                subField.set(currentObj, nextObj);
-            }
-            currentObj = nextObj;
-        }
-        Field lastField = fieldUtils.getFieldFromHierarchy(currentObj.getClass(), parts[parts.length - 1]);
-        lastField.setAccessible(true);
-        Class<?> fieldType = lastField.getType();
-        logger.debug("Validating embedded field {} (type: {}) with value: {}", field, fieldType.getSimpleName(), value);
-        fieldValueSetter.setFieldValue(lastField, currentObj, value, fieldType);
-    }
-
-    private void validateBasicField(Object entity, String field, String value) throws Exception {
-        Field f = fieldUtils.getFieldFromHierarchy(entity.getClass(), field);
-        f.setAccessible(true);
-        Class<?> fieldType = f.getType();
-        logger.debug("Validating field {} (type: {}) with value: {}", field, fieldType.getSimpleName(), value);
-        fieldValueSetter.setFieldValue(f, entity, value, fieldType);
+    private void validateField(Object entity, String field, String value, EntityDescriptor descriptor) throws Exception {
+        FieldWriter writer = descriptor.getFieldWriter(field);
+        logger.debug("Validating field {} (type: {}) with value: {}", field, writer.getFieldType().getSimpleName(), value);
+        writer.write(entity, value);
     }
 
     private void handleValidationError(String field, Exception e, Map<String, String> errors) {
@@ -0,0 +1,176 @@
+package by.glebka.jpadmin.service.record;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component translating list filters into plain SQL over the physical table of an entity, for statements
+ * that cannot be expressed with the Criteria API, such as {@code EXPLAIN}. The translation mirrors the
+ * predicates built by {@link QueryBuilder}; filters it cannot translate make the whole translation fail
+ * so that callers can fall back to a Criteria query.
+ */
+@Component
+public class SqlFilterTranslator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlFilterTranslator.class);
+    private static final Map<String, String> COMPARISON_OPERATORS = Map.of(
+            "equals", "=",
+            "not equal", "<>",
+            "greater than", ">",
+            "less than", "<",
+            "greater than or equal", ">=",
+            "less than or equal", "<="
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryBuilder queryBuilder;
+
+    /**
+     * Resolves the physical table of an entity.
+     *
+     * @param entityClass The entity class.
+     * @return The table name as used in SQL, or null if it cannot be resolved.
+     */
+    public String getTableName(Class<?> entityClass) {
+        AbstractEntityPersister persister = getPersister(entityClass);
+        return persister != null ? persister.getIdentifierTableName() : null;
+    }
+
+    /**
+     * Resolves the physical column of a field or embedded field path stored in the main table of an entity.
+     *
+     * @param entityClass The entity class.
+     * @param path        The field name or embedded field path.
+     * @return The column name as used in SQL, or null if the field is not a single column of the main table.
+     */
+    public String getColumnName(Class<?> entityClass, String path) {
+        AbstractEntityPersister persister = getPersister(entityClass);
+        return persister != null ? resolveColumn(persister, path) : null;
+    }
+
+    /**
+     * Translates list filters into a SQL condition over the main table of the entity. The filters are resolved
+     * into terms as for the list query, so that filters the list query drops are dropped here as well and
+     * several equality filters on one field become {@code IN}.
+     *
+     * @param filters    The filters with field names resolved as in the list query.
+     * @param descriptor The descriptor of the entity.
+     * @return The condition, or null if a filter cannot be translated.
+     */
+    public SqlWhereClause translate(List<Map<String, String>> filters, EntityDescriptor descriptor) {
+        AbstractEntityPersister persister = getPersister(descriptor.getEntityClass());
+        if (persister == null) {
+            return null;
+        }
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        for (FilterTerm term : queryBuilder.resolveFilters(filters, descriptor.getEntityClass(),
+                descriptor.getListEmbeddedFieldPaths())) {
+            String condition = translateTerm(term, descriptor, persister, parameters);
+            if (condition == null) {
+                logger.debug("Filter on field {} cannot be translated to SQL", term.getField());
+                return null;
+            }
+            conditions.add(condition);
+        }
+        return new SqlWhereClause(String.join(" AND ", conditions), parameters);
+    }
+
+    private String translateTerm(FilterTerm term, EntityDescriptor descriptor, AbstractEntityPersister persister,
+                                 List<Object> parameters) {
+        String column = resolveColumn(persister, descriptor.getListEmbeddedFieldPaths().getOrDefault(term.getField(), term.getField()));
+        if (column == null) {
+            return null;
+        }
+        List<Object> values = term.getValues();
+        String condition = switch (term.getOperation()) {
+            case "is null" -> column + " IS NULL";
+            case "is not null" -> column + " IS NOT NULL";
+            case "true" -> column + " IS TRUE";
+            case "false" -> column + " IS FALSE";
+            case "contains", "starts with", "ends with" -> {
+                // The terms hold the finished patterns
+                parameters.add(values.get(0));
+                yield term.isIlike() ? column + " ILIKE ?" : "lower(" + column + ") LIKE ?";
+            }
+            default -> {
+                String comparison = COMPARISON_OPERATORS.get(term.getOperation());
+                if (comparison == null) {
+                    yield null;
+                }
+                if (values.size() == 1) {
+                    parameters.add(toJdbcValue(values.get(0)));
+                    yield column + " " + comparison + " ?";
+                }
+                if (values.isEmpty()) {
+                    yield "FALSE";
+                }
+                List<String> placeholders = new ArrayList<>();
+                for (Object value : values) {
+                    parameters.add(toJdbcValue(value));
+                    placeholders.add("?");
+                }
+                yield column + " IN (" + String.join(", ", placeholders) + ")";
+            }
+        };
+        return condition != null && term.isOrNull() ? "(" + condition + " OR " + column + " IS NULL)" : condition;
+    }
+
+    private Object toJdbcValue(Object value) {
+        if (value instanceof Instant instant) return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+        if (value instanceof ZonedDateTime zonedDateTime) return zonedDateTime.toOffsetDateTime();
+        return value;
+    }
+
+    private String resolveColumn(AbstractEntityPersister persister, String path) {
+        try {
+            String topLevelProperty = path.contains(".") ? path.substring(0, path.indexOf('.')) : path;
+            if (topLevelProperty.equals(persister.getIdentifierPropertyName())) {
+                // The identifier is no attribute of the persister and has no property table
+                String[] idColumns = persister.getIdentifierColumnNames();
+                return path.equals(topLevelProperty) && idColumns.length == 1 ? idColumns[0] : null;
+            }
+            if (persister.getPropertyType(topLevelProperty).isCollectionType()) {
+                return null;
+            }
+            String[] columns = persister.getPropertyColumnNames(path);
+            if (columns == null || columns.length != 1 || columns[0] == null
+                    || !persister.getIdentifierTableName().equals(persister.getPropertyTableName(topLevelProperty))) {
+                return null;
+            }
+            return columns[0];
+        } catch (RuntimeException e) {
+            logger.debug("No column for property {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        try {
+            EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel().getEntityDescriptor(entityClass);
+            return persister instanceof AbstractEntityPersister abstractPersister ? abstractPersister : null;
+        } catch (RuntimeException e) {
+            logger.debug("No persister for entity {}: {}", entityClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+}
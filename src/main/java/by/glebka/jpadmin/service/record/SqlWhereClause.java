@@ -0,0 +1,39 @@
+package by.glebka.jpadmin.service.record;
+
+import java.util.List;
+
+/**
+ * SQL condition with positional JDBC parameters, translated from list filters.
+ */
+public final class SqlWhereClause {
+    private final String sql;
+    private final List<Object> parameters;
+
+    /**
+     * Constructs a new SqlWhereClause.
+     *
+     * @param sql        The condition with {@code ?} placeholders, or an empty string for no condition.
+     * @param parameters The parameter values in placeholder order.
+     */
+    public SqlWhereClause(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = List.copyOf(parameters);
+    }
+
+    public String getSql() { return sql; }
+    public List<Object> getParameters() { return parameters; }
+
+    public boolean isEmpty() {
+        return sql.isEmpty();
+    }
+
+    /**
+     * Appends this condition to a statement as a WHERE clause.
+     *
+     * @param statement The statement without a WHERE clause.
+     * @return The statement with the condition, or the statement itself if there is no condition.
+     */
+    public String appendTo(String statement) {
+        return isEmpty() ? statement : statement + " WHERE " + sql;
+    }
+}
@@ -0,0 +1,216 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.TextMatchMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the text columns served by a {@code pg_trgm} GIN or GiST index, read from {@code pg_indexes} once
+ * at startup. It decides whether the "contains", "starts with" and "ends with" filters of a column are rendered
+ * as {@code ILIKE} or as {@code lower(column) LIKE}, and whether they scan the whole table.
+ * <p>
+ * Partial indexes are ignored, as they cannot serve unrestricted filters. If the indexes cannot be read, for
+ * instance on a database other than PostgreSQL, no filter is reported as a full scan.
+ */
+public class TrigramIndexRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrigramIndexRegistry.class);
+    private static final String INDEX_QUERY =
+            "SELECT schemaname, tablename, indexdef FROM pg_indexes WHERE indexdef LIKE '%trgm_ops%'";
+    private static final Pattern INDEX_METHOD_PATTERN = Pattern.compile("\\bUSING\\s+(?:gin|gist)\\s*\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PLAIN_ELEMENT_PATTERN =
+            Pattern.compile("\"?([^\"\\s()]+)\"?\\s+(?:\\w+\\.)?g(?:in|ist)_trgm_ops\\b.*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOWER_ELEMENT_PATTERN =
+            Pattern.compile("lower\\(\\(?\"?([^\"\\s()]+)\"?\\)?(?:::[\\w ]+)?\\)\\s+(?:\\w+\\.)?g(?:in|ist)_trgm_ops\\b.*", Pattern.CASE_INSENSITIVE);
+
+    private final TextMatchMode mode;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Set<String> plainColumns = Set.of();
+    private volatile Set<String> lowerColumns = Set.of();
+    private volatile boolean detected;
+
+    /**
+     * Constructs a new TrigramIndexRegistry.
+     *
+     * @param mode The text match mode: "auto", "ilike" or "lower".
+     * @throws IllegalArgumentException If the mode is unknown.
+     */
+    public TrigramIndexRegistry(String mode) {
+        try {
+            this.mode = TextMatchMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown text match mode: " + mode);
+        }
+    }
+
+    /**
+     * Reads the trigram indexes once the persistence unit is available.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> plain = new HashSet<>();
+        Set<String> lower = new HashSet<>();
+        EntityManager indexEntityManager = entityManager.getEntityManagerFactory().createEntityManager();
+        try {
+            int indexedColumns = indexEntityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> readIndexes(connection, plain, lower));
+            plainColumns = Set.copyOf(plain);
+            lowerColumns = Set.copyOf(lower);
+            detected = true;
+            logger.info("Found {} trigram-indexed columns, text match mode {}", indexedColumns, mode);
+        } catch (RuntimeException e) {
+            logger.warn("Trigram indexes could not be read, full scan warnings are disabled: {}", e.getMessage());
+        } finally {
+            indexEntityManager.close();
+        }
+    }
+
+    /**
+     * Indicates whether the text filters of a field are rendered as {@code ILIKE}.
+     *
+     * @param entityClass The entity class.
+     * @param path        The field name or embedded field path.
+     * @return True for {@code column ILIKE pattern}, false for {@code lower(column) LIKE pattern}.
+     */
+    public boolean useIlike(Class<?> entityClass, String path) {
+        return switch (mode) {
+            case LOWER -> false;
+            case ILIKE -> true;
+            case AUTO -> {
+                String key = resolveColumnKey(entityClass, path);
+                yield key != null && plainColumns.contains(key);
+            }
+        };
+    }
+
+    /**
+     * Indicates whether the text filters of a field scan the whole table, because no trigram index serves
+     * the form they are rendered in.
+     *
+     * @param entityClass The entity class.
+     * @param path        The field name or embedded field path.
+     * @return True if the filters are known to scan the whole table.
+     */
+    public boolean isFullScan(Class<?> entityClass, String path) {
+        if (!detected) {
+            return false;
+        }
+        String key = resolveColumnKey(entityClass, path);
+        if (key == null) {
+            return false;
+        }
+        return useIlike(entityClass, path) ? !plainColumns.contains(key) : !lowerColumns.contains(key);
+    }
+
+    private int readIndexes(Connection connection, Set<String> plain, Set<String> lower) throws SQLException {
+        int indexedColumns = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(INDEX_QUERY)) {
+            while (resultSet.next()) {
+                String schema = normalize(resultSet.getString(1));
+                String table = normalize(resultSet.getString(2));
+                String definition = resultSet.getString(3);
+                if (definition.toUpperCase(Locale.ROOT).contains(" WHERE ")) {
+                    continue;
+                }
+                for (String element : extractElements(definition)) {
+                    Matcher matcher = PLAIN_ELEMENT_PATTERN.matcher(element);
+                    Set<String> columns = plain;
+                    if (!matcher.matches()) {
+                        matcher = LOWER_ELEMENT_PATTERN.matcher(element);
+                        columns = lower;
+                    }
+                    if (matcher.matches()) {
+                        String column = normalize(matcher.group(1));
+                        columns.add(schema + "." + table + "." + column);
+                        columns.add(table + "." + column);
+                        indexedColumns++;
+                    }
+                }
+            }
+        }
+        return indexedColumns;
+    }
+
+    /**
+     * Splits the element list of a GIN or GiST index definition at its top-level commas.
+     */
+    private List<String> extractElements(String definition) {
+        List<String> elements = new ArrayList<>();
+        Matcher matcher = INDEX_METHOD_PATTERN.matcher(definition);
+        if (!matcher.find()) {
+            return elements;
+        }
+        int depth = 0;
+        int start = matcher.end();
+        for (int i = start; i < definition.length(); i++) {
+            char c = definition.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && depth-- == 0) {
+                elements.add(definition.substring(start, i).trim());
+                break;
+            } else if (c == ',' && depth == 0) {
+                elements.add(definition.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        return elements;
+    }
+
+    private String resolveColumnKey(Class<?> entityClass, String path) {
+        AbstractEntityPersister persister = getPersister(entityClass);
+        if (persister == null) {
+            return null;
+        }
+        try {
+            String[] columns = persister.getPropertyColumnNames(path);
+            String topLevelProperty = path.contains(".") ? path.substring(0, path.indexOf('.')) : path;
+            if (columns == null || columns.length != 1 || columns[0] == null
+                    || !persister.getIdentifierTableName().equals(persister.getPropertyTableName(topLevelProperty))) {
+                return null;
+            }
+            return normalize(persister.getIdentifierTableName()) + "." + normalize(columns[0]);
+        } catch (RuntimeException e) {
+            logger.debug("No column for property {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private AbstractEntityPersister getPersister(Class<?> entityClass) {
+        try {
+            EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel().getEntityDescriptor(entityClass);
+            return persister instanceof AbstractEntityPersister abstractPersister ? abstractPersister : null;
+        } catch (RuntimeException e) {
+            logger.debug("No persister for entity {}: {}", entityClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(String identifier) {
+        return identifier.replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -96,4 +96,22 @@ public class PgLsnStringType implements UserType<String> {
     public String replace(String original, String target, Object owner) {
         return original;
     }
+
+    /**
+     * Converts a PG_LSN string to its byte position in the WAL, so that the distance between two log sequence
+     * numbers can be computed as with {@code pg_wal_lsn_diff}.
+     *
+     * @param value The PG_LSN string, e.g., "0/1234ABCD".
+     * @return The byte position in the WAL.
+     * @throws IllegalArgumentException If the value is not a valid PG_LSN string.
+     */
+    public static long toWalPosition(String value) {
+        String trimmedValue = value.trim();
+        int separator = trimmedValue.indexOf('/');
+        if (!PG_LSN_PATTERN.matcher(trimmedValue).matches() || separator > 8 || trimmedValue.length() - separator - 1 > 8) {
+            throw new IllegalArgumentException("Value '" + trimmedValue + "' must be a valid PG_LSN string (e.g., '0/1234ABCD')");
+        }
+        return (Long.parseUnsignedLong(trimmedValue.substring(0, separator), 16) << 32)
+                | Long.parseUnsignedLong(trimmedValue.substring(separator + 1), 16);
+    }
 }
\ No newline at end of file
@@ -308,6 +308,33 @@ function updateFilterControls(fieldSelect, operationSelect) {
     if (emptyStringLabel) {
         emptyStringLabel.style.display = fieldType === "String" ? "inline-block" : "none";
     }
+
+    updateFullScanWarning(fieldSelect, operationSelect);
+}
+
+// Warn when a substring filter on the field is not served by a trigram index
+function updateFullScanWarning(fieldSelect, operationSelect) {
+    const fullScanElement = document.getElementById("fullScanFieldsData");
+    if (!fullScanElement) {
+        return;
+    }
+    const fullScanFields = fullScanElement.dataset.fields ? fullScanElement.dataset.fields.split(",") : [];
+    const operation = operationSelect.value;
+    const fullScan = fullScanFields.includes(fieldSelect.value) &&
+        (operation === "contains" || operation === "starts with" || operation === "ends with");
+
+    const filterRow = operationSelect.parentElement;
+    let warning = filterRow.querySelector(".full-scan-warning");
+    if (!warning) {
+        if (!fullScan) {
+            return;
+        }
+        warning = document.createElement("span");
+        warning.className = "full-scan-warning";
+        warning.textContent = "No trigram index: scans the whole table";
+        filterRow.insertBefore(warning, filterRow.querySelector("button"));
+    }
+    warning.style.display = fullScan ? "inline-block" : "none";
 }
 
 // Add a new filter row
@@ -0,0 +1,66 @@
+// Per-tab token sent with the list requests of a tab as the pageToken parameter. JPAdmin cancels a list
+// still loading when a newer list request with the same token arrives, so that only the last click of a tab
+// is computed. Tokens live in sessionStorage, which browsers keep per tab, and are removed from the address
+// bar so that copied links do not carry them.
+(function () {
+    const PARAMETER = "pageToken";
+    const STORAGE_KEY = "jpadmin.pageToken";
+
+    function getPageToken() {
+        let token = null;
+        try {
+            token = sessionStorage.getItem(STORAGE_KEY);
+        } catch (e) {
+            // Storage disabled: the token then only lives as long as the page
+        }
+        if (!token) {
+            token = window.crypto && crypto.randomUUID ? crypto.randomUUID()
+                : Math.random().toString(36).slice(2) + Date.now().toString(36);
+            try {
+                sessionStorage.setItem(STORAGE_KEY, token);
+            } catch (e) {
+                // See above
+            }
+        }
+        return token;
+    }
+
+    function isListUrl(url) {
+        return url.origin === location.origin && url.pathname === location.pathname;
+    }
+
+    document.addEventListener("DOMContentLoaded", function () {
+        const token = getPageToken();
+
+        const current = new URL(location.href);
+        if (current.searchParams.has(PARAMETER)) {
+            current.searchParams.delete(PARAMETER);
+            history.replaceState(history.state, "", current);
+        }
+
+        document.querySelectorAll("form").forEach(form => {
+            if (form.method.toLowerCase() === "get" && isListUrl(new URL(form.action, location.href))
+                && !form.querySelector("input[name='" + PARAMETER + "']")) {
+                const input = document.createElement("input");
+                input.type = "hidden";
+                input.name = PARAMETER;
+                input.value = token;
+                form.appendChild(input);
+            }
+        });
+
+        // Links opened in another tab or window keep no token, so that the new tab gets its own
+        document.addEventListener("click", function (event) {
+            const link = event.target.closest("a[href]");
+            if (!link || event.button !== 0 || event.ctrlKey || event.metaKey || event.shiftKey || event.altKey
+                || (link.target && link.target !== "_self")) {
+                return;
+            }
+            const url = new URL(link.href, location.href);
+            if (isListUrl(url)) {
+                url.searchParams.set(PARAMETER, token);
+                link.href = url.toString();
+            }
+        });
+    });
+})();
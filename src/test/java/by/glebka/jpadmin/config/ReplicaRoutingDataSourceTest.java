@@ -0,0 +1,143 @@
+package by.glebka.jpadmin.config;
+
+import by.glebka.jpadmin.service.ReplicaRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_BYTES = 1024;
+
+    private final ReplicaRouter router = new ReplicaRouter(true, 0);
+    private final AtomicReference<String> primaryLsn = new AtomicReference<>("0/1000");
+    private final AtomicReference<String> replayLsn = new AtomicReference<>("0/1000");
+    private final Connection primaryConnection = connection(primaryLsn);
+    private final Connection replicaConnection = connection(replayLsn);
+    private final DataSource primary = dataSource(primaryConnection);
+    private final DataSource replica = dataSource(replicaConnection);
+    private ReplicaRoutingDataSource dataSource;
+
+    @AfterEach
+    void stopLagChecks() throws Exception {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void requestedReadsGoToTheReplicaWithinTheLagThreshold() throws Exception {
+        replayLsn.set("0/C00"); // 1024 bytes behind
+        dataSource = new ReplicaRoutingDataSource(primary, replica, router, MAX_LAG_BYTES, 10);
+        awaitUsable(true);
+
+        assertThat(router.runOnReplica(true, this::targetConnection)).isSameAs(replicaConnection);
+        assertThat(targetConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryBeyondTheLagThresholdAndReturn() throws Exception {
+        dataSource = new ReplicaRoutingDataSource(primary, replica, router, MAX_LAG_BYTES, 10);
+        awaitUsable(true);
+
+        primaryLsn.set("1/0");
+        replayLsn.set("0/FFFFFBFF"); // 1025 bytes behind, across the 4 GB boundary
+        awaitUsable(false);
+        assertThat(router.runOnReplica(true, this::targetConnection)).isSameAs(primaryConnection);
+
+        replayLsn.set("1/0");
+        awaitUsable(true);
+        assertThat(router.runOnReplica(true, this::targetConnection)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void unreachableReplicaIsNotUsed() throws Exception {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        dataSource = new ReplicaRoutingDataSource(primary, unreachable, router, MAX_LAG_BYTES, 10);
+
+        Thread.sleep(100);
+        assertThat(dataSource.isReplicaUsable()).isFalse();
+        assertThat(router.runOnReplica(true, this::targetConnection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void replicaNotInRecoveryIsUsedWithoutLagCheck() throws Exception {
+        replayLsn.set(null);
+        primaryLsn.set("FF/0");
+        dataSource = new ReplicaRoutingDataSource(primary, replica, router, MAX_LAG_BYTES, 10);
+
+        awaitUsable(true);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new ReplicaRoutingDataSource(primary, replica, router, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ReplicaRoutingDataSource(primary, replica, router, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Acquires a connection as a transaction would, with its first statement choosing the database.
+     */
+    private Connection targetConnection() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+            return ((ConnectionProxy) connection).getTargetConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitUsable(boolean usable) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            if (dataSource.isReplicaUsable() == usable) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("The replica did not become " + (usable ? "usable" : "unusable"));
+    }
+
+    private static Connection connection(AtomicReference<String> lsn) {
+        try {
+            Connection connection = mock(Connection.class);
+            Statement statement = mock(Statement.class);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery(anyString())).thenAnswer(invocation -> {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.next()).thenReturn(true);
+                when(resultSet.getString(1)).thenReturn(lsn.get());
+                return resultSet;
+            });
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) {
+        try {
+            DataSource dataSource = mock(DataSource.class);
+            when(dataSource.getConnection()).thenReturn(connection);
+            return dataSource;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package by.glebka.jpadmin.config;
+
+import by.glebka.jpadmin.service.ReplicaRouter;
+import by.glebka.jpadmin.service.record.RecordDetailsService;
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Reads through JPAdmin from a PostgreSQL primary and its streaming replica, given by the
+ * {@code jpadmin.test.postgres.url} and {@code jpadmin.test.postgres.replica-url} system properties. Skipped when
+ * either is not set. The tests pause WAL replay on the replica, so that rows written afterwards exist only on the
+ * primary and show which database served a read.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.replica-url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp",
+        "jpadmin.replica.url=${jpadmin.test.postgres.replica-url}",
+        "jpadmin.replica.max-lag-bytes=65536",
+        "jpadmin.replica.lag-check-interval-ms=100",
+        "jpadmin.replica.sticky-ms=60000"
+})
+class ReplicaRoutingPostgresTest {
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Connection replica;
+    private long replicatedId;
+    private long unreplicatedId;
+
+    @BeforeEach
+    void writeBehindPausedReplay() throws Exception {
+        replica = DriverManager.getConnection(System.getProperty("jpadmin.test.postgres.replica-url"));
+        replicatedId = insertBook("Replicated");
+        awaitReplicaCount(1);
+        execute("SELECT pg_wal_replay_pause()");
+        unreplicatedId = insertBook("Unreplicated");
+        awaitReplicaUsable(true);
+    }
+
+    @AfterEach
+    void resumeReplay() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        try {
+            execute("SELECT pg_wal_replay_resume()");
+            jdbcTemplate.execute("TRUNCATE book");
+            awaitReplicaCount(0);
+        } finally {
+            replica.close();
+        }
+    }
+
+    @Test
+    void getRequestsReadListsAndDetailsFromTheReplica() {
+        inRequest("GET", new MockHttpSession());
+
+        assertThat(listTotal()).isEqualTo("1");
+        assertThat(recordDetailsService.getRecordDetailsForView("book", replicatedId)).isNotNull();
+        assertThat(recordDetailsService.getRecordDetailsForView("book", unreplicatedId)).isNull();
+    }
+
+    @Test
+    void editFormReadsFromThePrimary() {
+        inRequest("GET", new MockHttpSession());
+
+        Map<String, Object> details = recordDetailsService.getRecordDetails("book", unreplicatedId);
+
+        assertThat(details).isNotNull();
+        assertThat(details.get("record")).isNotNull();
+    }
+
+    @Test
+    void postRequestsReadFromThePrimary() {
+        inRequest("POST", new MockHttpSession());
+
+        assertThat(listTotal()).isEqualTo("2");
+    }
+
+    @Test
+    void sessionReadsFromThePrimaryAfterAWrite() {
+        MockHttpSession session = new MockHttpSession();
+        inRequest("POST", session);
+        replicaRouter.stickToPrimary();
+
+        inRequest("GET", session);
+        assertThat(listTotal()).isEqualTo("2");
+
+        inRequest("GET", new MockHttpSession());
+        assertThat(listTotal()).isEqualTo("1");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLagsBehind() throws Exception {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) SELECT 'Book ' || i, i FROM generate_series(1, 20000) i");
+        awaitReplicaUsable(false);
+
+        inRequest("GET", new MockHttpSession());
+        assertThat(listTotal()).isEqualTo("20,002");
+
+        execute("SELECT pg_wal_replay_resume()");
+        awaitReplicaUsable(true);
+    }
+
+    private String listTotal() {
+        return (String) recordDetailsService.getTableRecords("book", List.of(), 0, 20, null, null, false, null, null)
+                .get("totalDisplay");
+    }
+
+    private long insertBook(String title) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO book (title, pages) VALUES (?, 100) RETURNING id", Long.class, title);
+        return id != null ? id : -1;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = replica.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void awaitReplicaCount(long expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Statement statement = replica.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM book")) {
+                resultSet.next();
+                if (resultSet.getLong(1) == expected) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        fail("The replica did not replay to " + expected + " books");
+    }
+
+    private void awaitReplicaUsable(boolean usable) throws InterruptedException {
+        ReplicaRoutingDataSource routingDataSource = (ReplicaRoutingDataSource) dataSource;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (routingDataSource.isReplicaUsable() == usable) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("The replica did not become " + (usable ? "usable" : "unusable"));
+    }
+
+    private static void inRequest(String method, MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/admin/table/book");
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
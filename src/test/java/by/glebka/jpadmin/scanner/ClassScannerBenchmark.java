@@ -0,0 +1,53 @@
+package by.glebka.jpadmin.scanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares how long finding the entities of a compiled {@link ScannedModel} takes with the build-time index
+ * and with the classpath scan. Not part of the unit tests; run it with
+ * {@code mvn test -Dtest=ClassScannerBenchmark}.
+ */
+class ClassScannerBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassScannerBenchmark.class);
+    private static final int RUNS = 5;
+
+    @TempDir
+    Path classesDirectory;
+
+    @Test
+    void compareIndexWithClasspathScan() throws Exception {
+        ScannedModel.compile(classesDirectory);
+        ClassLoader previousClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = ScannedModel.classLoader(classesDirectory)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            long indexNanos = bestOf(new ClassScanner(ScannedModel.PACKAGE, true)::scanJpaClasses);
+            long scanNanos = bestOf(new ClassScanner(ScannedModel.PACKAGE, false)::scanJpaClasses);
+            logger.info("Finding {} entities among {} classes, best of {} runs: index {} ms, classpath scan {} ms",
+                    ScannedModel.ENTITIES, ScannedModel.CLASSES, RUNS,
+                    String.format("%.1f", indexNanos / 1e6), String.format("%.1f", scanNanos / 1e6));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    private static long bestOf(Supplier<Set<Class<?>>> scan) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            assertThat(scan.get()).hasSize(ScannedModel.ENTITIES);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,64 @@
+package by.glebka.jpadmin.scanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Finds the entities of a compiled {@link ScannedModel} with and without the build-time index.
+ */
+class ClassScannerTest {
+
+    @TempDir
+    static Path classesDirectory;
+
+    private static boolean compiled;
+
+    private ClassLoader previousClassLoader;
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void useCompiledModel() throws IOException {
+        if (!compiled) {
+            ScannedModel.compile(classesDirectory);
+            compiled = true;
+        }
+        previousClassLoader = Thread.currentThread().getContextClassLoader();
+        classLoader = ScannedModel.classLoader(classesDirectory);
+        Thread.currentThread().setContextClassLoader(classLoader);
+    }
+
+    @AfterEach
+    void restoreClassLoader() throws IOException {
+        Thread.currentThread().setContextClassLoader(previousClassLoader);
+        classLoader.close();
+    }
+
+    @Test
+    void indexFindsTheSameClassesAsTheClasspathScan() {
+        Set<String> indexed = names(new ClassScanner(ScannedModel.PACKAGE, true).scanJpaClasses());
+        Set<String> scanned = names(new ClassScanner(ScannedModel.PACKAGE, false).scanJpaClasses());
+
+        assertThat(indexed).hasSize(ScannedModel.ENTITIES).isEqualTo(scanned);
+    }
+
+    @Test
+    void scansTheClasspathWhenTheIndexListsNoClassOfTheBasePackage() {
+        Set<String> found = names(new ClassScanner(ScannedModel.UNINDEXED_PACKAGE, true).scanJpaClasses());
+
+        assertThat(found).containsExactly(ScannedModel.UNINDEXED_PACKAGE + ".Unindexed");
+    }
+
+    private static Set<String> names(Set<Class<?>> classes) {
+        return classes.stream().map(Class::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,81 @@
+package by.glebka.jpadmin.scanner;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A compiled model of 1,500 classes, 300 of them entities, with the index the {@code jpadmin-index-processor}
+ * module would generate for it, and one entity of another package that the index does not list.
+ */
+final class ScannedModel {
+
+    static final String PACKAGE = "scanned.model";
+    static final String UNINDEXED_PACKAGE = "scanned.unindexed";
+    static final int CLASSES = 1500;
+    static final int ENTITIES = CLASSES / 5;
+
+    private ScannedModel() {
+    }
+
+    /**
+     * Writes and compiles the model into a directory.
+     *
+     * @param classesDirectory The directory to compile into.
+     */
+    static void compile(Path classesDirectory) throws IOException {
+        List<String> sources = new ArrayList<>();
+        StringBuilder index = new StringBuilder();
+        for (int i = 0; i < CLASSES; i++) {
+            boolean entity = i % (CLASSES / ENTITIES) == 0;
+            String name = "Model" + i;
+            sources.add(writeSource(classesDirectory, PACKAGE, name, entity));
+            if (entity) {
+                index.append(PACKAGE).append('.').append(name).append("\tentity\t-\n");
+            }
+        }
+        sources.add(writeSource(classesDirectory, UNINDEXED_PACKAGE, "Unindexed", true));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> arguments = new ArrayList<>(List.of("-proc:none", "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDirectory.toString()));
+        arguments.addAll(sources);
+        assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isZero();
+
+        Path indexFile = classesDirectory.resolve(ClassScanner.INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.writeString(indexFile, "# JPAdmin entity index\n" + index);
+    }
+
+    /**
+     * Creates a class loader for the compiled model, delegating to the test class path.
+     *
+     * @param classesDirectory The directory the model was compiled into.
+     * @return The class loader.
+     */
+    static URLClassLoader classLoader(Path classesDirectory) throws IOException {
+        return new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, ScannedModel.class.getClassLoader());
+    }
+
+    private static String writeSource(Path classesDirectory, String packageName, String name, boolean entity)
+            throws IOException {
+        Path sourceDirectory = Files.createDirectories(classesDirectory.resolve("src").resolve(packageName.replace('.', '/')));
+        Path source = sourceDirectory.resolve(name + ".java");
+        Files.writeString(source, "package " + packageName + ";\n"
+                + (entity ? "@jakarta.persistence.Entity\n" : "")
+                + "public class " + name + " {\n"
+                + (entity ? "    @jakarta.persistence.Id\n" : "")
+                + "    private Long id;\n"
+                + "    public Long getId() { return id; }\n"
+                + "}\n");
+        return source.toString();
+    }
+}
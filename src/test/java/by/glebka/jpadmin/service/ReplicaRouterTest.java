@@ -0,0 +1,157 @@
+package by.glebka.jpadmin.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicaRouterTest {
+
+    private final MockHttpSession session = new MockHttpSession();
+
+    @BeforeEach
+    void startReadOnlyTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getAndHeadRequestsUseTheReplica() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+
+        inRequest("GET");
+        assertThat(router.useReplicaForTransaction()).isTrue();
+        assertThat(router.isReplicaRequested()).isTrue();
+        completeTransaction();
+
+        TransactionSynchronizationManager.initSynchronization();
+        inRequest("HEAD");
+        assertThat(router.useReplicaForTransaction()).isTrue();
+    }
+
+    @Test
+    void requestIsClearedWhenTheTransactionCompletes() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+        inRequest("GET");
+        router.useReplicaForTransaction();
+
+        completeTransaction();
+
+        assertThat(router.isReplicaRequested()).isFalse();
+    }
+
+    @Test
+    void otherRequestMethodsStayOnThePrimary() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+
+        for (String method : new String[]{"POST", "PUT", "DELETE"}) {
+            inRequest(method);
+            assertThat(router.useReplicaForTransaction()).as(method).isFalse();
+            assertThat(router.isReplicaRequested()).isFalse();
+        }
+    }
+
+    @Test
+    void readWriteTransactionsStayOnThePrimary() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        inRequest("GET");
+
+        assertThat(router.useReplicaForTransaction()).isFalse();
+    }
+
+    @Test
+    void readsOutsideTransactionsStayOnThePrimary() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+        TransactionSynchronizationManager.clearSynchronization();
+        inRequest("GET");
+
+        assertThat(router.useReplicaForTransaction()).isFalse();
+    }
+
+    @Test
+    void disabledRouterNeverUsesTheReplica() {
+        ReplicaRouter router = new ReplicaRouter(false, 5000);
+        inRequest("GET");
+
+        assertThat(router.useReplicaForTransaction()).isFalse();
+    }
+
+    @Test
+    void sessionReadsFromThePrimaryForAWhileAfterAWrite() throws InterruptedException {
+        ReplicaRouter router = new ReplicaRouter(true, 200);
+        inRequest("POST");
+        router.stickToPrimary();
+
+        inRequest("GET");
+        assertThat(router.useReplicaForTransaction()).isFalse();
+
+        Thread.sleep(300);
+        assertThat(router.useReplicaForTransaction()).isTrue();
+    }
+
+    @Test
+    void otherSessionsAreNotStuckToThePrimary() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+        inRequest("POST");
+        router.stickToPrimary();
+
+        MockHttpServletRequest otherRequest = new MockHttpServletRequest("GET", "/admin/table/book");
+        otherRequest.setSession(new MockHttpSession());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(otherRequest));
+
+        assertThat(router.useReplicaForTransaction()).isTrue();
+    }
+
+    @Test
+    void backgroundReadsUseTheReplicaAndWritesDoNotStick() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+        router.stickToPrimary();
+
+        assertThat(router.useReplicaForTransaction()).isTrue();
+    }
+
+    @Test
+    void runOnReplicaRequestsTheReplicaWhileTheWorkRuns() {
+        ReplicaRouter router = new ReplicaRouter(true, 5000);
+
+        assertThat(router.runOnReplica(true, router::isReplicaRequested)).isTrue();
+        assertThat(router.runOnReplica(false, router::isReplicaRequested)).isFalse();
+        assertThat(router.isReplicaRequested()).isFalse();
+    }
+
+    @Test
+    void rejectsNegativeStickiness() {
+        assertThatThrownBy(() -> new ReplicaRouter(true, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void inRequest(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/admin/table/book");
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
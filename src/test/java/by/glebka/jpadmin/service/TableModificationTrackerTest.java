@@ -0,0 +1,65 @@
+package by.glebka.jpadmin.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableModificationTrackerTest {
+
+    private TableModificationTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = newTracker();
+    }
+
+    @Test
+    void tableETagChangesWithEveryWriteToTheTable() {
+        String before = tracker.getTableETag("orders", List.of("customers"));
+        tracker.markModified("orders");
+        assertThat(tracker.getTableETag("orders", List.of("customers"))).isNotEqualTo(before);
+    }
+
+    @Test
+    void tableETagChangesWithEveryWriteToARelatedTable() {
+        String before = tracker.getTableETag("orders", List.of("customers"));
+        tracker.markModified("customers");
+        assertThat(tracker.getTableETag("orders", List.of("customers"))).isNotEqualTo(before);
+    }
+
+    @Test
+    void differentRelatedWriteHistoriesNeverShareATag() {
+        // One write to "a" against 31 writes to "b": a polynomial hash of the counts would collide
+        tracker.markModified("a");
+        TableModificationTracker other = newTracker();
+        ReflectionTestUtils.setField(other, "epoch", ReflectionTestUtils.getField(tracker, "epoch"));
+        for (int i = 0; i < 31; i++) {
+            other.markModified("b");
+        }
+        assertThat(tracker.getTableETag("orders", List.of("a", "b")))
+                .isNotEqualTo(other.getTableETag("orders", List.of("a", "b")));
+    }
+
+    @Test
+    void relatedTablesAreOrderedByName() {
+        tracker.markModified("b");
+        assertThat(tracker.getTableETag("orders", List.of("b", "a")))
+                .isEqualTo(tracker.getTableETag("orders", List.of("a", "b")));
+    }
+
+    @Test
+    void tableItselfIsNotCountedAsRelated() {
+        assertThat(tracker.getTableETag("orders", List.of("orders")))
+                .isEqualTo(tracker.getTableETag("orders", List.of()));
+    }
+
+    private TableModificationTracker newTracker() {
+        TableModificationTracker newTracker = new TableModificationTracker();
+        ReflectionTestUtils.setField(newTracker, "replicaRouter", new ReplicaRouter(false, 0));
+        return newTracker;
+    }
+}
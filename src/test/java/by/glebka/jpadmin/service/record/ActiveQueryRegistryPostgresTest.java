@@ -0,0 +1,139 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.exception.QueryCancelledException;
+import by.glebka.jpadmin.testapp.TestApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Cancels reads running {@code pg_sleep(30)} on the PostgreSQL database given by the
+ * {@code jpadmin.test.postgres.url} system property. Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class ActiveQueryRegistryPostgresTest {
+
+    private static final String SLEEP = "SELECT pg_sleep(30)";
+    private static final String OWNER_KEY = "tab-1 /admin/table/book";
+
+    @Autowired
+    private ActiveQueryRegistry registry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void supersedingAReadCancelsItsTransactionStatement() throws Exception {
+        assertStatementCancelled(this::sleepInTransaction, query -> registry.start(OWNER_KEY));
+    }
+
+    @Test
+    void abandoningAReadCancelsItsTransactionStatement() throws Exception {
+        assertStatementCancelled(this::sleepInTransaction, registry::abandon);
+    }
+
+    @Test
+    void supersedingAReadCancelsItsConcurrentCount() throws Exception {
+        assertStatementCancelled(query -> {
+            EntityManager countEntityManager = entityManagerFactory.createEntityManager();
+            try {
+                return registry.runAttached(query, countEntityManager,
+                        () -> countEntityManager.createNativeQuery(SLEEP).getSingleResult());
+            } finally {
+                countEntityManager.close();
+            }
+        }, query -> registry.start(OWNER_KEY));
+    }
+
+    private Object sleepInTransaction(ActiveQueryRegistry.ActiveQuery query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            registry.attach(entityManager);
+            return entityManager.createNativeQuery(SLEEP).getSingleResult();
+        });
+    }
+
+    private void assertStatementCancelled(ReadWork work, Consumer<ActiveQueryRegistry.ActiveQuery> cancel)
+            throws Exception {
+        ActiveQueryRegistry.ActiveQuery query = registry.start(OWNER_KEY);
+        Future<Object> read = executor.submit(() -> registry.run(query, () -> work.run(query)));
+        awaitSleeping(true);
+
+        long start = System.nanoTime();
+        cancel.accept(query);
+
+        assertThatThrownBy(() -> read.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(QueryCancelledException.class)
+                .satisfies(e -> assertThat(findSqlState(e)).isEqualTo("57014"));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+        awaitSleeping(false);
+    }
+
+    private void awaitSleeping(boolean sleeping) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Integer running = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE state = 'active' AND query = ?", Integer.class, SLEEP);
+            if ((running != null && running > 0) == sleeping) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail(sleeping ? "The read did not start" : "The statement is still running");
+    }
+
+    private static String findSqlState(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sqlException) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ReadWork {
+        Object run(ActiveQueryRegistry.ActiveQuery query);
+    }
+}
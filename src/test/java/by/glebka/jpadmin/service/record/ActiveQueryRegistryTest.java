@@ -0,0 +1,209 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.exception.QueryCancelledException;
+import by.glebka.jpadmin.service.AdminMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActiveQueryRegistryTest {
+
+    private ActiveQueryRegistry registry;
+    private AdminMetrics adminMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ActiveQueryRegistry(60000);
+        adminMetrics = new AdminMetrics();
+        ReflectionTestUtils.setField(registry, "adminMetrics", adminMetrics);
+    }
+
+    @Test
+    void newerRequestOfTheSameTabSupersedesTheRunningOne() throws Exception {
+        WebAsyncTask<String> older = registry.track(request("/admin/table/book", "tab-1"), () -> "older");
+        WebAsyncTask<String> newer = registry.track(request("/admin/table/book", "tab-1"), () -> "newer");
+
+        assertThatThrownBy(() -> older.getCallable().call())
+                .isInstanceOf(QueryCancelledException.class)
+                .hasMessageContaining("SUPERSEDED");
+        assertThat(newer.getCallable().call()).isEqualTo("newer");
+        assertThat(cancellations()).containsEntry("superseded", 1L).containsEntry("abandoned", 0L);
+    }
+
+    @Test
+    void requestsOfOtherTabsDoNotSupersedeEachOther() throws Exception {
+        WebAsyncTask<String> first = registry.track(request("/admin/table/book", "tab-1"), () -> "first");
+        WebAsyncTask<String> second = registry.track(request("/admin/table/book", "tab-2"), () -> "second");
+
+        assertThat(first.getCallable().call()).isEqualTo("first");
+        assertThat(second.getCallable().call()).isEqualTo("second");
+        assertThat(cancellations()).containsEntry("superseded", 0L);
+    }
+
+    @Test
+    void requestsForOtherPagesDoNotSupersedeEachOther() throws Exception {
+        WebAsyncTask<String> books = registry.track(request("/admin/table/book", "tab-1"), () -> "books");
+        WebAsyncTask<String> authors = registry.track(request("/admin/table/author", "tab-1"), () -> "authors");
+
+        assertThat(books.getCallable().call()).isEqualTo("books");
+        assertThat(authors.getCallable().call()).isEqualTo("authors");
+    }
+
+    @Test
+    void requestsWithoutAValidTokenAreNeverSuperseded() throws Exception {
+        WebAsyncTask<String> withoutToken = registry.track(request("/admin/table/book", null), () -> "first");
+        registry.track(request("/admin/table/book", null), () -> "second");
+        String longToken = "x".repeat(65);
+        WebAsyncTask<String> withLongToken = registry.track(request("/admin/table/book", longToken), () -> "third");
+        registry.track(request("/admin/table/book", longToken), () -> "fourth");
+
+        assertThat(withoutToken.getCallable().call()).isEqualTo("first");
+        assertThat(withLongToken.getCallable().call()).isEqualTo("third");
+    }
+
+    @Test
+    void finishedRequestIsNotSuperseded() throws Exception {
+        WebAsyncTask<String> older = registry.track(request("/admin/table/book", "tab-1"), () -> "older");
+        older.getCallable().call();
+        registry.track(request("/admin/table/book", "tab-1"), () -> "newer");
+
+        assertThat(cancellations()).containsEntry("superseded", 0L);
+    }
+
+    @Test
+    void readWhoseRequestEndsFirstIsAbandoned() {
+        ActiveQueryRegistry.ActiveQuery query = registry.start("tab-1 /admin/table/book");
+        registry.abandon(query);
+
+        assertThat(query.getCancelReason()).isEqualTo(ActiveQueryRegistry.CancelReason.ABANDONED);
+        assertThatThrownBy(() -> registry.run(query, () -> "late")).isInstanceOf(QueryCancelledException.class);
+        assertThat(cancellations()).containsEntry("abandoned", 1L);
+    }
+
+    @Test
+    void trackedRequestsHaveABoundedTimeout() {
+        WebAsyncTask<String> task = registry.track(request("/admin/table/book", "tab-1"), () -> "read");
+
+        assertThat(task.getTimeout()).isEqualTo(60000L);
+    }
+
+    @Test
+    void readIsAbandonedWhenItsRequestTimesOut() throws Exception {
+        AsyncRequest asyncRequest = startTracked();
+
+        asyncRequest.notifyListeners(listener -> listener.onTimeout(new AsyncEvent(asyncRequest.context)));
+
+        assertThat(cancellations()).containsEntry("abandoned", 1L);
+        asyncRequest.finish();
+    }
+
+    @Test
+    void readIsAbandonedWhenTheContainerReportsAnErrorOnItsRequest() throws Exception {
+        AsyncRequest asyncRequest = startTracked();
+
+        asyncRequest.notifyListeners(listener -> listener.onError(
+                new AsyncEvent(asyncRequest.context, new IOException("Connection reset by peer"))));
+
+        assertThat(cancellations()).containsEntry("abandoned", 1L);
+        asyncRequest.finish();
+    }
+
+    @Test
+    void failuresOfACancelledReadAreReportedAsCancellations() {
+        ActiveQueryRegistry.ActiveQuery query = registry.start("tab-1 /admin/table/book");
+
+        assertThatThrownBy(() -> registry.run(query, () -> {
+            registry.start("tab-1 /admin/table/book");
+            throw new IllegalStateException("ERROR: canceling statement due to user request");
+        })).isInstanceOf(QueryCancelledException.class).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Starts the asynchronous processing of a tracked request whose read blocks until the request is finished.
+     */
+    private AsyncRequest startTracked() throws Exception {
+        MockHttpServletRequest request = request("/admin/table/book", "tab-1");
+        request.setAsyncSupported(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        WebAsyncTask<String> task = registry.track(request, () -> {
+            started.countDown();
+            awaitUninterruptibly(released);
+            return "read";
+        });
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+        asyncManager.startCallableProcessing(task);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return new AsyncRequest((MockAsyncContext) request.getAsyncContext(), released);
+    }
+
+    /**
+     * Waits like a running JDBC statement, which does not stop when its thread is interrupted, as Spring MVC
+     * does on a timeout or error before notifying the task.
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (latch.getCount() > 0 && System.nanoTime() < deadline) {
+            try {
+                latch.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record AsyncRequest(MockAsyncContext context, CountDownLatch released) {
+
+        void notifyListeners(ListenerCall call) throws IOException {
+            for (AsyncListener listener : context.getListeners()) {
+                call.apply(listener);
+            }
+        }
+
+        void finish() {
+            released.countDown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ListenerCall {
+        void apply(AsyncListener listener) throws IOException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> cancellations() {
+        return (Map<String, Long>) adminMetrics.snapshot().get("queryCancellations");
+    }
+
+    private static MockHttpServletRequest request(String uri, String pageToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (pageToken != null) {
+            request.setParameter(ActiveQueryRegistry.PAGE_TOKEN_PARAMETER, pageToken);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,86 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRows() {
+        assertThat(readAll("id,name\r\n1,Alice\r\n2,Bob\r\n"))
+                .containsExactly(List.of("id", "name"), List.of("1", "Alice"), List.of("2", "Bob"));
+    }
+
+    @Test
+    void acceptsBareLineBreaksAndMissingFinalBreak() {
+        assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void keepsEmptyFields() {
+        assertThat(readAll(",a,\r\n")).containsExactly(List.of("", "a", ""));
+    }
+
+    @Test
+    void readsQuotedSeparatorsQuotesAndLineBreaks() {
+        assertThat(readAll("\"Smith, John\",\"say \"\"hi\"\"\",\"a\r\nb\"\r\n"))
+                .containsExactly(List.of("Smith, John", "say \"hi\"", "a\r\nb"));
+    }
+
+    @Test
+    void skipsBlankLinesAndByteOrderMark() {
+        assertThat(readAll("\uFEFFa,b\r\n\r\n\nc,d\r\n")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void reportsTheLineEachRowStartsOn() {
+        CsvReader reader = new CsvReader(new StringReader("a\r\n\"multi\nline\"\r\nb\r\n"));
+
+        reader.readRow();
+        assertThat(reader.getRowLine()).isEqualTo(1);
+        reader.readRow();
+        assertThat(reader.getRowLine()).isEqualTo(2);
+        assertThat(reader.readRow()).containsExactly("b");
+        assertThat(reader.getRowLine()).isEqualTo(4);
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedFields() {
+        CsvReader reader = new CsvReader(new StringReader("a\r\n\"open,field\r\n"));
+        reader.readRow();
+
+        assertThatThrownBy(reader::readRow)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void readsBackWhatCsvWriterWrites() {
+        List<List<String>> rows = List.of(
+                List.of("plain", "Smith, John", "say \"hi\""),
+                List.of("a\nb", "c\r\nd", "\"\""),
+                List.of("back\\slash", "50% off_", ""));
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        rows.forEach(writer::writeRow);
+
+        assertThat(readAll(out.toString())).isEqualTo(rows);
+    }
+
+    private static List<List<String>> readAll(String csv) {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = reader.readRow(); row != null; row = reader.readRow()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
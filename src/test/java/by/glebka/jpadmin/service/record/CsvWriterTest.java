@@ -0,0 +1,50 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void writesPlainValuesUnquoted() {
+        assertThat(write(List.of("id", 42, "plain text"))).isEqualTo("id,42,plain text\r\n");
+    }
+
+    @Test
+    void writesNullValuesAsEmptyFields() {
+        assertThat(write(Arrays.asList(null, "a", null))).isEqualTo(",a,\r\n");
+    }
+
+    @Test
+    void quotesValuesContainingSeparators() {
+        assertThat(write(List.of("Smith, John"))).isEqualTo("\"Smith, John\"\r\n");
+    }
+
+    @Test
+    void quotesAndDoublesQuotes() {
+        assertThat(write(List.of("say \"hi\""))).isEqualTo("\"say \"\"hi\"\"\"\r\n");
+    }
+
+    @Test
+    void quotesValuesContainingLineBreaks() {
+        assertThat(write(List.of("a\nb", "c\rd"))).isEqualTo("\"a\nb\",\"c\rd\"\r\n");
+    }
+
+    @Test
+    void leavesOtherSpecialCharactersUnquoted() {
+        assertThat(write(List.of("back\\slash", "50% off_", "it's"))).isEqualTo("back\\slash,50% off_,it's\r\n");
+    }
+
+    private static String write(List<?> values) {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow(values);
+        writer.flush();
+        return out.toString();
+    }
+}
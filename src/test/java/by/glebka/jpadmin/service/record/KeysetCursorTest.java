@@ -0,0 +1,117 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    static Stream<Arguments> sortValues() {
+        return Stream.of(
+                Arguments.of("Alice", String.class),
+                Arguments.of("pipes | and + and - inside", String.class),
+                Arguments.of("", String.class),
+                Arguments.of("Ünïcödé ✓", String.class),
+                Arguments.of(42L, Long.class),
+                Arguments.of(-7, Integer.class),
+                Arguments.of(new BigDecimal("12345.6789"), BigDecimal.class),
+                Arguments.of(2.5d, Double.class),
+                Arguments.of(true, Boolean.class),
+                Arguments.of(LocalDate.of(2025, 3, 1), LocalDate.class),
+                Arguments.of(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000), LocalDateTime.class),
+                Arguments.of(OffsetDateTime.of(2025, 3, 1, 10, 15, 30, 0, ZoneOffset.ofHours(3)), OffsetDateTime.class),
+                Arguments.of(Instant.parse("2025-03-01T10:15:30Z"), Instant.class),
+                Arguments.of(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortValues")
+    void roundTripsIdAndSortValue(Object sortValue, Class<?> type) {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(1001L, sortValue), false);
+
+        assertThat(cursor.getId(Long.class)).isEqualTo(1001L);
+        assertThat(cursor.getSortValue(type)).isEqualTo(sortValue);
+        assertThat(cursor.isSortValueNull()).isFalse();
+        assertThat(cursor.isBackward()).isFalse();
+    }
+
+    @Test
+    void roundTripsNullSortValue() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(7L, null), true);
+
+        assertThat(cursor.isSortValueNull()).isTrue();
+        assertThat(cursor.getSortValue(String.class)).isNull();
+        assertThat(cursor.getId(Long.class)).isEqualTo(7L);
+        assertThat(cursor.isBackward()).isTrue();
+    }
+
+    @Test
+    void distinguishesNullFromTheTextNull() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(7L, "null"), false);
+
+        assertThat(cursor.isSortValueNull()).isFalse();
+        assertThat(cursor.getSortValue(String.class)).isEqualTo("null");
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = KeysetCursor.encode(1L, "??>>//++ value with spaces");
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    @Test
+    void rejectsTokensWithoutSeparatorOrMarker() {
+        assertThatThrownBy(() -> KeysetCursor.decode(token("42"), false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("42|"), false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("|+a"), false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(token("42|xa"), false)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsValuesNotMatchingTheFieldType() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode("abc", "not a date"), false);
+
+        assertThatThrownBy(() -> cursor.getId(Long.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Long");
+        assertThatThrownBy(() -> cursor.getSortValue(LocalDate.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("LocalDate");
+    }
+
+    @Test
+    void rejectsUnsupportedTypes() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(1L, "x"), false);
+
+        assertThatThrownBy(() -> cursor.getSortValue(Object.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported cursor type");
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the CSV export of a 200,000 row table with COPY and with JPA, on the PostgreSQL database given by the
+ * {@code jpadmin.test.postgres.url} system property. Not part of the tests; run it with
+ * {@code mvn test -Dtest=PgCopyExporterBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class PgCopyExporterBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgCopyExporterBenchmark.class);
+    private static final int ROWS = 200_000;
+    private static final int RUNS = 5;
+    private static final List<Map<String, String>> FILTERS =
+            List.of(Map.of("field", "pages", "operation", "greater than or equal", "value", "0", "allowNull", "false"));
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) SELECT 'Book ' || i, i % 1000 FROM generate_series(1, " + ROWS + ") i");
+        jdbcTemplate.execute("ANALYZE book");
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @Test
+    void compareCopyWithJpaExport() {
+        PgCopyExporter.CopyQuery copyQuery = recordDetailsService.prepareCopyExport("book", FILTERS, "id", "ASC");
+        assertThat(copyQuery).isNotNull();
+
+        long copyNanos = bestOf(() -> recordDetailsService.exportCsvWithCopy("book", copyQuery, OutputStream.nullOutputStream()));
+        long jpaNanos = bestOf(() -> {
+            Writer writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+            return recordDetailsService.exportCsv("book", FILTERS, "id", "ASC", writer);
+        });
+        logger.info("Exporting {} rows as CSV, best of {} runs: COPY {} ms, JPA {} ms",
+                ROWS, RUNS, copyNanos / 1_000_000, jpaNanos / 1_000_000);
+    }
+
+    private static long bestOf(LongSupplier export) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            assertThat(export.getAsLong()).isEqualTo(ROWS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,100 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs COPY exports against a PostgreSQL database given by the {@code jpadmin.test.postgres.url} system
+ * property, for example {@code -Djpadmin.test.postgres.url=jdbc:postgresql://localhost:5432/postgres?user=postgres}.
+ * Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+class PgCopyExporterPostgresTest {
+
+    private static final List<String> NAMES = List.of(
+            "O'Brien", "it''s", "C:\\temp\\new", "\\'", "50% off", "50x off", "a_b", "axb", "line\nbreak", "?");
+
+    private Connection connection;
+
+    @BeforeEach
+    void connect() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("jpadmin.test.postgres.url"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE copy_test (id integer PRIMARY KEY, name text)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO copy_test VALUES (?, ?)")) {
+            for (int i = 0; i < NAMES.size(); i++) {
+                insert.setInt(1, i);
+                insert.setString(2, NAMES.get(i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void matchesTheParameterizedQueryWithStandardConformingStrings() throws Exception {
+        assertCopyMatchesQuery();
+    }
+
+    @Test
+    void matchesTheParameterizedQueryWithoutStandardConformingStrings() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET standard_conforming_strings = off");
+        }
+        assertCopyMatchesQuery();
+    }
+
+    private void assertCopyMatchesQuery() throws Exception {
+        for (String name : NAMES) {
+            assertSameRows("SELECT id, name FROM copy_test WHERE name = ? ORDER BY id", name);
+        }
+        for (String pattern : List.of("%50%%", "%a_b%", "%\\%", "o'%", "%?%")) {
+            assertSameRows("SELECT id, name FROM copy_test WHERE lower(name) LIKE ? ORDER BY id", pattern);
+        }
+    }
+
+    private void assertSameRows(String select, String parameter) throws Exception {
+        List<List<String>> expected = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            statement.setString(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    expected.add(Arrays.asList(resultSet.getString(1), resultSet.getString(2)));
+                }
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PgCopyExporter.copyOut(connection, new PgCopyExporter.CopyQuery(select, List.of(parameter)), out);
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString(StandardCharsets.UTF_8)));
+        assertThat(reader.readRow()).containsExactly("id", "name");
+        List<List<String>> copied = new ArrayList<>();
+        for (List<String> row = reader.readRow(); row != null; row = reader.readRow()) {
+            copied.add(row);
+        }
+        assertThat(copied).as("rows for %s", parameter).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,74 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgCopyExporterTest {
+
+    @Test
+    void inlinesParametersAsStringLiterals() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT name FROM person WHERE age > ? AND name = ?", List.of(18, "Alice"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, true))
+                .isEqualTo("SELECT name FROM person WHERE age > '18' AND name = 'Alice'");
+    }
+
+    @Test
+    void doublesSingleQuotes() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT name FROM person WHERE name = ?", List.of("O'Brien'); DROP TABLE person; --"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, true))
+                .isEqualTo("SELECT name FROM person WHERE name = 'O''Brien''); DROP TABLE person; --'");
+    }
+
+    @Test
+    void keepsBackslashesWithStandardConformingStrings() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT path FROM file WHERE path = ?", List.of("C:\\temp\\'x"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, true))
+                .isEqualTo("SELECT path FROM file WHERE path = 'C:\\temp\\''x'");
+    }
+
+    @Test
+    void doublesBackslashesWithoutStandardConformingStrings() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT path FROM file WHERE path = ?", List.of("C:\\temp\\'x"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, false))
+                .isEqualTo("SELECT path FROM file WHERE path = 'C:\\\\temp\\\\''x'");
+    }
+
+    @Test
+    void passesLikePatternsThroughAsBuiltByTheListQuery() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT name FROM product WHERE lower(name) LIKE ?", List.of("%50%_off%"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, true))
+                .isEqualTo("SELECT name FROM product WHERE lower(name) LIKE '%50%_off%'");
+    }
+
+    @Test
+    void ignoresQuestionMarksInQuotedIdentifiers() throws Exception {
+        PgCopyExporter.CopyQuery query = new PgCopyExporter.CopyQuery(
+                "SELECT paid AS \"Paid?\", note AS \"Say \"\"why?\"\"\" FROM invoice WHERE note = ?", List.of("?"));
+
+        assertThat(PgCopyExporter.inlineParameters(query, true))
+                .isEqualTo("SELECT paid AS \"Paid?\", note AS \"Say \"\"why?\"\"\" FROM invoice WHERE note = '?'");
+    }
+
+    @Test
+    void rejectsMismatchedParameterCounts() {
+        PgCopyExporter.CopyQuery tooFew = new PgCopyExporter.CopyQuery("SELECT 1 WHERE ? = ?", List.of(1));
+        PgCopyExporter.CopyQuery tooMany = new PgCopyExporter.CopyQuery("SELECT 1 WHERE ? = 1", List.of(1, 2));
+
+        assertThatThrownBy(() -> PgCopyExporter.inlineParameters(tooFew, true)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> PgCopyExporter.inlineParameters(tooMany, true)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class QueryBuilderTest {
+
+    private QueryBuilder queryBuilder;
+
+    @BeforeEach
+    void setUp() {
+        queryBuilder = new QueryBuilder();
+        ReflectionTestUtils.setField(queryBuilder, "fieldUtils", new FieldUtils());
+        ReflectionTestUtils.setField(queryBuilder, "fullTextSearch", mock(FullTextSearch.class));
+        ReflectionTestUtils.setField(queryBuilder, "trigramIndexRegistry", mock(TrigramIndexRegistry.class));
+    }
+
+    @Test
+    void equalsFiltersOnOneFieldMatchAnyOfTheirValues() {
+        List<FilterTerm> terms = resolve(
+                filter("pages", "equals", "100"),
+                filter("title", "contains", "Java"),
+                filter("pages", "equals", "200"));
+
+        assertThat(terms).hasSize(2);
+        assertThat(terms.get(0).getField()).isEqualTo("pages");
+        assertThat(terms.get(0).getOperation()).isEqualTo("equals");
+        assertThat(terms.get(0).getValues()).containsExactly(100, 200);
+        assertThat(terms.get(1).getField()).isEqualTo("title");
+        assertThat(terms.get(1).getValues()).containsExactly("%java%");
+    }
+
+    @Test
+    void equalsFiltersSkipValuesThatCannotBeParsed() {
+        List<FilterTerm> terms = resolve(filter("pages", "equals", "many"), filter("pages", "equals", "200"));
+
+        assertThat(terms).singleElement().satisfies(term -> {
+            assertThat(term.getOperation()).isEqualTo("equals");
+            assertThat(term.getValues()).containsExactly(200);
+        });
+    }
+
+    @Test
+    void otherFiltersOnOneFieldMustAllHold() {
+        List<FilterTerm> terms = resolve(
+                filter("pages", "greater than", "100"),
+                filter("pages", "greater than", "200"),
+                filter("pages", "not equal", "150"));
+
+        assertThat(terms).extracting(FilterTerm::getOperation)
+                .containsExactly("greater than", "greater than", "not equal");
+        assertThat(terms).extracting(term -> term.getValues().get(0)).containsExactly(100, 200, 150);
+    }
+
+    @Test
+    void equalsFiltersDifferingInNullHandlingAreNotCombined() {
+        List<FilterTerm> terms = resolve(
+                filter("pages", "equals", "100"),
+                Map.of("field", "pages", "operation", "equals", "value", "200", "allowNull", "false"));
+
+        assertThat(terms).hasSize(2);
+    }
+
+    @Test
+    void dropsFiltersNotApplicableToTheFieldType() {
+        List<FilterTerm> terms = resolve(
+                filter("pages", "contains", "1"),
+                Map.of("field", "pages", "operation", "equals", "treatEmptyAsEmptyString", "true"),
+                filter("title", "true", null));
+
+        assertThat(terms).isEmpty();
+    }
+
+    @SafeVarargs
+    private List<FilterTerm> resolve(Map<String, String>... filters) {
+        return queryBuilder.resolveFilters(List.of(filters), Book.class, Map.of());
+    }
+
+    private static Map<String, String> filter(String field, String operation, String value) {
+        return value != null
+                ? Map.of("field", field, "operation", operation, "value", value)
+                : Map.of("field", field, "operation", operation);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Book {
+        private Long id;
+        private String title;
+        private Integer pages;
+    }
+}
@@ -0,0 +1,101 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.AdminMetrics;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class QueryShapeCacheTest {
+
+    private QueryShapeCache cache;
+    private AdminMetrics adminMetrics;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QueryShapeCache(10);
+        adminMetrics = new AdminMetrics();
+        ReflectionTestUtils.setField(cache, "adminMetrics", adminMetrics);
+    }
+
+    @Test
+    void termsDifferingOnlyInValuesShareAShape() {
+        List<FilterTerm> first = List.of(new FilterTerm("age", "greater than", false, Integer.class, List.of(18)));
+        List<FilterTerm> second = List.of(new FilterTerm("age", "greater than", false, Integer.class, List.of(65)));
+
+        assertThat(FilterTerm.describeShape(first)).isEqualTo(FilterTerm.describeShape(second));
+    }
+
+    @Test
+    void termsDifferingOnlyInValueTypeDoNotShareAShape() {
+        List<FilterTerm> date = List.of(new FilterTerm("createdAt", "equals", false, LocalDate.class,
+                List.of(LocalDate.of(2025, 3, 1))));
+        List<FilterTerm> dateTime = List.of(new FilterTerm("createdAt", "equals", false, LocalDateTime.class,
+                List.of(LocalDateTime.of(2025, 3, 1, 0, 0))));
+
+        assertThat(FilterTerm.describeShape(date)).isNotEqualTo(FilterTerm.describeShape(dateTime));
+    }
+
+    @Test
+    void termsDifferingOnlyInValueTypeDoNotShareACachedQuery() {
+        List<FilterTerm> numeric = List.of(new FilterTerm("code", "equals", false, Long.class, List.of(42L)));
+        List<FilterTerm> text = List.of(new FilterTerm("code", "equals", false, String.class, List.of("42")));
+        AtomicInteger compilations = new AtomicInteger();
+
+        QueryShapeCache.CompiledQuery<Object> numericQuery = cache.getOrCompile(
+                QueryShapeCache.shapeKey(Object.class, "list", numeric), () -> compile(compilations));
+        QueryShapeCache.CompiledQuery<Object> textQuery = cache.getOrCompile(
+                QueryShapeCache.shapeKey(Object.class, "list", text), () -> compile(compilations));
+
+        assertThat(textQuery).isNotSameAs(numericQuery);
+        assertThat(compilations).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedShapeIsServedFromTheCache() {
+        List<FilterTerm> terms = List.of(new FilterTerm("name", "contains", false, String.class, List.of("%a%")));
+        AtomicInteger compilations = new AtomicInteger();
+        String key = QueryShapeCache.shapeKey(Object.class, "list", terms, "id", "ASC");
+
+        QueryShapeCache.CompiledQuery<Object> first = cache.getOrCompile(key, () -> compile(compilations));
+        QueryShapeCache.CompiledQuery<Object> second = cache.getOrCompile(key, () -> compile(compilations));
+
+        assertThat(second).isSameAs(first);
+        assertThat(compilations).hasValue(1);
+        assertThat(adminMetrics.snapshot().get("queryShapes")).isEqualTo(Map.of("hits", 1L, "misses", 1L));
+    }
+
+    @Test
+    void leastRecentlyUsedShapeIsEvicted() {
+        QueryShapeCache small = new QueryShapeCache(2);
+        ReflectionTestUtils.setField(small, "adminMetrics", adminMetrics);
+        AtomicInteger compilations = new AtomicInteger();
+
+        small.getOrCompile("a", () -> compile(compilations));
+        small.getOrCompile("b", () -> compile(compilations));
+        small.getOrCompile("a", () -> compile(compilations));
+        small.getOrCompile("c", () -> compile(compilations));
+        small.getOrCompile("a", () -> compile(compilations));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(compilations).hasValue(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private QueryShapeCache.CompiledQuery<Object> compile(AtomicInteger compilations) {
+        compilations.incrementAndGet();
+        return new QueryShapeCache.CompiledQuery<>(mock(CriteriaQuery.class),
+                QueryParameters.parameterized(mock(CriteriaBuilder.class)));
+    }
+}
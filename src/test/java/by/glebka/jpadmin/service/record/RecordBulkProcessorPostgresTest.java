@@ -0,0 +1,94 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs bulk jobs over a table of the PostgreSQL database given by the {@code jpadmin.test.postgres.url} system
+ * property, in chunks of two records, and checks that they process the records their dry run counts. Skipped when
+ * the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp",
+        "jpadmin.bulk.chunk-size=2"
+})
+class RecordBulkProcessorPostgresTest {
+
+    private static final List<Map<String, String>> FILTERS = List.of(
+            filter("pages", "equals", "100"),
+            filter("title", "starts with", "Book"),
+            filter("pages", "equals", "200"));
+
+    @Autowired
+    private RecordBulkProcessor recordBulkProcessor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) SELECT 'Book ' || i, 100 * (i % 3 + 1)"
+                + " FROM generate_series(1, 9) i");
+        jdbcTemplate.execute("INSERT INTO book (title, pages) VALUES ('Other', 100), ('Other', 200)");
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @Test
+    void updateProcessesTheRecordsOfItsDryRun() throws InterruptedException {
+        assertThat(recordBulkProcessor.countMatching("book", FILTERS)).isEqualTo(6);
+
+        BulkJob job = awaitFinished(recordBulkProcessor.startUpdate("book", FILTERS, "title", "Updated"));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJob.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(6);
+        assertThat(job.getProcessed()).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForList("SELECT pages FROM book WHERE title = 'Updated'", Integer.class))
+                .hasSize(6).containsOnly(100, 200);
+    }
+
+    @Test
+    void deleteProcessesTheRecordsOfItsDryRun() throws InterruptedException {
+        assertThat(recordBulkProcessor.countMatching("book", FILTERS)).isEqualTo(6);
+
+        BulkJob job = awaitFinished(recordBulkProcessor.startDelete("book", FILTERS));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJob.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(6);
+        assertThat(job.getProcessed()).isEqualTo(6);
+        assertThat(recordBulkProcessor.countMatching("book", FILTERS)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM book", Long.class)).isEqualTo(5);
+    }
+
+    private static BulkJob awaitFinished(BulkJob job) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (job.isFinished()) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return fail("The bulk job did not finish");
+    }
+
+    private static Map<String, String> filter(String field, String operation, String value) {
+        return Map.of("field", field, "operation", operation, "value", value, "allowNull", "false");
+    }
+}
@@ -0,0 +1,84 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.service.AdminMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordCountExecutorTest {
+
+    private final AdminMetrics adminMetrics = new AdminMetrics();
+    private final RecordCountExecutor executor = createExecutor(1, 1, 100);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsTheCountWithoutCancellingIt() {
+        AtomicInteger cancellations = new AtomicInteger();
+
+        RecordCount count = executor.await(executor.submit(() -> RecordCount.exact(42), cancellations::incrementAndGet));
+
+        assertThat(count.getDisplay()).isEqualTo("42");
+        assertThat(cancellations).hasValue(0);
+    }
+
+    @Test
+    void cancelsTheStatementOfACountExceedingTheTimeout() {
+        AtomicInteger cancellations = new AtomicInteger();
+        Future<RecordCount> pendingCount = executor.submit(this::blockedCount, cancellations::incrementAndGet);
+
+        RecordCount count = executor.await(pendingCount);
+
+        assertThat(count.getDisplay()).isEqualTo("unknown");
+        assertThat(pendingCount.isCancelled()).isTrue();
+        assertThat(cancellations).hasValue(1);
+        assertThat(adminMetrics.snapshot().toString()).contains("timeouts=1");
+    }
+
+    @Test
+    void failedCountIsUnknown() {
+        RecordCount count = executor.await(executor.submit(() -> {
+            throw new IllegalStateException("Count failed");
+        }, () -> {
+        }));
+
+        assertThat(count.getDisplay()).isEqualTo("unknown");
+    }
+
+    @Test
+    void rejectsCountsWhenSaturated() {
+        executor.submit(this::blockedCount, () -> {
+        });
+        executor.submit(this::blockedCount, () -> {
+        });
+
+        Future<RecordCount> rejected = executor.submit(() -> RecordCount.exact(1), () -> {
+        });
+
+        assertThat(rejected).isNull();
+        assertThat(executor.await(rejected).getDisplay()).isEqualTo("unknown");
+    }
+
+    private RecordCount blockedCount() throws InterruptedException {
+        release.await(10, TimeUnit.SECONDS);
+        return RecordCount.exact(1);
+    }
+
+    private RecordCountExecutor createExecutor(int poolSize, int queueCapacity, long timeoutMillis) {
+        RecordCountExecutor countExecutor = new RecordCountExecutor(poolSize, queueCapacity, timeoutMillis);
+        ReflectionTestUtils.setField(countExecutor, "adminMetrics", adminMetrics);
+        return countExecutor;
+    }
+}
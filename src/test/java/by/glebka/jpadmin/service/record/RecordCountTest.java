@@ -0,0 +1,44 @@
+package by.glebka.jpadmin.service.record;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordCountTest {
+
+    @Test
+    void exactCountIsShownWithGroupingSeparators() {
+        assertThat(RecordCount.exact(0).getDisplay()).isEqualTo("0");
+        assertThat(RecordCount.exact(999).getDisplay()).isEqualTo("999");
+        assertThat(RecordCount.exact(1_234_567).getDisplay()).isEqualTo("1,234,567");
+    }
+
+    @Test
+    void estimatedCountIsMarkedAsApproximate() {
+        assertThat(RecordCount.estimated(1234).getDisplay()).isEqualTo("~1,234");
+    }
+
+    @Test
+    void lowerBoundIsMarkedWithPlus() {
+        assertThat(RecordCount.atLeast(10_000).getDisplay()).isEqualTo("10,000+");
+    }
+
+    @Test
+    void unknownCountIsShownAsUnknown() {
+        assertThat(RecordCount.unknown().getDisplay()).isEqualTo("unknown");
+        assertThat(RecordCount.unknown().getValue()).isZero();
+    }
+
+    @Test
+    void onlyExactCountsAreExact() {
+        assertThat(RecordCount.exact(5).isExact()).isTrue();
+        assertThat(RecordCount.estimated(5).isExact()).isFalse();
+        assertThat(RecordCount.atLeast(5).isExact()).isFalse();
+        assertThat(RecordCount.unknown().isExact()).isFalse();
+    }
+
+    @Test
+    void toStringIsTheDisplayText() {
+        assertThat(RecordCount.estimated(2500)).hasToString("~2,500");
+    }
+}
@@ -0,0 +1,87 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs list counts against the PostgreSQL database given by the {@code jpadmin.test.postgres.url} system
+ * property, while another connection holds a lock on the table. Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp",
+        "jpadmin.count.pool-size=1",
+        "jpadmin.count.timeout-ms=300"
+})
+class RecordCounterPostgresTest {
+
+    @Autowired
+    private RecordCounter recordCounter;
+
+    @Autowired
+    private EntityDescriptorCache entityDescriptorCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Connection lockingConnection;
+
+    @BeforeEach
+    void lockTable() throws Exception {
+        jdbcTemplate.update("INSERT INTO book (title, pages) VALUES ('Locked', 1)");
+        lockingConnection = DriverManager.getConnection(System.getProperty("jpadmin.test.postgres.url"));
+        lockingConnection.setAutoCommit(false);
+        try (Statement statement = lockingConnection.createStatement()) {
+            statement.execute("LOCK TABLE book IN ACCESS EXCLUSIVE MODE");
+        }
+    }
+
+    @AfterEach
+    void releaseLock() throws Exception {
+        lockingConnection.rollback();
+        lockingConnection.close();
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @Test
+    void countExceedingTheTimeoutIsCancelledInTheDatabase() throws Exception {
+        EntityDescriptor descriptor = entityDescriptorCache.getDescriptor("book");
+
+        RecordCount count = recordCounter.awaitCount(recordCounter.countAsync(descriptor, List.of()));
+
+        assertThat(count.getDisplay()).isEqualTo("unknown");
+        awaitNoCountWaitingForTheLock();
+
+        lockingConnection.rollback();
+        assertThat(recordCounter.awaitCount(recordCounter.countAsync(descriptor, List.of())).getDisplay())
+                .isEqualTo("1");
+    }
+
+    private void awaitNoCountWaitingForTheLock() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Integer waiting = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                    + "WHERE state = 'active' AND wait_event_type = 'Lock' AND query ILIKE '%count(%book%'", Integer.class);
+            if (waiting != null && waiting == 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("The timed out count is still waiting for the lock");
+    }
+}
@@ -0,0 +1,113 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a table of the PostgreSQL database given by the {@code jpadmin.test.postgres.url} system property
+ * with COPY and with JPA, and checks that both contain the same records. Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class RecordExportPostgresTest {
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) VALUES ('O''Brien', 100), ('50% off', 200), ('a_b', 300),"
+                + " ('Plain', 100), (NULL, 400), ('C:\\temp', NULL)");
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @Test
+    void equalsFiltersOnOneFieldMatchAnyOfTheirValues() throws IOException {
+        List<List<String>> rows = assertSameExports(List.of(
+                filter("pages", "equals", "100"),
+                filter("pages", "equals", "200")));
+
+        assertThat(rows).extracting(row -> row.get(1)).containsExactly("50% off", "O'Brien", "Plain");
+    }
+
+    @Test
+    void likeFilterOnANumericFieldIsIgnoredAsInTheList() throws IOException {
+        assertThat(assertSameExports(List.of(filter("pages", "contains", "1")))).hasSize(6);
+    }
+
+    @Test
+    void emptyStringFilterOnANumericFieldIsIgnoredAsInTheList() throws IOException {
+        List<Map<String, String>> filters = List.of(
+                Map.of("field", "pages", "operation", "equals", "treatEmptyAsEmptyString", "true"));
+
+        assertThat(assertSameExports(filters)).hasSize(6);
+    }
+
+    @Test
+    void textFiltersMatchLiterally() throws IOException {
+        assertThat(assertSameExports(List.of(filter("title", "equals", "O'Brien")))).hasSize(1);
+        assertThat(assertSameExports(List.of(filter("title", "contains", "temp")))).hasSize(1);
+        assertThat(assertSameExports(List.of(filter("title", "starts with", "50"),
+                filter("pages", "less than", "300")))).hasSize(1);
+    }
+
+    /**
+     * Exports with both modes, checking that the filters can be exported with COPY.
+     *
+     * @return The exported rows, without the header row.
+     */
+    private List<List<String>> assertSameExports(List<Map<String, String>> filters) throws IOException {
+        PgCopyExporter.CopyQuery copyQuery = recordDetailsService.prepareCopyExport("book", filters, "title", "ASC");
+        assertThat(copyQuery).as("COPY query for %s", filters).isNotNull();
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+        recordDetailsService.exportCsvWithCopy("book", copyQuery, copied);
+
+        StringWriter exported = new StringWriter();
+        recordDetailsService.exportCsv("book", filters, "title", "ASC", exported);
+
+        List<List<String>> copiedRows = readRows(copied.toString(StandardCharsets.UTF_8));
+        assertThat(copiedRows).as("rows for %s", filters).isEqualTo(readRows(exported.toString()));
+        return copiedRows.subList(1, copiedRows.size());
+    }
+
+    private static List<List<String>> readRows(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = reader.readRow(); row != null; row = reader.readRow()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Map<String, String> filter(String field, String operation, String value) {
+        return Map.of("field", field, "operation", operation, "value", value, "allowNull", "false");
+    }
+}
@@ -0,0 +1,77 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports CSV files into tables of the PostgreSQL database given by the {@code jpadmin.test.postgres.url} system
+ * property, with a check constraint that one row of each file violates. Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class RecordImporterPostgresTest {
+
+    @Autowired
+    private RecordImporter recordImporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void addConstraints() {
+        jdbcTemplate.execute("ALTER TABLE book ADD CONSTRAINT book_pages_check CHECK (pages >= 0)");
+        jdbcTemplate.execute("ALTER TABLE author ADD CONSTRAINT author_born_check CHECK (born >= 0)");
+    }
+
+    @AfterEach
+    void dropConstraints() {
+        jdbcTemplate.execute("ALTER TABLE book DROP CONSTRAINT book_pages_check");
+        jdbcTemplate.execute("ALTER TABLE author DROP CONSTRAINT author_born_check");
+        jdbcTemplate.execute("TRUNCATE book, author");
+    }
+
+    @Test
+    void onlyTheViolatingRowFailsWithIdentityIds() {
+        ImportResult result = recordImporter.importCsv("book", new StringReader(
+                "title,pages\nFirst,10\nSecond,20\nNegative,-1\nFourth,40\nFifth,50\n"), false);
+
+        assertOnlyLineFailed(result, 4, "book_pages_check");
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM book ORDER BY pages", String.class))
+                .containsExactly("First", "Second", "Fourth", "Fifth");
+    }
+
+    @Test
+    void onlyTheViolatingRowFailsWithSequenceIds() {
+        ImportResult result = recordImporter.importCsv("author", new StringReader(
+                "name,born\nFirst,1900\nSecond,1910\nNegative,-1\nFourth,1930\nFifth,1940\n"), false);
+
+        assertOnlyLineFailed(result, 4, "author_born_check");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM author ORDER BY born", String.class))
+                .containsExactly("First", "Second", "Fourth", "Fifth");
+    }
+
+    private static void assertOnlyLineFailed(ImportResult result, int line, String constraint) {
+        assertThat(result.getInserted()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(1);
+        List<ImportResult.RowError> errors = result.getErrors();
+        assertThat(errors).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(line);
+            assertThat(error.getMessage()).contains(constraint);
+        });
+    }
+}
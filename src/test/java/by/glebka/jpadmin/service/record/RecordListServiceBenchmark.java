@@ -0,0 +1,93 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.CountStrategy;
+import by.glebka.jpadmin.testapp.Book;
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares list page loads of a 100,000 row table under the {@code EXACT} and {@code WINDOW} count strategies,
+ * on the PostgreSQL database given by the {@code jpadmin.test.postgres.url} system property. Not part of the
+ * tests; run it with {@code mvn test -Dtest=RecordListServiceBenchmark}. Nothing is asserted, as the faster
+ * strategy depends on the data.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class RecordListServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordListServiceBenchmark.class);
+    private static final int RUNS = 10;
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private AdminConfig adminConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) SELECT 'Book ' || i, i % 1000 FROM generate_series(1, 100000) i");
+        jdbcTemplate.execute("ANALYZE book");
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE book");
+        setCountStrategy(CountStrategy.EXACT);
+    }
+
+    @Test
+    void compareWindowWithSeparateCount() {
+        compare("pages > 500",
+                List.of(Map.of("field", "pages", "operation", "greater than", "value", "500", "allowNull", "false")));
+        compare("title starts with 'Book 4242'",
+                List.of(Map.of("field", "title", "operation", "starts with", "value", "Book 4242", "allowNull", "false")));
+    }
+
+    private void compare(String label, List<Map<String, String>> filters) {
+        setCountStrategy(CountStrategy.EXACT);
+        long exactNanos = bestOf(filters);
+        setCountStrategy(CountStrategy.WINDOW);
+        long windowNanos = bestOf(filters);
+        logger.info("{}, best of {} page loads: separate count {} ms, window count {} ms", label, RUNS,
+                String.format("%.1f", exactNanos / 1e6), String.format("%.1f", windowNanos / 1e6));
+    }
+
+    private long bestOf(List<Map<String, String>> filters) {
+        loadPage(filters);
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            loadPage(filters);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private void loadPage(List<Map<String, String>> filters) {
+        recordDetailsService.getTableRecords("book", filters, 0, 20, "title", "ASC", false, null, null);
+    }
+
+    private void setCountStrategy(CountStrategy countStrategy) {
+        adminConfig.getTableConfig(Book.class).setCountStrategy(countStrategy);
+    }
+}
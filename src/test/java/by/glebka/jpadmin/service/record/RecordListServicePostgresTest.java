@@ -0,0 +1,85 @@
+package by.glebka.jpadmin.service.record;
+
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.CountStrategy;
+import by.glebka.jpadmin.testapp.Book;
+import by.glebka.jpadmin.testapp.SqlCapture;
+import by.glebka.jpadmin.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads list pages of a 100,000 row table from the PostgreSQL database given by the
+ * {@code jpadmin.test.postgres.url} system property. Skipped when the property is not set.
+ */
+@EnabledIfSystemProperty(named = "jpadmin.test.postgres.url", matches = ".+")
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=${jpadmin.test.postgres.url}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jpadmin.base-package=by.glebka.jpadmin.testapp"
+})
+class RecordListServicePostgresTest {
+
+    private static final List<Map<String, String>> FILTERS =
+            List.of(Map.of("field", "pages", "operation", "greater than", "value", "500", "allowNull", "false"));
+
+    @Autowired
+    private RecordDetailsService recordDetailsService;
+
+    @Autowired
+    private AdminConfig adminConfig;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO book (title, pages) SELECT 'Book ' || i, i % 1000 FROM generate_series(1, 100000) i");
+        jdbcTemplate.execute("ANALYZE book");
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE book");
+        setCountStrategy(CountStrategy.EXACT);
+    }
+
+    @Test
+    void windowStrategyReadsPageAndTotalInOneStatement() {
+        setCountStrategy(CountStrategy.EXACT);
+        Map<String, Object> exact = loadPage();
+        List<String> exactStatements = sqlCapture.statementsOn("book");
+
+        setCountStrategy(CountStrategy.WINDOW);
+        Map<String, Object> window = loadPage();
+        List<String> windowStatements = sqlCapture.statementsOn("book");
+
+        assertThat(exactStatements).hasSize(2);
+        assertThat(windowStatements).hasSize(1);
+        assertThat(windowStatements.get(0)).containsIgnoringCase("over");
+        assertThat(window.get("totalDisplay")).isEqualTo(exact.get("totalDisplay")).isEqualTo("49,900");
+        assertThat(window.get("totalExact")).isEqualTo(true);
+    }
+
+    private Map<String, Object> loadPage() {
+        sqlCapture.clear();
+        return recordDetailsService.getTableRecords("book", FILTERS, 0, 20, "title", "ASC", false, null, null);
+    }
+
+    private void setCountStrategy(CountStrategy countStrategy) {
+        adminConfig.getTableConfig(Book.class).setCountStrategy(countStrategy);
+    }
+}
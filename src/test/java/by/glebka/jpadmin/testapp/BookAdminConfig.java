@@ -0,0 +1,16 @@
+package by.glebka.jpadmin.testapp;
+
+import by.glebka.jpadmin.config.AdminConfig;
+import by.glebka.jpadmin.config.TableConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BookAdminConfig {
+    @Bean
+    public AdminConfig adminConfig() {
+        return new AdminConfig()
+                .registerTable(Book.class, new TableConfig(Book.class))
+                .registerTable(Author.class, new TableConfig(Author.class));
+    }
+}
@@ -0,0 +1,37 @@
+package by.glebka.jpadmin.testapp;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Statement inspector recording the SQL Hibernate sends, from every thread.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private final List<String> statements = new ArrayList<>();
+
+    @Override
+    public synchronized String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public synchronized void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Returns the recorded statements reading from a table.
+     *
+     * @param table The table name.
+     * @return The statements, in the order they were sent.
+     */
+    public synchronized List<String> statementsOn(String table) {
+        Pattern pattern = Pattern.compile("\\bfrom " + table + "\\b", Pattern.CASE_INSENSITIVE);
+        return statements.stream().filter(sql -> pattern.matcher(sql).find()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,26 @@
+package by.glebka.jpadmin.testapp;
+
+import by.glebka.jpadmin.config.JpaAdminAutoConfiguration;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Application embedding JPAdmin for the tests against PostgreSQL, with a single {@link Book} table.
+ */
+@SpringBootApplication
+@Import(JpaAdminAutoConfiguration.class)
+public class TestApplication {
+
+    @Bean
+    public SqlCapture sqlCapture() {
+        return new SqlCapture();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+    }
+}
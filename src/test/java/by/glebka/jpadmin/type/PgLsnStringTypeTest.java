@@ -0,0 +1,32 @@
+package by.glebka.jpadmin.type;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgLsnStringTypeTest {
+
+    @Test
+    void convertsLogSequenceNumbersToWalPositions() {
+        assertThat(PgLsnStringType.toWalPosition("0/0")).isZero();
+        assertThat(PgLsnStringType.toWalPosition("0/16B3748")).isEqualTo(0x16B3748L);
+        assertThat(PgLsnStringType.toWalPosition("1/0")).isEqualTo(1L << 32);
+        assertThat(PgLsnStringType.toWalPosition("16/b374d848")).isEqualTo(0x16B374D848L);
+        assertThat(PgLsnStringType.toWalPosition(" 7FFFFFFF/FFFFFFFF ")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void distanceMatchesPgWalLsnDiff() {
+        // SELECT pg_wal_lsn_diff('1/10', '0/FFFFFFF0') returns 32
+        assertThat(PgLsnStringType.toWalPosition("1/10") - PgLsnStringType.toWalPosition("0/FFFFFFF0")).isEqualTo(32);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0", "0/", "/0", "0/0/0", "G/0", "0/-1", "123456789/0", "0/123456789"})
+    void rejectsInvalidValues(String value) {
+        assertThatThrownBy(() -> PgLsnStringType.toWalPosition(value)).isInstanceOf(IllegalArgumentException.class);
+    }
+}